@@ -0,0 +1,52 @@
+package com.example.backend.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the regular JMH command line, and by default adds the
+ * GC profiler (allocation rate per operation) and writes JSON results to
+ * results/&lt;timestamp&gt;.json so that runs can be compared, e.g. with jmh.morethan.io.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+        // This class should not be instantiated.
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (commandLine.getResult().hasValue() || commandLine.getResultFormat().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+
+        Path results = Path.of("results");
+        Files.createDirectories(results);
+        options.resultFormat(ResultFormatType.JSON)
+                .result(results.resolve(LocalDateTime.now().format(TIMESTAMP) + ".json").toString());
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.dto.response.ApiErrorResponse;
+import com.example.backend.exception.ApiErrorWriter;
+import com.example.backend.exception.ApiException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Compares the 4xx error path before and after stackless exceptions and streamed error bodies:
+ * throwing a not-found exception with and without a stack trace, and rendering the body through
+ * HashMap copies plus Jackson databind versus {@link ApiErrorWriter}. Run with {@code -prof gc}
+ * to compare the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ErrorResponseBenchmark {
+
+    private static final String PATH = "/api/v1/posts/652f1c0e8b3e4a1d2c3b4a59";
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Param({"true", "false"})
+    public boolean captureStackTraces;
+
+    private ObjectMapper objectMapper;
+    private ApiErrorWriter errorWriter;
+    private OutputStream out;
+
+    @Setup
+    public void setUp() {
+        ApiException.setCaptureStackTraces(captureStackTraces);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        errorWriter = new ApiErrorWriter(objectMapper);
+        out = OutputStream.nullOutputStream();
+    }
+
+    @Benchmark
+    public Object throwNotFound() {
+        try {
+            throw new ResourceNotFoundException("Post", "id", "652f1c0e8b3e4a1d2c3b4a59");
+        } catch (ResourceNotFoundException e) {
+            return e;
+        }
+    }
+
+    /**
+     * The response path as it was before ApiErrorWriter: details copied into a HashMap, wrapped,
+     * set on a DTO and serialized by the ObjectMapper.
+     */
+    @Benchmark
+    public void buildAndSerializeDto() throws Exception {
+        Map<String, String> details = new HashMap<>();
+        details.put("traceId", TRACE_ID);
+        ApiErrorResponse body = new ApiErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.NOT_FOUND.getReasonPhrase(),
+                "Post not found with id = 652f1c0e8b3e4a1d2c3b4a59",
+                PATH,
+                Collections.unmodifiableMap(details));
+        objectMapper.writeValue(out, body);
+    }
+
+    @Benchmark
+    public void streamErrorBody() throws Exception {
+        errorWriter.write(out, HttpStatus.NOT_FOUND,
+                "Post not found with id = 652f1c0e8b3e4a1d2c3b4a59", PATH, null, TRACE_ID);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.exception.ApiErrorWriter;
+import com.example.backend.exception.ApiException;
+import com.example.backend.exception.GlobalExceptionHandler;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.exception.ValidationException;
+import com.example.backend.logging.SampledErrorLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Runs GlobalExceptionHandler's 4xx handlers end to end: metrics, sampled logging and the
+ * streamed body, for an error with and without details.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException notFound;
+    private ValidationException validation;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        handler = new GlobalExceptionHandler(
+                meterRegistry,
+                new ApiErrorWriter(objectMapper),
+                new SampledErrorLogger(10, 1000, Duration.ofSeconds(10), meterRegistry));
+        ApiException.setCaptureStackTraces(false);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/posts/652f1c0e8b3e4a1d2c3b4a59");
+        notFound = new ResourceNotFoundException("Post", "id", "652f1c0e8b3e4a1d2c3b4a59");
+        validation = new ValidationException("Validation failed",
+                Map.of("content", "must not be blank", "visibility", "must be one of PUBLIC, FOLLOWERS"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse notFound() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleNotFound(notFound, request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validation() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleValidation(validation, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.mapping.TypeMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Maps a page of feed-item-shaped objects with the reflective ModelMapper and with a plain
+ * TypeMapper (the shape of the code MapStruct generates).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ModelMapper modelMapper;
+    private ItemMapper itemMapper;
+    private List<Item> page;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        itemMapper = new ItemMapper();
+
+        page = new ArrayList<>(PAGE_SIZE);
+        Instant now = Instant.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item item = new Item();
+            item.setId("652f1c0e8b3e4a1d2c3b4a" + (10 + i));
+            item.setAuthorId("652f1c0e8b3e4a1d2c3b4a59");
+            item.setContent("Post number " + i);
+            item.setLikeCount(i * 3L);
+            item.setCreatedAt(now.minusSeconds(i));
+            page.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponse> modelMapper() {
+        List<ItemResponse> result = new ArrayList<>(page.size());
+        for (Item item : page) {
+            result.add(modelMapper.map(item, ItemResponse.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemResponse> typeMapper() {
+        return itemMapper.mapAll(page);
+    }
+
+    /**
+     * Equivalent of a MapStruct-generated implementation.
+     */
+    static final class ItemMapper implements TypeMapper<Item, ItemResponse> {
+
+        @Override
+        public ItemResponse map(Item source) {
+            if (source == null) {
+                return null;
+            }
+            ItemResponse response = new ItemResponse();
+            response.setId(source.getId());
+            response.setAuthorId(source.getAuthorId());
+            response.setContent(source.getContent());
+            response.setLikeCount(source.getLikeCount());
+            response.setCreatedAt(source.getCreatedAt());
+            return response;
+        }
+    }
+
+    public static class Item {
+        private String id;
+        private String authorId;
+        private String content;
+        private long likeCount;
+        private Instant createdAt;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public String getAuthorId() { return authorId; }
+        public void setAuthorId(String authorId) { this.authorId = authorId; }
+        public String getContent() { return content; }
+        public void setContent(String content) { this.content = content; }
+        public long getLikeCount() { return likeCount; }
+        public void setLikeCount(long likeCount) { this.likeCount = likeCount; }
+        public Instant getCreatedAt() { return createdAt; }
+        public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    }
+
+    public static class ItemResponse {
+        private String id;
+        private String authorId;
+        private String content;
+        private long likeCount;
+        private Instant createdAt;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public String getAuthorId() { return authorId; }
+        public void setAuthorId(String authorId) { this.authorId = authorId; }
+        public String getContent() { return content; }
+        public void setContent(String content) { this.content = content; }
+        public long getLikeCount() { return likeCount; }
+        public void setLikeCount(long likeCount) { this.likeCount = likeCount; }
+        public Instant getCreatedAt() { return createdAt; }
+        public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.config.SecurityConfig;
+import com.example.backend.security.jwt.JwtKeyRing;
+import com.example.backend.security.jwt.JwtSigningKey;
+import com.example.backend.security.jwt.TokenRevocationChecker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Encodes and decodes access tokens through the encoder and decoder exactly as SecurityConfig
+ * builds them (timers, and the verified-token cache when enabled), with the default RS256 key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SecurityConfigJwtBenchmark {
+
+    @Param({"true", "false"})
+    public boolean decoderCache;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = JwtSigningBenchmark.generateKeyPair("RS256");
+        JwtKeyRing keyRing = new JwtKeyRing(
+                List.of(JwtSigningKey.of("bench", keyPair.getPublic(), keyPair.getPrivate())), "bench");
+
+        SecurityConfig securityConfig = new SecurityConfig(keyRing);
+        ReflectionTestUtils.setField(securityConfig, "decoderCacheEnabled", decoderCache);
+        ReflectionTestUtils.setField(securityConfig, "decoderCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(securityConfig, "accessTokenExpirationMs", 900_000L);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        encoder = securityConfig.jwtEncoder(meterRegistry);
+        decoder = securityConfig.jwtDecoder(meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(TokenRevocationChecker.class));
+
+        Instant now = Instant.now();
+        parameters = JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("http://localhost:8080")
+                .subject("652f1c0e8b3e4a1d2c3b4a59")
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.HOURS))
+                .claim("roles", List.of("USER"))
+                .build());
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt encode() {
+        return encoder.encode(parameters);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+}
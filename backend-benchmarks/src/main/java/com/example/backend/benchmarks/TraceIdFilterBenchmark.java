@@ -0,0 +1,85 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.config.TraceIdFilter;
+import com.example.backend.logging.SampledErrorLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Measures the per-request cost of the trace filter against the former UUID-based filter. Run
+ * with {@code -prof gc} to see the allocation rate per operation; with several threads the
+ * SecureRandom contention of {@code UUID.randomUUID()} shows up in the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TraceIdFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"none", "traceparent", "x-trace-id"})
+    public String incoming;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TraceIdFilter filter = new TraceIdFilter(
+            new SampledErrorLogger(10, 1000, Duration.ofSeconds(10), meterRegistry), meterRegistry);
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/posts");
+        response = new MockHttpServletResponse();
+        switch (incoming) {
+            case "traceparent" -> request.addHeader(TraceIdFilter.TRACEPARENT_HEADER,
+                    "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+            case "x-trace-id" -> request.addHeader(TraceIdFilter.TRACE_ID_HEADER,
+                    "4bf92f3577b34da6a3ce929d0e0e4736");
+            default -> {
+            }
+        }
+    }
+
+    @Benchmark
+    public void traceFilter() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+    }
+
+    /**
+     * The filter as it was before the tracing context: a random UUID per request put into the MDC.
+     */
+    @Benchmark
+    public void uuidBaseline() {
+        String traceId = request.getHeader(TraceIdFilter.TRACE_ID_HEADER);
+        if (traceId == null || traceId.isBlank()) {
+            traceId = UUID.randomUUID().toString();
+        }
+        try {
+            MDC.put("traceId", traceId);
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+}
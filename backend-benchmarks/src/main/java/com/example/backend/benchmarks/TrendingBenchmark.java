@@ -0,0 +1,137 @@
+package com.example.backend.benchmarks;
+
+import com.example.backend.service.trending.TrendingItem;
+import com.example.backend.service.trending.TrendingWindow;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds a million synthetic, Zipf-distributed events per invocation into the trending window
+ * (Count-Min sketches and heavy hitter candidates per time bucket), against exact counting in a
+ * ConcurrentHashMap. The events of one invocation span two hours, so buckets rotate as they
+ * would in production. Scores are per event.
+ *
+ * {@code top} ranks a filled window, which is what a trending refresh does when Redis is down.
+ * At the end of the trial the top 50 of the sketch are compared with the exact top 50 and the
+ * recall is printed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TrendingBenchmark {
+
+    private static final int EVENTS = 1_000_000;
+    private static final int TOP = 50;
+    private static final long SPAN_MILLIS = Duration.ofHours(2).toMillis();
+
+    @Param({"100000", "1000000"})
+    public int distinctItems;
+
+    @Param({"1.1"})
+    public double zipfExponent;
+
+    private String[] events;
+    private TrendingWindow window;
+    private Map<String, LongAdder> exact;
+    private long startMillis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] items = new String[distinctItems];
+        for (int i = 0; i < distinctItems; i++) {
+            items[i] = "652f1c0e8b3e" + String.format("%012x", i);
+            // Post ids arrive as strings whose hash is computed once; keep that out of the loop.
+            items[i].hashCode();
+        }
+
+        double[] cumulative = new double[distinctItems];
+        double sum = 0;
+        for (int i = 0; i < distinctItems; i++) {
+            sum += 1 / Math.pow(i + 1, zipfExponent);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        events = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            events[i] = items[Math.min(distinctItems - 1, index < 0 ? -index - 1 : index)];
+        }
+
+        window = new TrendingWindow(Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofMinutes(20),
+                200, 2048, 4);
+        exact = new ConcurrentHashMap<>();
+        startMillis = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void sketch() {
+        long base = startMillis;
+        for (int i = 0; i < EVENTS; i++) {
+            window.add(events[i], 1, base + i * SPAN_MILLIS / EVENTS);
+        }
+        startMillis = base + SPAN_MILLIS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void exact() {
+        for (String event : events) {
+            exact.computeIfAbsent(event, _ -> new LongAdder()).increment();
+        }
+    }
+
+    @Benchmark
+    public List<TrendingItem> top() {
+        return window.top(TOP, startMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportRecall() {
+        TrendingWindow fresh = new TrendingWindow(Duration.ofHours(1), Duration.ofMinutes(5),
+                Duration.ofMinutes(20), 200, 2048, 4);
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        long now = System.currentTimeMillis();
+        for (String event : events) {
+            fresh.add(event, 1, now);
+            counts.merge(event, 1L, Long::sum);
+        }
+
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        Set<String> exactTop = new HashSet<>();
+        for (Map.Entry<String, Long> entry : sorted.subList(0, Math.min(TOP, sorted.size()))) {
+            exactTop.add(entry.getKey());
+        }
+        long hits = fresh.top(TOP, now).stream().filter(item -> exactTop.contains(item.id())).count();
+        System.out.printf("%nTop %d recall over %d events, %d distinct items: %.2f (sketch memory %d KiB)%n",
+                TOP, EVENTS, distinctItems, (double) hits / exactTop.size(), fresh.memoryBytes() / 1024);
+    }
+}
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Measures cold start of the backend image and its fast-start variant.
+#
+# For every run a fresh container is started and the script records:
+#   first_request_ms  until GET /.well-known/jwks.json on the API port answers 200
+#   ready_ms          until /actuator/health/readiness on the management port reports UP
+#   rss_kb            the JVM's resident set size (VmRSS of PID 1) once ready
+#
+# MongoDB and Redis must be reachable on localhost (docker compose up -d mongo redis). Containers
+# use the host network, so this runs on Linux only.
+#
+# Usage: startup-benchmark.sh [-n runs] [-e env-file] [image ...]
+# Defaults: 5 runs, ../../backend/.env, feedchain-backend:latest feedchain-backend:fast-start
+# Build the images with:
+#   docker build -t feedchain-backend:latest ./backend
+#   docker build --target fast-start -t feedchain-backend:fast-start ./backend
+set -euo pipefail
+
+runs=5
+env_file="$(dirname "$0")/../../backend/.env"
+timeout_s=120
+
+while getopts "n:e:" opt; do
+  case "$opt" in
+    n) runs="$OPTARG" ;;
+    e) env_file="$OPTARG" ;;
+    *) echo "Usage: $0 [-n runs] [-e env-file] [image ...]" >&2; exit 2 ;;
+  esac
+done
+shift $((OPTIND - 1))
+images=("$@")
+if [ ${#images[@]} -eq 0 ]; then
+  images=(feedchain-backend:latest feedchain-backend:fast-start)
+fi
+
+now_ms() { date +%s%3N; }
+
+wait_for() {
+  local started="$1" check="$2"
+  while ! eval "$check"; do
+    if [ $(( $(now_ms) - started )) -gt $((timeout_s * 1000)) ]; then
+      echo "timeout" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  echo $(( $(now_ms) - started ))
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'; }
+
+echo "image,run,first_request_ms,ready_ms,rss_kb"
+for image in "${images[@]}"; do
+  results=()
+  for run in $(seq 1 "$runs"); do
+    started=$(now_ms)
+    container=$(docker run -d --rm --network host --env-file "$env_file" \
+      -e SPRING_DATA_MONGODB_URI=mongodb://localhost:27017/feedchain \
+      -e SPRING_DATA_REDIS_HOST=localhost \
+      "$image")
+    first=$(wait_for "$started" "curl -sf -o /dev/null http://localhost:8080/.well-known/jwks.json")
+    ready=$(wait_for "$started" "curl -sf http://localhost:8081/actuator/health/readiness | grep -q '\"UP\"'")
+    rss=$(docker exec "$container" awk '/VmRSS/ { print $2 }' /proc/1/status)
+    docker stop "$container" > /dev/null
+    echo "$image,$run,$first,$ready,$rss"
+    results+=("$first $ready $rss")
+  done
+  for column in 1 2 3; do
+    printf '%s\n' "${results[@]}" | awk -v c="$column" '{ print $c }' | median
+  done | paste -sd, - | sed "s|^|$image,median,|"
+done
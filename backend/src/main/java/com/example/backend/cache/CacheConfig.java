@@ -0,0 +1,100 @@
+package com.example.backend.cache;
+
+import com.example.backend.resilience.DependencyGuard;
+import com.example.backend.resilience.GuardedRedisTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Enables Spring's cache abstraction on top of a {@link TwoLevelCacheManager}: a bounded Caffeine
+ * cache per node in front of Redis, kept coherent across nodes over Redis pub/sub.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${app.cache.l1-max-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${app.cache.l1-ttl:60s}")
+    private Duration l1Ttl;
+
+    @Value("${app.cache.l2-ttl:10m}")
+    private Duration l2Ttl;
+
+    /**
+     * Template for the L2 entries: string keys, raw Smile-encoded values. Its commands go through
+     * the Redis circuit breaker, so an open circuit turns L2 lookups into immediate misses.
+     *
+     * @param connectionFactory The Redis connection factory.
+     * @param dependencyGuard   The Redis bulkhead and circuit breaker.
+     * @return The template.
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory,
+            DependencyGuard dependencyGuard) {
+        RedisTemplate<String, byte[]> template = new GuardedRedisTemplate<>(dependencyGuard);
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setEnableDefaultSerializer(false);
+        return template;
+    }
+
+    @Bean
+    public SmileCacheSerializer smileCacheSerializer() {
+        return new SmileCacheSerializer();
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationPublisher(redisTemplate);
+    }
+
+    /**
+     * The application's CacheManager, used by @Cacheable and friends.
+     *
+     * @param cacheRedisTemplate         Template for the L2 entries.
+     * @param smileCacheSerializer       Serializer for L2 values.
+     * @param cacheInvalidationPublisher Broadcasts and receives L1 invalidations.
+     * @param meterRegistry              Registry receiving the cache metrics.
+     * @return The cache manager.
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisTemplate<String, byte[]> cacheRedisTemplate,
+            SmileCacheSerializer smileCacheSerializer,
+            CacheInvalidationPublisher cacheInvalidationPublisher,
+            MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(cacheRedisTemplate, smileCacheSerializer, cacheInvalidationPublisher,
+                meterRegistry, l1MaximumSize, l1Ttl, l2Ttl);
+    }
+
+    /**
+     * The node's Redis pub/sub container, subscribed to invalidations published by the other
+     * nodes. Other listeners register themselves on the same container, sharing its connection.
+     *
+     * @param connectionFactory          The Redis connection factory.
+     * @param cacheInvalidationPublisher The listener evicting local entries.
+     * @return The listener container.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationPublisher,
+                new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        return container;
+    }
+}
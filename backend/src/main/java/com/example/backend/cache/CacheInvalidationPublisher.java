@@ -0,0 +1,77 @@
+package com.example.backend.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Keeps the in-process L1 caches of all nodes consistent: every local put, evict or clear is
+ * published on a Redis channel, and the other nodes drop the affected L1 entries.
+ *
+ * Messages are "nodeId|cacheName|key"; an empty key clears the whole cache. Keys are matched by
+ * their string form, the same as the Redis L2 keys.
+ */
+public class CacheInvalidationPublisher implements MessageListener {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private TwoLevelCacheManager cacheManager;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    void setCacheManager(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + '|' + cacheName + '|' + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + '|' + cacheName + '|');
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException e) {
+            // Other nodes converge when their L1 entries expire.
+            log.warn("Could not publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf('|');
+        int second = first < 0 ? -1 : body.indexOf('|', first + 1);
+        if (second < 0 || cacheManager == null) {
+            return;
+        }
+        if (first == nodeId.length() && body.startsWith(nodeId)) {
+            return;
+        }
+
+        String cacheName = body.substring(first + 1, second);
+        String key = body.substring(second + 1);
+        TwoLevelCache cache = cacheManager.getExistingCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key.isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
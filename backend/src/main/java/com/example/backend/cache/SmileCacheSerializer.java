@@ -0,0 +1,65 @@
+package com.example.backend.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import org.springframework.cache.support.NullValue;
+
+/**
+ * Serializes cache values for Redis in Smile, Jackson's binary JSON: smaller and faster to parse
+ * than JSON, and unlike JDK serialization it needs no Serializable values and survives class
+ * changes that keep the same properties.
+ *
+ * Values are wrapped in an envelope that records their class, restricted to application and JDK
+ * types, so that they deserialize to the type that was cached.
+ */
+public class SmileCacheSerializer {
+
+    private final ObjectMapper mapper;
+
+    public SmileCacheSerializer() {
+        this.mapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .polymorphicTypeValidator(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.example.backend.")
+                        .allowIfSubType("java.")
+                        .build())
+                .build();
+    }
+
+    /**
+     * Serializes a store value.
+     *
+     * @param value The value, {@link NullValue} for a cached null.
+     * @return The bytes.
+     * @throws IOException if the value cannot be serialized.
+     */
+    public byte[] serialize(Object value) throws IOException {
+        return mapper.writeValueAsBytes(new Envelope(value == NullValue.INSTANCE ? null : value));
+    }
+
+    /**
+     * Deserializes a store value.
+     *
+     * @param bytes The bytes.
+     * @return The value, {@link NullValue} for a cached null.
+     * @throws IOException if the bytes cannot be deserialized, e.g. after an incompatible change.
+     */
+    public Object deserialize(byte[] bytes) throws IOException {
+        Object value = mapper.readValue(bytes, Envelope.class).value();
+        return value == null ? NullValue.INSTANCE : value;
+    }
+
+    /**
+     * Carries the value's class, also for final classes and records.
+     */
+    record Envelope(@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_ARRAY) Object value) {
+    }
+}
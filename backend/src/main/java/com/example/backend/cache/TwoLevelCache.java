@@ -0,0 +1,373 @@
+package com.example.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * A cache with a bounded in-process L1 (Caffeine) in front of a shared Redis L2.
+ *
+ * Reads try L1, then L2 (promoting the value into L1), then the loader. Concurrent misses on the
+ * same key on one node share a single load, so the expiry of a hot key costs one database query
+ * per node instead of one per request. Writes go to both levels and are broadcast so that other
+ * nodes drop their stale L1 entry. If Redis is unavailable the cache degrades to L1 only.
+ *
+ * Keys are normalized to their string form, which is also the Redis key suffix.
+ *
+ * Callers that need many keys at once use the batch methods instead: {@link #getAllLocal},
+ * {@link #getAllRemote} with a single MGET, then {@link #backfill} with what they loaded.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final String name;
+    private final String keyPrefix;
+    private final Cache<String, Object> l1;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final SmileCacheSerializer serializer;
+    private final CacheInvalidationPublisher invalidation;
+    private final Duration l2Ttl;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    TwoLevelCache(String name,
+            Cache<String, Object> l1,
+            RedisTemplate<String, byte[]> redisTemplate,
+            SmileCacheSerializer serializer,
+            CacheInvalidationPublisher invalidation,
+            Duration l2Ttl,
+            boolean allowNullValues,
+            MeterRegistry meterRegistry) {
+        super(allowNullValues);
+        this.name = name;
+        this.keyPrefix = "cache:" + name + ':';
+        this.l1 = l1;
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.invalidation = invalidation;
+        this.l2Ttl = l2Ttl;
+
+        this.l2Hits = Counter.builder("cache.l2.gets").tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.l2.gets").tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        this.l2Errors = Counter.builder("cache.l2.errors").tag("cache", name).register(meterRegistry);
+        this.loadSuccess = Timer.builder("cache.load").tag("cache", name).tag("result", "success")
+                .register(meterRegistry);
+        this.loadFailure = Timer.builder("cache.load").tag("cache", name).tag("result", "failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = toCacheKey(key);
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            return value;
+        }
+        value = readL2(cacheKey);
+        if (value != null) {
+            l1.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = toCacheKey(key);
+        Object value = l1.getIfPresent(cacheKey);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(cacheKey, load);
+        if (existing != null) {
+            return (T) fromStoreValue(join(existing, key, valueLoader));
+        }
+
+        try {
+            value = readL2(cacheKey);
+            if (value == null) {
+                value = load(cacheKey, key, valueLoader);
+            } else {
+                l1.put(cacheKey, value);
+            }
+            load.complete(value);
+            return (T) fromStoreValue(value);
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, load);
+        }
+    }
+
+    private Object load(String cacheKey, Object key, Callable<?> valueLoader) {
+        long startedAt = System.nanoTime();
+        Object value;
+        try {
+            value = toStoreValue(valueLoader.call());
+        } catch (Exception e) {
+            loadFailure.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loadSuccess.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        l1.put(cacheKey, value);
+        writeL2(cacheKey, value);
+        return value;
+    }
+
+    private static Object join(CompletableFuture<Object> load, Object key, Callable<?> valueLoader) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    /**
+     * Looks up several keys in L1 only.
+     *
+     * @param keys The keys.
+     * @return The values found, by key; a key cached as null maps to null.
+     */
+    public Map<String, Object> getAllLocal(Collection<String> keys) {
+        Map<String, Object> found = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            Object value = l1.getIfPresent(key);
+            if (value != null) {
+                found.put(key, fromStoreValue(value));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Looks up several keys in L2 with a single MGET, promoting the values found into L1. If Redis
+     * is unavailable nothing is found.
+     *
+     * @param keys The keys, typically those {@link #getAllLocal} did not find.
+     * @return The values found, by key; a key cached as null maps to null.
+     */
+    public Map<String, Object> getAllRemote(Collection<String> keys) {
+        List<String> cacheKeys = List.copyOf(keys);
+        Map<String, Object> found = HashMap.newHashMap(cacheKeys.size());
+        if (cacheKeys.isEmpty()) {
+            return found;
+        }
+        List<String> redisKeys = new ArrayList<>(cacheKeys.size());
+        for (String cacheKey : cacheKeys) {
+            redisKeys.add(keyPrefix + cacheKey);
+        }
+        List<byte[]> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(redisKeys);
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not read {} keys from the L2 of cache {}: {}", cacheKeys.size(), name, e.getMessage());
+            return found;
+        }
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < cacheKeys.size(); i++) {
+            String cacheKey = cacheKeys.get(i);
+            byte[] bytes = values.get(i);
+            if (bytes == null) {
+                l2Misses.increment();
+                continue;
+            }
+            try {
+                Object value = serializer.deserialize(bytes);
+                l2Hits.increment();
+                l1.put(cacheKey, value);
+                found.put(cacheKey, fromStoreValue(value));
+            } catch (IOException e) {
+                l2Errors.increment();
+                log.warn("Could not read {} from the L2 of cache {}: {}", cacheKey, name, e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores values the caller loaded itself after a batch lookup: in L1 right away, and in L2 with
+     * one pipelined round trip on the given executor, so the caller does not wait for Redis. As for
+     * a load through {@link #get(Object, Callable)}, no invalidation is broadcast.
+     *
+     * @param values   The loaded values, by key.
+     * @param executor Runs the L2 write.
+     */
+    public void backfill(Map<String, ?> values, Executor executor) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Map<String, Object> storeValues = HashMap.newHashMap(values.size());
+        values.forEach((cacheKey, value) -> {
+            Object storeValue = toStoreValue(value);
+            l1.put(cacheKey, storeValue);
+            storeValues.put(cacheKey, storeValue);
+        });
+        try {
+            executor.execute(() -> writeAllL2(storeValues));
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not schedule writing {} keys to the L2 of cache {}: {}",
+                    storeValues.size(), name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        Object storeValue = toStoreValue(value);
+        l1.put(cacheKey, storeValue);
+        writeL2(cacheKey, storeValue);
+        invalidation.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = toCacheKey(key);
+        l1.invalidate(cacheKey);
+        try {
+            redisTemplate.delete(keyPrefix + cacheKey);
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not evict {} from the L2 of cache {}: {}", cacheKey, name, e.getMessage());
+        }
+        invalidation.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        try {
+            // SCAN rather than KEYS, so clearing a large cache does not block Redis.
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + '*').count(CLEAR_BATCH_SIZE).build();
+            List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == CLEAR_BATCH_SIZE) {
+                        redisTemplate.delete(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not clear the L2 of cache {}: {}", name, e.getMessage());
+        }
+        invalidation.publishClear(name);
+    }
+
+    void evictLocal(String cacheKey) {
+        l1.invalidate(cacheKey);
+    }
+
+    void clearLocal() {
+        l1.invalidateAll();
+    }
+
+    private Object readL2(String cacheKey) {
+        try {
+            byte[] bytes = redisTemplate.opsForValue().get(keyPrefix + cacheKey);
+            if (bytes == null) {
+                l2Misses.increment();
+                return null;
+            }
+            l2Hits.increment();
+            return serializer.deserialize(bytes);
+        } catch (IOException | RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not read {} from the L2 of cache {}: {}", cacheKey, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeL2(String cacheKey, Object storeValue) {
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + cacheKey, serializer.serialize(storeValue), l2Ttl);
+        } catch (IOException | RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not write {} to the L2 of cache {}: {}", cacheKey, name, e.getMessage());
+        }
+    }
+
+    private void writeAllL2(Map<String, Object> storeValues) {
+        try {
+            List<byte[]> keys = new ArrayList<>(storeValues.size());
+            List<byte[]> values = new ArrayList<>(storeValues.size());
+            for (Map.Entry<String, Object> entry : storeValues.entrySet()) {
+                keys.add(RedisSerializer.string().serialize(keyPrefix + entry.getKey()));
+                values.add(serializer.serialize(entry.getValue()));
+            }
+            Expiration expiration = Expiration.from(l2Ttl);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    connection.stringCommands().set(keys.get(i), values.get(i), expiration,
+                            RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (IOException | RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Could not write {} keys to the L2 of cache {}: {}", storeValues.size(), name, e.getMessage());
+        }
+    }
+
+    private static String toCacheKey(Object key) {
+        return key instanceof String string ? string : String.valueOf(key);
+    }
+}
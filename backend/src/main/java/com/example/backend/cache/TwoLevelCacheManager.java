@@ -0,0 +1,90 @@
+package com.example.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * CacheManager handing out {@link TwoLevelCache}s. Caches are created on first use, all with the
+ * same L1 bounds and L2 TTL, and their L1 statistics are published as cache.gets, cache.evictions
+ * etc. tagged with the cache name.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final SmileCacheSerializer serializer;
+    private final CacheInvalidationPublisher invalidation;
+    private final MeterRegistry meterRegistry;
+    private final long l1MaximumSize;
+    private final Duration l1Ttl;
+    private final Duration l2Ttl;
+
+    /**
+     * Creates the manager and registers it with the invalidation listener.
+     *
+     * @param redisTemplate Template storing the serialized L2 entries.
+     * @param serializer    Serializer for L2 values.
+     * @param invalidation  Broadcasts and receives L1 invalidations.
+     * @param meterRegistry Registry receiving the cache metrics.
+     * @param l1MaximumSize The maximum number of entries each cache keeps in memory.
+     * @param l1Ttl         How long an entry stays in memory after it was written.
+     * @param l2Ttl         How long an entry stays in Redis after it was written.
+     */
+    public TwoLevelCacheManager(RedisTemplate<String, byte[]> redisTemplate,
+            SmileCacheSerializer serializer,
+            CacheInvalidationPublisher invalidation,
+            MeterRegistry meterRegistry,
+            long l1MaximumSize,
+            Duration l1Ttl,
+            Duration l2Ttl) {
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.invalidation = invalidation;
+        this.meterRegistry = meterRegistry;
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1Ttl = l1Ttl;
+        this.l2Ttl = l2Ttl;
+        invalidation.setCacheManager(this);
+    }
+
+    @Override
+    public TwoLevelCache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Looks up a cache without creating it, so invalidations for caches this node has never used
+     * are ignored.
+     *
+     * @param name The cache name.
+     * @return The cache, or null if it has not been created on this node.
+     */
+    TwoLevelCache getExistingCache(String name) {
+        return caches.get(name);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache<String, Object> l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaximumSize)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, name);
+        return new TwoLevelCache(name, l1, redisTemplate, serializer, invalidation, l2Ttl, true, meterRegistry);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.backend.concurrent;
+
+import com.example.backend.tracing.TraceContextHolder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the independent lookups of one request in parallel, each on its own virtual thread, and
+ * treats them as a unit: the first failure cancels the others, and leaving the scope cancels
+ * whatever is still running.
+ *
+ * <pre>
+ * try (TaskScope scope = TaskScope.open(Duration.ofSeconds(2))) {
+ *     TaskScope.Subtask&lt;Post&gt; post = scope.fork(() -&gt; postService.get(postId));
+ *     TaskScope.Subtask&lt;EngagementCounts&gt; counts = scope.fork(() -&gt; counters.get(postId));
+ *     scope.join();
+ *     return render(post.get(), counts.get());
+ * }
+ * </pre>
+ *
+ * Forked tasks run with the caller's trace context. A scope belongs to the thread that opened it
+ * and must not be shared. This is the shut-down-on-failure policy of the JDK's
+ * StructuredTaskScope, which is still a preview API.
+ */
+public final class TaskScope implements AutoCloseable {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-scope-", 0).factory());
+
+    private final long deadlineNanos;
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private TaskScope(Duration timeout) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Opens a scope.
+     *
+     * @param timeout How long {@link #join()} waits for all tasks, measured from now.
+     * @return The scope, to be closed with try-with-resources.
+     */
+    public static TaskScope open(Duration timeout) {
+        return new TaskScope(timeout);
+    }
+
+    /**
+     * Starts a task on a new virtual thread.
+     *
+     * @param task The task.
+     * @param <T>  The result type.
+     * @return A handle to the result, readable after {@link #join()}.
+     */
+    public <T> Subtask<T> fork(Callable<T> task) {
+        Callable<T> traced = TraceContextHolder.wrap(task);
+        Future<T> future = EXECUTOR.submit(() -> {
+            try {
+                return traced.call();
+            } catch (Throwable t) {
+                if (failure.compareAndSet(null, t)) {
+                    cancelAll();
+                }
+                throw t;
+            }
+        });
+        futures.add(future);
+        if (failure.get() != null) {
+            future.cancel(true);
+        }
+        return new Subtask<>(future);
+    }
+
+    /**
+     * Waits until every task has completed, one has failed, or the timeout has passed.
+     *
+     * @throws RuntimeException    the first failure, as is when unchecked.
+     * @throws CompletionException wrapping a checked failure, a TimeoutException or an interrupt.
+     */
+    public void join() {
+        try {
+            for (Future<?> future : futures) {
+                long remaining = deadlineNanos - System.nanoTime();
+                try {
+                    future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | CancellationException e) {
+                    // The first failure is rethrown below; the rest were cancelled because of it.
+                }
+            }
+        } catch (TimeoutException e) {
+            cancelAll();
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+
+        Throwable first = failure.get();
+        if (first instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (first instanceof Error error) {
+            throw error;
+        }
+        if (first != null) {
+            throw new CompletionException(first);
+        }
+    }
+
+    /**
+     * Cancels the tasks that are still running.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * The result of a forked task.
+     *
+     * @param <T> The result type.
+     */
+    public static final class Subtask<T> {
+
+        private final Future<T> future;
+
+        private Subtask(Future<T> future) {
+            this.future = future;
+        }
+
+        /**
+         * @return The task's result.
+         * @throws IllegalStateException if the task has not completed successfully.
+         */
+        public T get() {
+            if (future.state() != Future.State.SUCCESS) {
+                throw new IllegalStateException("Subtask has not completed successfully: " + future.state());
+            }
+            return future.resultNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backend.concurrent;
+
+import com.example.backend.logging.SampledErrorLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, which takes the
+ * carrier away from all other virtual threads for the duration (native frames, or blocking
+ * inside class initializers and other places the JDK cannot unmount from).
+ *
+ * Listens to the JFR events jdk.VirtualThreadPinned (above app.threads.pinning.threshold) and
+ * jdk.VirtualThreadSubmitFailed in-process, counts them as "jvm.threads.virtual.pinned" and
+ * "jvm.threads.virtual.submit.failed", and logs the application frames of a sample of the
+ * pinning stack traces.
+ */
+@Component
+@ConditionalOnProperty(name = "app.threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final String APPLICATION_PACKAGE = "com.example.backend.";
+    private static final int MAX_FRAMES = 8;
+
+    private final Duration threshold;
+    private final SampledErrorLogger errorLogger;
+    private final Timer pinned;
+    private final Counter submitFailed;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(SampledErrorLogger errorLogger,
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.pinning.threshold:20ms}") Duration threshold) {
+        this.errorLogger = errorLogger;
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads that could not be scheduled or unparked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.enable(SUBMIT_FAILED_EVENT);
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.onEvent(SUBMIT_FAILED_EVENT, event -> {
+            submitFailed.increment();
+            log.warn("Could not submit virtual thread: {}", event.getString("exceptionMessage"));
+        });
+        recording.setMaxAge(Duration.ofSeconds(10));
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String site = site(event.getStackTrace());
+        if (errorLogger.tryAcquire("pinned:" + site)) {
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * Shortens a stack trace to its application frames, or its top frames if it has none.
+     */
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder site = new StringBuilder();
+        int appended = 0;
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                appendFrame(site, frame);
+                if (++appended == MAX_FRAMES) {
+                    break;
+                }
+            }
+        }
+        if (appended == 0) {
+            for (int i = 0; i < Math.min(MAX_FRAMES, frames.size()); i++) {
+                appendFrame(site, frames.get(i));
+            }
+        }
+        return site.toString();
+    }
+
+    private static void appendFrame(StringBuilder site, RecordedFrame frame) {
+        if (!site.isEmpty()) {
+            site.append(" <- ");
+        }
+        site.append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+    }
+}
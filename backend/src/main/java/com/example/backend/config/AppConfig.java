@@ -1,9 +1,8 @@
 package com.example.backend.config;
 
-import org.modelmapper.ModelMapper;
+import com.example.backend.security.password.PasswordHashingService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -13,18 +12,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class AppConfig {
 
     /**
-     * Provides a singleton instance of BCryptPasswordEncoder as the primary password encoder.
+     * Provides the primary password encoder, which hashes on the bounded pool of the
+     * PasswordHashingService rather than on the calling request thread.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService) {
+        return passwordHashingService.passwordEncoder();
     }
-
-    /**
-     * Provides a singleton instance of ModelMapper for object-to-object mapping.
-     */
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-}
\ No newline at end of file
+}
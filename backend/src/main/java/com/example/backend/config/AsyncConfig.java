@@ -0,0 +1,15 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async methods. They run on the auto-configured application task executor, which picks
+ * up the trace-propagating TaskDecorator declared in {@link com.example.backend.tracing.TracingConfig}.
+ * With spring.threads.virtual.enabled that executor starts a virtual thread per task, bounded by
+ * spring.task.execution.simple.concurrency-limit.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
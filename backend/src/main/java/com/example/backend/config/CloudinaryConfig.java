@@ -0,0 +1,51 @@
+package com.example.backend.config;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Configures the Cloudinary client from app.cloudinary.*.
+ *
+ * app.cloudinary.upload-prefix sends uploads to another server than Cloudinary, e.g. a local
+ * stand-in. The client is lazy: it is created on the first media request, or by the startup
+ * warmup once the application is ready.
+ */
+@Configuration
+public class CloudinaryConfig {
+
+    @Value("${app.cloudinary.cloud-name}")
+    private String cloudName;
+
+    @Value("${app.cloudinary.api-key}")
+    private String apiKey;
+
+    @Value("${app.cloudinary.api-secret}")
+    private String apiSecret;
+
+    @Value("${app.cloudinary.upload-prefix:}")
+    private String uploadPrefix;
+
+    /**
+     * Creates the Cloudinary client.
+     *
+     * @return The client.
+     */
+    @Bean
+    @Lazy
+    public Cloudinary cloudinary() {
+        Map<String, Object> config = ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret,
+                "secure", true);
+        if (!uploadPrefix.isBlank()) {
+            config.put("upload_prefix", uploadPrefix);
+        }
+        return new Cloudinary(config);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * Enables @Transactional for MongoDB, so that e.g. a user update and the mail it triggers are
+ * written to the outbox atomically. Requires a replica set or sharded cluster, hence opt-in with
+ * app.mongo.transactions.enabled.
+ */
+@Configuration
+@EnableTransactionManagement
+@ConditionalOnProperty(name = "app.mongo.transactions.enabled", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Enables @Scheduled methods and runs them on a pool of spring.task.scheduling.pool.size threads.
+ *
+ * With virtual threads enabled Boot would otherwise schedule on a SimpleAsyncTaskScheduler, which
+ * runs every fixed-delay method on its single scheduler thread: a slow engagement flush or
+ * trending refresh would hold up the 200ms journal sync and the revocation resync behind it. The
+ * pool should have a thread per scheduled method, so that none waits for another; a fixed-delay
+ * method never overlaps with itself.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * @param builder Boot's builder, configured from spring.task.scheduling.
+     * @return The scheduler for @Scheduled methods.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
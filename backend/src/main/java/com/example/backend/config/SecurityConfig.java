@@ -1,24 +1,36 @@
 package com.example.backend.config;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import com.example.backend.security.jwt.CachingJwtDecoder;
+import com.example.backend.security.jwt.CookieBearerTokenResolver;
+import com.example.backend.security.jwt.JwtKeyRing;
+import com.example.backend.security.jwt.KeyRingJwsVerification;
+import com.example.backend.security.jwt.KeyRingJwtEncoder;
+import com.example.backend.security.jwt.TimedJwtDecoder;
+import com.example.backend.security.jwt.TimedJwtEncoder;
+import com.example.backend.security.jwt.TokenRevocationChecker;
+import com.example.backend.security.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 /**
@@ -29,29 +41,79 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
-    private final RSAPublicKey publicKey;
-    private final RSAPrivateKey privateKey;
+    private final JwtKeyRing keyRing;
+
+    @Value("${app.jwt.decoder-cache.enabled:true}")
+    private boolean decoderCacheEnabled;
+
+    @Value("${app.jwt.decoder-cache.max-size:10000}")
+    private long decoderCacheMaxSize;
+
+    @Value("${app.jwt.access-token-expiration-ms}")
+    private long accessTokenExpirationMs;
 
     /**
-     * Constructor to inject the RSA keys for JWT configuration.
+     * Constructor to inject the key ring for JWT configuration.
      *
-     * @param publicKey  The RSA public key for decoding/verifying JWTs.
-     * @param privateKey The RSA private key for encoding/signing JWTs.
+     * @param keyRing The keys used for signing and verifying JWTs.
      */
-    public SecurityConfig(RSAPublicKey publicKey, RSAPrivateKey privateKey) {
-        this.publicKey = publicKey;
-        this.privateKey = privateKey;
+    public SecurityConfig(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Security filter chain for the actuator endpoints, served on the management port.
+     *
+     * Health, info and the Prometheus scrape endpoint are open so that probes and the scraper need
+     * no credentials; the management port must therefore not be exposed publicly. Every other
+     * endpoint requires a valid bearer token.
+     *
+     * @param http       The HttpSecurity object to configure.
+     * @param jwtDecoder The decoder used to authenticate bearer tokens.
+     * @return The configured SecurityFilterChain.
+     * @throws Exception if an error occurs during configuration.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder)
+            throws Exception {
+        return http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(AbstractHttpConfigurer::disable)
+
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(
+                        HealthEndpoint.class, InfoEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .anyRequest().authenticated()
+            )
+
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(jwt -> jwt.decoder(jwtDecoder))
+            )
+
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .build();
     }
 
     /**
      * Defines the primary security filter chain for the application.
      *
-     * @param http The HttpSecurity object to configure.
+     * Bearer tokens are read from the Authorization header; the streaming endpoints, which
+     * browsers open without custom headers, also accept the access token cookie. Requests are rate
+     * limited right after authentication, so per-user limits apply to authenticated callers.
+     *
+     * @param http            The HttpSecurity object to configure.
+     * @param jwtDecoder      The decoder used by the resource server to authenticate bearer tokens.
+     * @param rateLimitFilter The filter enforcing the rate limit policies.
      * @return The configured SecurityFilterChain.
      * @throws Exception if an error occurs during configuration.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            JwtDecoder jwtDecoder,
+            RateLimitFilter rateLimitFilter) throws Exception {
         return http
             .csrf(AbstractHttpConfigurer::disable)
 
@@ -61,9 +123,14 @@ public class SecurityConfig {
             )
 
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.decoder(jwtDecoder()))
+                .bearerTokenResolver(new CookieBearerTokenResolver(
+                        SecurityConstants.ACCESS_TOKEN_COOKIE_NAME,
+                        Set.of(SecurityConstants.FEED_STREAM_ENDPOINT, SecurityConstants.GRAPHQL_WS_ENDPOINT)))
+                .jwt(jwt -> jwt.decoder(jwtDecoder))
             )
 
+            .addFilterAfter(rateLimitFilter, BearerTokenAuthenticationFilter.class)
+
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
@@ -71,26 +138,48 @@ public class SecurityConfig {
     }
 
     /**
-     * Creates a JwtDecoder bean to verify JWTs using the RSA public key.
+     * Creates a JwtDecoder bean to verify JWTs against the key ring, selecting the key by "kid".
+     *
+     * Unless disabled via app.jwt.decoder-cache.enabled, the Nimbus decoder is wrapped in a
+     * bounded cache of already verified tokens so that repeated requests skip the signature check.
+     * Signature verification is timed as "auth.jwt.decode"; cache hits only show up in the cache
+     * metrics. Revocation is checked on every decode, with or without the cache.
      *
-     * @return A JwtDecoder instance configured with the public key.
+     * @param meterRegistry      Registry receiving the decoder cache metrics.
+     * @param revocationCheckers Optional revocation store consulted on every decode.
+     * @return A JwtDecoder instance configured with the key ring.
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(this.publicKey).build();
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            ObjectProvider<TokenRevocationChecker> revocationCheckers) {
+        JwtDecoder decoder = new TimedJwtDecoder(KeyRingJwsVerification.decoder(this.keyRing), meterRegistry);
+        TokenRevocationChecker revocationChecker =
+                revocationCheckers.getIfAvailable(() -> TokenRevocationChecker.NONE);
+        if (!decoderCacheEnabled) {
+            return token -> {
+                Jwt jwt = decoder.decode(token);
+                if (revocationChecker.isRevoked(jwt)) {
+                    throw new BadJwtException("Token has been revoked");
+                }
+                return jwt;
+            };
+        }
+        return new CachingJwtDecoder(
+                decoder,
+                decoderCacheMaxSize,
+                Duration.ofMillis(accessTokenExpirationMs),
+                revocationChecker,
+                meterRegistry);
     }
 
     /**
-     * Creates a JwtEncoder bean to sign JWTs using the RSA private and public keys.
+     * Creates a JwtEncoder bean to sign JWTs with the active key of the key ring.
      *
-     * @return A JwtEncoder instance configured with the JWK set.
+     * @param meterRegistry Registry receiving the "auth.jwt.encode" timer.
+     * @return A JwtEncoder instance configured with the key ring.
      */
     @Bean
-    public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(this.publicKey)
-                .privateKey(this.privateKey)
-                .build();
-        JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwkSource);
+    public JwtEncoder jwtEncoder(MeterRegistry meterRegistry) {
+        return new TimedJwtEncoder(new KeyRingJwtEncoder(this.keyRing), meterRegistry);
     }
 }
@@ -13,6 +13,9 @@ public final class SecurityConstants {
     public static final String AUTH_ENDPOINT = API_V1_PREFIX + "/auth";
     public static final String OAUTH2_ENDPOINT = "/login/oauth2/code/*";
     public static final String JWKS_ENDPOINT = "/.well-known/jwks.json";
+    public static final String FEED_STREAM_ENDPOINT = API_V1_PREFIX + "/feed/stream";
+    public static final String GRAPHQL_ENDPOINT = "/graphql";
+    public static final String GRAPHQL_WS_ENDPOINT = "/graphql-ws";
 
     /**
      * An array of URL patterns that should be publicly accessible without authentication.
@@ -34,5 +37,6 @@ public final class SecurityConstants {
     public static final String REFRESH_COOKIE_PATH = AUTH_ENDPOINT + "/refresh";
 
     public static final String ROLES_CLAIM = "roles";
+    public static final String FAMILY_CLAIM = "fid";
 
 }
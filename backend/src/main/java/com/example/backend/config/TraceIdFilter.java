@@ -1,34 +1,105 @@
 package com.example.backend.config;
 
+import com.example.backend.logging.SampledErrorLogger;
+import com.example.backend.tracing.TraceContext;
+import com.example.backend.tracing.TraceContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Starts the trace context of every request before any other filter runs.
+ *
+ * A valid W3C traceparent header continues the caller's trace in a new span; otherwise a legacy
+ * X-Trace-Id is adopted when it is a 32-hex-digit id or a UUID, and a new trace is started for
+ * anything else. Both headers are echoed on the response.
+ *
+ * The filter also checks that the trace state it owns, the bound context and its "traceId" and
+ * "spanId" MDC entries, does not outlive the request. State already present when a request starts
+ * was left behind by earlier work on the same thread; a different context still bound when it
+ * ends was set by code that never restored it. Both are counted as "tracing.context.leaks"
+ * (phase=entry or exit), logged, and cleared. On virtual threads such a leak dies with the thread,
+ * on a pooled platform thread it bleeds into the next request. Other MDC entries are left to
+ * whoever put them, so the check costs a few lookups rather than a copy of the MDC.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class TraceIdFilter implements Filter {
 
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Logger log = LoggerFactory.getLogger(TraceIdFilter.class);
+
+    private final SampledErrorLogger errorLogger;
+    private final Counter entryLeaks;
+    private final Counter exitLeaks;
+
+    public TraceIdFilter(SampledErrorLogger errorLogger, MeterRegistry meterRegistry) {
+        this.errorLogger = errorLogger;
+        this.entryLeaks = Counter.builder("tracing.context.leaks").tag("phase", "entry").register(meterRegistry);
+        this.exitLeaks = Counter.builder("tracing.context.leaks").tag("phase", "exit").register(meterRegistry);
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
-        try {
-            HttpServletRequest httpReq = (HttpServletRequest) request;
-            String traceId = httpReq.getHeader("X-Trace-Id");
+        HttpServletRequest httpReq = (HttpServletRequest) request;
+        TraceContext context = resolve(httpReq);
 
-            if (traceId == null || traceId.isBlank()) {
-                traceId = UUID.randomUUID().toString();
-            }
+        if (response instanceof HttpServletResponse httpRes) {
+            httpRes.setHeader(TRACE_ID_HEADER, context.traceId());
+            httpRes.setHeader(TRACEPARENT_HEADER, context.traceparent());
+        }
 
-            MDC.put("traceId", traceId);
+        TraceContext leaked = TraceContextHolder.current();
+        String leakedTraceId = MDC.get(TraceContextHolder.TRACE_ID_KEY);
+        if (leaked != null || leakedTraceId != null || MDC.get(TraceContextHolder.SPAN_ID_KEY) != null) {
+            entryLeaks.increment();
+            if (errorLogger.tryAcquire("trace-leak:entry")) {
+                log.warn("Thread {} started {} with leftover trace {}", Thread.currentThread().getName(),
+                        httpReq.getRequestURI(), leaked != null ? leaked.traceId() : leakedTraceId);
+            }
+        }
 
+        // Replaces any leftover context and MDC entries.
+        TraceContextHolder.set(context);
+        try {
             chain.doFilter(request, response);
-
         } finally {
-            MDC.remove("traceId");
+            TraceContext left = TraceContextHolder.current();
+            if (left != context) {
+                exitLeaks.increment();
+                if (errorLogger.tryAcquire("trace-leak:exit")) {
+                    log.warn("{} left trace {} bound to thread {}", httpReq.getRequestURI(),
+                            left != null ? left.traceId() : null, Thread.currentThread().getName());
+                }
+            }
+            TraceContextHolder.restore(null);
+        }
+    }
+
+    private static TraceContext resolve(HttpServletRequest request) {
+        TraceContext parent = TraceContext.parse(request.getHeader(TRACEPARENT_HEADER));
+        if (parent != null) {
+            return parent.child();
+        }
+
+        String traceId = request.getHeader(TRACE_ID_HEADER);
+        if (traceId == null || traceId.isBlank()) {
+            return TraceContext.newRoot();
         }
+        return TraceContext.fromTraceId(traceId.trim());
     }
 }
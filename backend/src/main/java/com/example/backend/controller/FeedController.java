@@ -0,0 +1,87 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.dto.response.PageResponse;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.model.Post;
+import com.example.backend.pagination.CursorCodec;
+import com.example.backend.pagination.CursorPage;
+import com.example.backend.service.feed.FeedService;
+import com.example.backend.service.push.FeedPushService;
+import com.example.backend.service.push.FeedSubscription;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The authenticated user's home timeline, paginated and as a live stream.
+ */
+@RestController
+public class FeedController {
+
+    private final FeedService feedService;
+    private final PostMapper postMapper;
+    private final CursorCodec cursorCodec;
+    private final FeedPushService feedPushService;
+    private final long streamTimeoutMs;
+
+    public FeedController(FeedService feedService,
+            PostMapper postMapper,
+            CursorCodec cursorCodec,
+            FeedPushService feedPushService,
+            @Value("${app.feed.push.sse-timeout:30m}") Duration streamTimeout) {
+        this.feedService = feedService;
+        this.postMapper = postMapper;
+        this.cursorCodec = cursorCodec;
+        this.feedPushService = feedPushService;
+        this.streamTimeoutMs = streamTimeout.toMillis();
+    }
+
+    /**
+     * Reads a page of the home timeline, newest first.
+     *
+     * @param jwt    The caller's access token.
+     * @param cursor The nextCursor of the previous page, absent for the first page.
+     * @param limit  The page size.
+     * @return The page.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/feed")
+    public PageResponse<PostResponse> feed(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<Post> page = feedService.homeTimeline(
+                jwt.getSubject(), cursorCodec.decode(cursor), cursorCodec.limit(limit));
+        return new PageResponse<>(postMapper.mapAll(page.items()), cursorCodec.encode(page.next()), page.hasNext());
+    }
+
+    /**
+     * Streams new posts as server-sent events, for clients that cannot use the GraphQL
+     * subscription. Events are named "post" or "resync"; heartbeats are sent as comments. The
+     * stream ends after app.feed.push.sse-timeout and EventSource reconnects on its own.
+     *
+     * @param jwt The caller's access token, from the header or the access token cookie.
+     * @return The event stream.
+     */
+    @GetMapping(path = SecurityConstants.FEED_STREAM_ENDPOINT, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal Jwt jwt) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        FeedSubscription subscription = feedPushService.subscribe(jwt.getSubject(), event -> {
+            switch (event.type()) {
+                case POST -> emitter.send(SseEmitter.event().name("post").id(event.post().id()).data(event.post()));
+                case RESYNC -> emitter.send(SseEmitter.event().name("resync").data(""));
+                case HEARTBEAT -> emitter.send(SseEmitter.event().comment(""));
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(_ -> subscription.close());
+        return emitter;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.graphql.Connection;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.model.Post;
+import com.example.backend.pagination.Cursor;
+import com.example.backend.pagination.CursorCodec;
+import com.example.backend.pagination.CursorPage;
+import com.example.backend.service.feed.FeedService;
+import com.example.backend.service.post.PostService;
+import com.example.backend.service.push.FeedEvent;
+import com.example.backend.service.push.FeedPushService;
+import com.example.backend.service.push.FeedSubscription;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * GraphQL queries for timelines and posts, paginated as cursor connections, and the live feed
+ * subscription.
+ */
+@Controller
+public class FeedGraphQlController {
+
+    private final FeedService feedService;
+    private final PostService postService;
+    private final PostMapper postMapper;
+    private final CursorCodec cursorCodec;
+    private final FeedPushService feedPushService;
+
+    public FeedGraphQlController(FeedService feedService,
+            PostService postService,
+            PostMapper postMapper,
+            CursorCodec cursorCodec,
+            FeedPushService feedPushService) {
+        this.feedService = feedService;
+        this.postService = postService;
+        this.postMapper = postMapper;
+        this.cursorCodec = cursorCodec;
+        this.feedPushService = feedPushService;
+    }
+
+    @QueryMapping
+    public Connection<PostResponse> feed(@AuthenticationPrincipal Jwt jwt,
+            @Argument Integer first,
+            @Argument String after) {
+        return toConnection(feedService.homeTimeline(
+                jwt.getSubject(), cursorCodec.decode(after), cursorCodec.limit(first)));
+    }
+
+    @QueryMapping
+    public Connection<PostResponse> userPosts(@Argument String userId,
+            @Argument Integer first,
+            @Argument String after) {
+        return toConnection(feedService.authorPosts(userId, cursorCodec.decode(after), cursorCodec.limit(first)));
+    }
+
+    @MutationMapping
+    public PostResponse createPost(@AuthenticationPrincipal Jwt jwt, @Argument String content) {
+        return postMapper.map(postService.create(jwt.getSubject(), content));
+    }
+
+    /**
+     * Streams new posts over the GraphQL WebSocket endpoint. Buffering happens in the
+     * {@link FeedSubscription}, whose drain thread blocks while the WebSocket message is written;
+     * Reactor must not add an unbounded buffer of its own, so missing demand fails the stream.
+     */
+    @SubscriptionMapping
+    public Flux<FeedEvent> feedUpdates(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        return Flux.create(sink -> {
+            FeedSubscription subscription = feedPushService.subscribe(userId, event -> {
+                if (sink.isCancelled()) {
+                    throw new IllegalStateException("Subscription cancelled");
+                }
+                if (event.type() != FeedEvent.Type.HEARTBEAT) {
+                    sink.next(event);
+                }
+            });
+            sink.onDispose(subscription::close);
+        }, FluxSink.OverflowStrategy.ERROR);
+    }
+
+    private Connection<PostResponse> toConnection(CursorPage<Post> page) {
+        List<Connection.Edge<PostResponse>> edges = new ArrayList<>(page.items().size());
+        for (Post post : page.items()) {
+            String cursor = cursorCodec.encode(Cursor.of(post.getCreatedAt(), post.getId()));
+            edges.add(new Connection.Edge<>(cursor, postMapper.map(post)));
+        }
+        String endCursor = page.hasNext() ? cursorCodec.encode(page.next())
+                : edges.isEmpty() ? null : edges.getLast().cursor();
+        return new Connection<>(edges, new Connection.PageInfo(page.hasNext(), endCursor));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.security.jwt.JwtKeyRing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the public keys of the JWT key ring as a JSON Web Key Set.
+ *
+ * The document is serialized (plain and gzip) only when the key ring changes; every request in
+ * between is answered from the cached bytes, with a strong ETag and Cache-Control max-age so that
+ * edge caches and other services can poll it cheaply and mostly receive 304s.
+ */
+@RestController
+public class JwksController {
+
+    private static final MediaType JWK_SET_JSON = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+    private volatile JwksDocument document;
+
+    /**
+     * Creates the controller.
+     *
+     * @param keyRing       The key ring whose public keys are published.
+     * @param maxAgeSeconds How long clients and caches may reuse the document.
+     */
+    public JwksController(JwtKeyRing keyRing, @Value("${app.jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        this.document = JwksDocument.of(keyRing);
+    }
+
+    /**
+     * Returns the JWK set, gzip-encoded when the client accepts it.
+     *
+     * @param ifNoneMatch    The ETags the client already holds.
+     * @param acceptEncoding The encodings the client accepts.
+     * @return The JWK set, or 304 if the client's copy is current.
+     */
+    @GetMapping(SecurityConstants.JWKS_ENDPOINT)
+    public ResponseEntity<byte[]> jwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        JwksDocument current = currentDocument();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? current.gzipEtag() : current.etag();
+
+        if (matches(ifNoneMatch, current)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(JWK_SET_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(current.gzipBody());
+        }
+        return response.body(current.body());
+    }
+
+    private JwksDocument currentDocument() {
+        JwksDocument current = this.document;
+        if (current.version() != keyRing.version()) {
+            // Concurrent rebuilds after a rotation are harmless, they produce identical documents.
+            current = JwksDocument.of(keyRing);
+            this.document = current;
+        }
+        return current;
+    }
+
+    private static boolean matches(String ifNoneMatch, JwksDocument document) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || tag.equals(document.etag()) || tag.equals(document.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String coding = candidate.trim();
+            int params = coding.indexOf(';');
+            String name = params < 0 ? coding : coding.substring(0, params).trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return params < 0 || !coding.substring(params).replace(" ", "").matches(";q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pre-serialized JWK set for one key ring version.
+     */
+    private record JwksDocument(long version, byte[] body, byte[] gzipBody, String etag, String gzipEtag) {
+
+        static JwksDocument of(JwtKeyRing keyRing) {
+            long version = keyRing.version();
+            byte[] body = keyRing.publicJwkSet().toString(true).getBytes(StandardCharsets.UTF_8);
+            String hash = hash(body);
+            return new JwksDocument(version, body, gzip(body), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+        }
+
+        private static String hash(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Could not load SHA-256, the JRE is missing support.", e);
+            }
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.dto.request.CompleteUploadRequest;
+import com.example.backend.dto.request.SignUploadRequest;
+import com.example.backend.dto.response.MediaResponse;
+import com.example.backend.mapping.MediaMapper;
+import com.example.backend.service.media.MediaService;
+import com.example.backend.service.media.SignedUpload;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Image and video uploads, either through the backend or directly to Cloudinary.
+ */
+@RestController
+public class MediaController {
+
+    private static final String MEDIA_ENDPOINT = SecurityConstants.API_V1_PREFIX + "/media";
+
+    private final MediaService mediaService;
+    private final MediaMapper mediaMapper;
+
+    public MediaController(MediaService mediaService, MediaMapper mediaMapper) {
+        this.mediaService = mediaService;
+        this.mediaMapper = mediaMapper;
+    }
+
+    /**
+     * Uploads a file through the backend. The upload continues in the background; poll the
+     * returned asset until it is READY or FAILED.
+     *
+     * @param jwt  The caller's access token.
+     * @param file The file.
+     * @return The pending asset.
+     */
+    @PostMapping(path = MEDIA_ENDPOINT, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public MediaResponse upload(@AuthenticationPrincipal Jwt jwt, @RequestPart("file") MultipartFile file) {
+        return mediaMapper.map(mediaService.upload(jwt.getSubject(), file));
+    }
+
+    /**
+     * Prepares a direct upload to Cloudinary, the preferred way for large files.
+     *
+     * @param jwt     The caller's access token.
+     * @param request The type of file to upload.
+     * @return The upload URL and signed form fields.
+     */
+    @PostMapping(MEDIA_ENDPOINT + "/signature")
+    public SignedUpload sign(@AuthenticationPrincipal Jwt jwt, @Valid @RequestBody SignUploadRequest request) {
+        return mediaService.signUpload(jwt.getSubject(), request.contentType());
+    }
+
+    /**
+     * Confirms a direct upload.
+     *
+     * @param jwt     The caller's access token.
+     * @param mediaId The asset returned with the signature.
+     * @param request The version and signature of Cloudinary's upload response.
+     * @return The ready asset.
+     */
+    @PostMapping(MEDIA_ENDPOINT + "/{mediaId}/complete")
+    public MediaResponse complete(@AuthenticationPrincipal Jwt jwt,
+            @PathVariable String mediaId,
+            @Valid @RequestBody CompleteUploadRequest request) {
+        return mediaMapper.map(mediaService.completeSignedUpload(
+                jwt.getSubject(), mediaId, request.version(), request.signature()));
+    }
+
+    /**
+     * Returns one of the caller's assets.
+     *
+     * @param jwt     The caller's access token.
+     * @param mediaId The asset id.
+     * @return The asset.
+     */
+    @GetMapping(MEDIA_ENDPOINT + "/{mediaId}")
+    public MediaResponse get(@AuthenticationPrincipal Jwt jwt, @PathVariable String mediaId) {
+        return mediaMapper.map(mediaService.get(jwt.getSubject(), mediaId));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.dto.request.CreatePostRequest;
+import com.example.backend.dto.response.EngagementResponse;
+import com.example.backend.dto.response.PageResponse;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.mapping.EngagementMapper;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.model.Post;
+import com.example.backend.pagination.CursorCodec;
+import com.example.backend.pagination.CursorPage;
+import com.example.backend.service.engagement.EngagementCounterService;
+import com.example.backend.service.engagement.EngagementType;
+import com.example.backend.service.feed.FeedService;
+import com.example.backend.service.post.PostService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishing posts, reading single posts, counting views and shares, and listing an author's posts.
+ */
+@RestController
+public class PostController {
+
+    private final PostService postService;
+    private final FeedService feedService;
+    private final EngagementCounterService engagementCounterService;
+    private final PostMapper postMapper;
+    private final EngagementMapper engagementMapper;
+    private final CursorCodec cursorCodec;
+
+    public PostController(PostService postService,
+            FeedService feedService,
+            EngagementCounterService engagementCounterService,
+            PostMapper postMapper,
+            EngagementMapper engagementMapper,
+            CursorCodec cursorCodec) {
+        this.postService = postService;
+        this.feedService = feedService;
+        this.engagementCounterService = engagementCounterService;
+        this.postMapper = postMapper;
+        this.engagementMapper = engagementMapper;
+        this.cursorCodec = cursorCodec;
+    }
+
+    /**
+     * Publishes a post as the authenticated user.
+     *
+     * @param jwt     The caller's access token.
+     * @param request The post.
+     * @return The created post.
+     */
+    @PostMapping(SecurityConstants.API_V1_PREFIX + "/posts")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PostResponse create(@AuthenticationPrincipal Jwt jwt, @Valid @RequestBody CreatePostRequest request) {
+        return postMapper.map(postService.create(jwt.getSubject(), request.content()));
+    }
+
+    /**
+     * Returns a single post.
+     *
+     * @param postId The post id.
+     * @return The post.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/posts/{postId}")
+    public PostResponse get(@PathVariable String postId) {
+        return postMapper.map(postService.get(postId));
+    }
+
+    /**
+     * Returns a post's engagement counts, as of the last counter flush.
+     *
+     * @param postId The post id.
+     * @return The counts.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/posts/{postId}/engagement")
+    public EngagementResponse engagement(@PathVariable String postId) {
+        postService.get(postId);
+        return engagementMapper.map(engagementCounterService.get(postId));
+    }
+
+    /**
+     * Counts a view of a post.
+     *
+     * @param postId The post id.
+     */
+    @PostMapping(SecurityConstants.API_V1_PREFIX + "/posts/{postId}/views")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void view(@PathVariable String postId) {
+        postService.get(postId);
+        engagementCounterService.increment(postId, EngagementType.VIEWS);
+    }
+
+    /**
+     * Counts a share of a post.
+     *
+     * @param postId The post id.
+     */
+    @PostMapping(SecurityConstants.API_V1_PREFIX + "/posts/{postId}/shares")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void share(@PathVariable String postId) {
+        postService.get(postId);
+        engagementCounterService.increment(postId, EngagementType.SHARES);
+    }
+
+    /**
+     * Lists an author's posts, newest first.
+     *
+     * @param userId The author.
+     * @param cursor The nextCursor of the previous page, absent for the first page.
+     * @param limit  The page size.
+     * @return The page.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/users/{userId}/posts")
+    public PageResponse<PostResponse> authorPosts(@PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<Post> page = feedService.authorPosts(userId, cursorCodec.decode(cursor), cursorCodec.limit(limit));
+        return new PageResponse<>(postMapper.mapAll(page.items()), cursorCodec.encode(page.next()), page.hasNext());
+    }
+}
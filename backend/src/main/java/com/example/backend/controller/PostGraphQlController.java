@@ -0,0 +1,81 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.graphql.Author;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.graphql.GraphQlDataLoaders;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.model.Post;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * GraphQL lookups of posts and authors. Every entity and count goes through the per-request
+ * DataLoaders of {@link GraphQlDataLoaders}, so a page of posts selecting their authors' counts
+ * costs one query per count, not one per post.
+ */
+@Controller
+public class PostGraphQlController {
+
+    private final PostMapper postMapper;
+
+    public PostGraphQlController(PostMapper postMapper) {
+        this.postMapper = postMapper;
+    }
+
+    @QueryMapping
+    public CompletableFuture<PostResponse> post(@Argument String id, DataFetchingEnvironment env) {
+        return posts(env).load(id).thenApply(post -> post == null ? null : postMapper.map(post));
+    }
+
+    @QueryMapping
+    public CompletableFuture<List<PostResponse>> posts(@Argument List<String> ids, DataFetchingEnvironment env) {
+        return posts(env).loadMany(ids).thenApply(posts -> {
+            List<PostResponse> responses = new ArrayList<>(posts.size());
+            for (Post post : posts) {
+                responses.add(post == null ? null : postMapper.map(post));
+            }
+            return responses;
+        });
+    }
+
+    @QueryMapping
+    public Author user(@Argument String id) {
+        return new Author(id);
+    }
+
+    @SchemaMapping(typeName = "Post")
+    public Author author(PostResponse post) {
+        return new Author(post.authorId());
+    }
+
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<Long> postCount(Author author, DataFetchingEnvironment env) {
+        return count(env, GraphQlDataLoaders.POST_COUNTS, author);
+    }
+
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<Long> followerCount(Author author, DataFetchingEnvironment env) {
+        return count(env, GraphQlDataLoaders.FOLLOWER_COUNTS, author);
+    }
+
+    @SchemaMapping(typeName = "Author")
+    public CompletableFuture<Long> followingCount(Author author, DataFetchingEnvironment env) {
+        return count(env, GraphQlDataLoaders.FOLLOWING_COUNTS, author);
+    }
+
+    private static DataLoader<String, Post> posts(DataFetchingEnvironment env) {
+        return env.getDataLoader(GraphQlDataLoaders.POSTS);
+    }
+
+    private static CompletableFuture<Long> count(DataFetchingEnvironment env, String loader, Author author) {
+        DataLoader<String, Long> counts = env.getDataLoader(loader);
+        return counts.load(author.id());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.controller;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.dto.response.TrendingItemResponse;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.mapping.TrendingMapper;
+import com.example.backend.service.feed.FeedService;
+import com.example.backend.service.trending.TrendingKind;
+import com.example.backend.service.trending.TrendingService;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The hashtags and posts trending now, as of the last trending refresh.
+ */
+@RestController
+public class TrendingController {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final TrendingService trendingService;
+    private final FeedService feedService;
+    private final TrendingMapper trendingMapper;
+    private final PostMapper postMapper;
+
+    public TrendingController(TrendingService trendingService,
+            FeedService feedService,
+            TrendingMapper trendingMapper,
+            PostMapper postMapper) {
+        this.trendingService = trendingService;
+        this.feedService = feedService;
+        this.trendingMapper = trendingMapper;
+        this.postMapper = postMapper;
+    }
+
+    /**
+     * Lists the trending hashtags.
+     *
+     * @param limit The maximum number of hashtags, at most app.trending.top-k.
+     * @return The hashtags, without '#', with their scores, highest first.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/trending/hashtags")
+    public List<TrendingItemResponse> hashtags(@RequestParam(required = false) Integer limit) {
+        return trendingMapper.mapAll(trendingService.trending(TrendingKind.HASHTAGS, limit(limit)));
+    }
+
+    /**
+     * Lists the trending posts.
+     *
+     * @param limit The maximum number of posts, at most app.trending.top-k.
+     * @return The posts, most trending first.
+     */
+    @GetMapping(SecurityConstants.API_V1_PREFIX + "/trending/posts")
+    public List<PostResponse> posts(@RequestParam(required = false) Integer limit) {
+        return postMapper.mapAll(feedService.trendingPosts(limit(limit)));
+    }
+
+    private int limit(Integer requested) {
+        return requested == null ? DEFAULT_LIMIT : Math.clamp(requested, 1, trendingService.topK());
+    }
+}
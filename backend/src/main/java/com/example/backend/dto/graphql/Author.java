@@ -0,0 +1,10 @@
+package com.example.backend.dto.graphql;
+
+/**
+ * The Author type of the schema. Only the id is held here; the counts are resolved lazily through
+ * batched DataLoaders, so they are only queried when selected.
+ *
+ * @param id The user id.
+ */
+public record Author(String id) {
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto.graphql;
+
+import java.util.List;
+
+/**
+ * A GraphQL cursor connection, as declared by the *Connection types of the schema.
+ *
+ * @param edges    The items with their cursors.
+ * @param pageInfo Whether there is a next page and its cursor.
+ * @param <T>      The node type.
+ */
+public record Connection<T>(List<Edge<T>> edges, PageInfo pageInfo) {
+
+    public record Edge<T>(String cursor, T node) {
+    }
+
+    public record PageInfo(boolean hasNextPage, String endCursor) {
+    }
+}
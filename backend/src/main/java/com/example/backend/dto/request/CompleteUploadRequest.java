@@ -0,0 +1,13 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a request confirming a direct upload, copied from Cloudinary's upload response.
+ */
+public record CompleteUploadRequest(
+        @NotBlank
+        String version,
+        @NotBlank
+        String signature) {
+}
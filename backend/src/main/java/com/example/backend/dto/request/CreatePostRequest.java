@@ -0,0 +1,13 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of a request to publish a post.
+ */
+public record CreatePostRequest(
+        @NotBlank
+        @Size(max = 5000)
+        String content) {
+}
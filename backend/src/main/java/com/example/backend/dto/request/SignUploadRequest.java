@@ -0,0 +1,11 @@
+package com.example.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Body of a request for a signed direct upload.
+ */
+public record SignUploadRequest(
+        @NotBlank
+        String contentType) {
+}
@@ -0,0 +1,7 @@
+package com.example.backend.dto.response;
+
+/**
+ * A post's engagement counts as returned by the REST API.
+ */
+public record EngagementResponse(long likes, long views, long shares) {
+}
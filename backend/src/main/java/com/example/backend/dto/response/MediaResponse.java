@@ -0,0 +1,18 @@
+package com.example.backend.dto.response;
+
+import com.example.backend.model.MediaAsset;
+import java.time.Instant;
+
+/**
+ * A media asset as returned by the REST API. The url is set once the upload is READY.
+ */
+public record MediaResponse(
+        String id,
+        MediaAsset.Status status,
+        String resourceType,
+        String contentType,
+        Long bytes,
+        String url,
+        String error,
+        Instant createdAt) {
+}
@@ -0,0 +1,17 @@
+package com.example.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * A page of a cursor-paginated REST listing. Pass nextCursor back as the cursor parameter to
+ * fetch the following page; it is absent on the last page.
+ *
+ * @param items      The items of this page.
+ * @param nextCursor The opaque cursor of the following page.
+ * @param hasNext    Whether there is a following page.
+ * @param <T>        The item type.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PageResponse<T>(List<T> items, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto.response;
+
+import java.time.Instant;
+
+/**
+ * A post as returned by the REST and GraphQL APIs.
+ */
+public record PostResponse(String id, String authorId, String content, Instant createdAt) {
+}
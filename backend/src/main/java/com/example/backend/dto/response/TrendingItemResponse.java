@@ -0,0 +1,10 @@
+package com.example.backend.dto.response;
+
+/**
+ * An entry of a trending list as returned by the REST API.
+ *
+ * @param id    The hashtag, without '#', or the post id.
+ * @param score Its decayed, weighted occurrences over the trending window.
+ */
+public record TrendingItemResponse(String id, double score) {
+}
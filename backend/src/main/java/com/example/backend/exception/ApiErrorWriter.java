@@ -0,0 +1,144 @@
+package com.example.backend.exception;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams error bodies straight to the response, in the same JSON layout as
+ * {@link com.example.backend.dto.response.ApiErrorResponse}.
+ *
+ * The constant part of every body (field names, status code and reason phrase) is encoded once
+ * per status at startup; per error only the timestamp, message, path and details are written,
+ * without building an intermediate DTO or copying the details into a new map.
+ */
+@Component
+public class ApiErrorWriter {
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString PATH = new SerializedString("path");
+    private static final SerializedString DETAILS = new SerializedString("details");
+    private static final SerializedString TRACE_ID = new SerializedString("traceId");
+
+    private final JsonFactory jsonFactory;
+    private final Map<HttpStatus, ErrorTemplate> templates = new EnumMap<>(HttpStatus.class);
+
+    /**
+     * Creates the writer.
+     *
+     * @param objectMapper The application's ObjectMapper, whose factory settings are reused.
+     */
+    public ApiErrorWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        for (HttpStatus status : HttpStatus.values()) {
+            templates.put(status, new ErrorTemplate(status.value(), new SerializedString(status.getReasonPhrase())));
+        }
+    }
+
+    /**
+     * Writes an error response unless the response has already been committed.
+     *
+     * @param response The servlet response.
+     * @param status   The response status.
+     * @param message  The error message, omitted when null.
+     * @param path     The request path, omitted when null.
+     * @param details  Additional details, omitted when null or empty.
+     * @param traceId  Trace id added to the details, omitted when null.
+     * @throws IOException if writing to the client fails.
+     */
+    public void write(HttpServletResponse response,
+            HttpStatus status,
+            String message,
+            String path,
+            Map<String, String> details,
+            String traceId) throws IOException {
+
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        write(response.getOutputStream(), status, message, path, details, traceId);
+    }
+
+    /**
+     * Writes an error body to the given stream, which is flushed but left open.
+     *
+     * @param out     The target stream.
+     * @param status  The response status.
+     * @param message The error message, omitted when null.
+     * @param path    The request path, omitted when null.
+     * @param details Additional details, omitted when null or empty.
+     * @param traceId Trace id added to the details, omitted when null.
+     * @throws IOException if writing fails.
+     */
+    public void write(OutputStream out,
+            HttpStatus status,
+            String message,
+            String path,
+            Map<String, String> details,
+            String traceId) throws IOException {
+
+        ErrorTemplate template = templates.get(status);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            generator.writeFieldName(TIMESTAMP);
+            generator.writeString(Instant.now().toString());
+            generator.writeFieldName(STATUS);
+            generator.writeNumber(template.status());
+            generator.writeFieldName(ERROR);
+            generator.writeString(template.reason());
+
+            if (message != null) {
+                generator.writeFieldName(MESSAGE);
+                generator.writeString(message);
+            }
+            if (path != null) {
+                generator.writeFieldName(PATH);
+                generator.writeString(path);
+            }
+
+            boolean hasDetails = details != null && !details.isEmpty();
+            boolean hasTraceId = traceId != null && !traceId.isBlank();
+            if (hasDetails || hasTraceId) {
+                generator.writeFieldName(DETAILS);
+                generator.writeStartObject();
+                if (hasDetails) {
+                    for (Map.Entry<String, String> entry : details.entrySet()) {
+                        generator.writeStringField(entry.getKey(), entry.getValue());
+                    }
+                }
+                if (hasTraceId) {
+                    generator.writeFieldName(TRACE_ID);
+                    generator.writeString(traceId);
+                }
+                generator.writeEndObject();
+            }
+
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * The part of an error body that only depends on the status.
+     */
+    private record ErrorTemplate(int status, SerializedString reason) {
+    }
+}
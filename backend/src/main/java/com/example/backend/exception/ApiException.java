@@ -0,0 +1,47 @@
+package com.example.backend.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class of the exceptions that map to an expected 4xx response, or a 503 when load is shed.
+ *
+ * These are thrown on hot paths (unknown ids, bad input, rate limits, overload) and never need a stack
+ * trace to be understood, so filling it in is skipped unless enabled via
+ * app.errors.capture-stack-traces (on in the dev profile) or debug logging, which
+ * {@link StackTraceCaptureListener} applies when the application starts.
+ */
+public abstract class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static volatile boolean captureStackTraces = false;
+
+    private final HttpStatus status;
+
+    protected ApiException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    protected ApiException(HttpStatus status, String message, Throwable cause) {
+        super(message, cause, false, captureStackTraces);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Enables or disables stack trace capture for exceptions created from now on. Set by
+     * {@link StackTraceCaptureListener}; benchmarks outside an application context call it directly.
+     *
+     * @param enabled true to capture stack traces.
+     */
+    public static void setCaptureStackTraces(boolean enabled) {
+        captureStackTraces = enabled;
+    }
+
+    public static boolean isCaptureStackTraces() {
+        return captureStackTraces;
+    }
+}
@@ -1,14 +1,16 @@
 package com.example.backend.exception;
 
-public class BadRequestException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class BadRequestException extends ApiException {
 
     private static final long serialVersionUID = 1L;
 
     public BadRequestException(String message) {
-        super(message);
+        super(HttpStatus.BAD_REQUEST, message);
     }
 
     public BadRequestException(String message, Throwable cause) {
-        super(message, cause);
+        super(HttpStatus.BAD_REQUEST, message, cause);
     }
 }
@@ -1,14 +1,16 @@
 package com.example.backend.exception;
 
-public class ForbiddenException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class ForbiddenException extends ApiException {
 
     private static final long serialVersionUID = 1L;
 
     public ForbiddenException(String message) {
-        super(message);
+        super(HttpStatus.FORBIDDEN, message);
     }
 
     public ForbiddenException(String message, Throwable cause) {
-        super(message, cause);
+        super(HttpStatus.FORBIDDEN, message, cause);
     }
 }
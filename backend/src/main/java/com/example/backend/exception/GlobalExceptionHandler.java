@@ -1,13 +1,18 @@
 package com.example.backend.exception;
 
 import com.example.backend.dto.response.ApiErrorResponse;
+import com.example.backend.logging.SampledErrorLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -15,7 +20,10 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
@@ -23,15 +31,56 @@ import java.util.stream.Collectors;
  * exceptions.
  * Returns consistent, typed JSON payloads so the frontend can parse errors
  * reliably.
+ * Every handled exception is counted as "api.errors", tagged with the handler, the exception type
+ * and the response status.
+ *
+ * Expected 4xx errors take a fast path: the exceptions are stackless (see {@link ApiException})
+ * and the body is streamed by {@link ApiErrorWriter} instead of going through a DTO and the
+ * message converters. Unexpected errors still produce an ApiErrorResponse. Their warnings are
+ * sampled per handler by {@link SampledErrorLogger} so that a flood of 4xx cannot flood the logs.
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    public static final String ERROR_METRIC_NAME = "api.errors";
+
     @Value("${spring.profiles.active:dev}")
     private String appEnv;
 
+    private final MeterRegistry meterRegistry;
+    private final ApiErrorWriter errorWriter;
+    private final SampledErrorLogger errorLogger;
+    private final ConcurrentMap<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry,
+            ApiErrorWriter errorWriter,
+            SampledErrorLogger errorLogger) {
+        this.meterRegistry = meterRegistry;
+        this.errorWriter = errorWriter;
+        this.errorLogger = errorLogger;
+    }
+
+    private void countError(String handler, HttpStatus status, Exception ex) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder(ERROR_METRIC_NAME)
+                .description("Exceptions handled by GlobalExceptionHandler")
+                .tag("handler", handler)
+                .tag("exception", type.getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private void writeError(HttpServletRequest req,
+            HttpServletResponse res,
+            HttpStatus status,
+            String message,
+            Map<String, String> details) throws IOException {
+
+        errorWriter.write(res, status, message, req.getRequestURI(), details, MDC.get("traceId"));
+    }
+
     private ApiErrorResponse buildResponse(HttpServletRequest req,
             HttpStatus status,
             String message,
@@ -47,8 +96,9 @@ public class GlobalExceptionHandler {
             enrichedDetails.put("traceId", traceId);
         }
 
-        Map<String, String> finalDetails = Collections
-                .unmodifiableMap(enrichedDetails.isEmpty() ? null : enrichedDetails);
+        Map<String, String> finalDetails = enrichedDetails.isEmpty()
+                ? null
+                : Collections.unmodifiableMap(enrichedDetails);
 
         return new ApiErrorResponse(
                 status.value(),
@@ -61,94 +111,152 @@ public class GlobalExceptionHandler {
     // ----------------- Custom Exception Handlers -----------------
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ApiErrorResponse> handleNotFound(ResourceNotFoundException ex, HttpServletRequest req) {
+    public void handleNotFound(ResourceNotFoundException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
         HttpStatus status = HttpStatus.NOT_FOUND;
+        countError("notFound", status, ex);
         String traceId = MDC.get("traceId");
 
-        log.warn("[{} {}] {} - {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                ex.getMessage(),
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("notFound")) {
+            log.warn("[{} {}] {} - {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, ex.getMessage(), null);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, ex.getMessage(), null);
     }
 
     @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<ApiErrorResponse> handleBadRequest(BadRequestException ex, HttpServletRequest req) {
+    public void handleBadRequest(BadRequestException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
         HttpStatus status = HttpStatus.BAD_REQUEST;
+        countError("badRequest", status, ex);
         String traceId = MDC.get("traceId");
 
-        log.warn("[{} {}] {} - {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                ex.getMessage(),
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("badRequest")) {
+            log.warn("[{} {}] {} - {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, ex.getMessage(), null);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, ex.getMessage(), null);
     }
 
     @ExceptionHandler(ValidationException.class)
-    public ResponseEntity<ApiErrorResponse> handleValidation(ValidationException ex, HttpServletRequest req) {
+    public void handleValidation(ValidationException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        countError("validation", status, ex);
         String traceId = MDC.get("traceId");
 
-        log.warn("[{} {}] {} - {} - details={} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                ex.getMessage(),
-                ex.getErrors(),
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("validation")) {
+            log.warn("[{} {}] {} - {} - details={} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    ex.getErrors(),
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, ex.getMessage(),
+        writeError(req, res, status, ex.getMessage(),
                 ex.getErrors().isEmpty() ? null : ex.getErrors());
-        return new ResponseEntity<>(body, status);
     }
 
     @ExceptionHandler(UnauthorizedException.class)
-    public ResponseEntity<ApiErrorResponse> handleUnauthorized(UnauthorizedException ex, HttpServletRequest req) {
+    public void handleUnauthorized(UnauthorizedException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
         HttpStatus status = HttpStatus.UNAUTHORIZED;
+        countError("unauthorized", status, ex);
         String traceId = MDC.get("traceId");
 
-        log.warn("[{} {}] {} - {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                ex.getMessage(),
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("unauthorized")) {
+            log.warn("[{} {}] {} - {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, ex.getMessage(), null);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, ex.getMessage(), null);
     }
 
     @ExceptionHandler(ForbiddenException.class)
-    public ResponseEntity<ApiErrorResponse> handleForbidden(ForbiddenException ex, HttpServletRequest req) {
+    public void handleForbidden(ForbiddenException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
         HttpStatus status = HttpStatus.FORBIDDEN;
+        countError("forbidden", status, ex);
         String traceId = MDC.get("traceId");
 
-        log.warn("[{} {}] {} - {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                ex.getMessage(),
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("forbidden")) {
+            log.warn("[{} {}] {} - {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, ex.getMessage(), null);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public void handleTooManyRequests(TooManyRequestsException ex,
+            HttpServletRequest req, HttpServletResponse res) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        countError("tooManyRequests", status, ex);
+        String traceId = MDC.get("traceId");
+
+        if (errorLogger.tryAcquire("tooManyRequests")) {
+            log.warn("[{} {}] {} - {} - retryAfter={}s - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    ex.getRetryAfterSeconds(),
+                    traceId != null ? traceId : "N/A");
+        }
+
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        writeError(req, res, status, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public void handleServiceUnavailable(ServiceUnavailableException ex,
+            HttpServletRequest req, HttpServletResponse res) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        countError("serviceUnavailable", status, ex);
+        String traceId = MDC.get("traceId");
+
+        if (errorLogger.tryAcquire("serviceUnavailable")) {
+            log.warn("[{} {}] {} - {} - retryAfter={}s - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    ex.getMessage(),
+                    ex.getRetryAfterSeconds(),
+                    traceId != null ? traceId : "N/A");
+        }
+
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        writeError(req, res, status, ex.getMessage(), null);
     }
 
     // ----------------- Validation & Bind Handlers -----------------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ApiErrorResponse> handleMethodArgNotValid(MethodArgumentNotValidException ex,
-            HttpServletRequest req) {
+    public void handleMethodArgNotValid(MethodArgumentNotValidException ex,
+            HttpServletRequest req, HttpServletResponse res) throws IOException {
 
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        countError("methodArgumentNotValid", status, ex);
         String traceId = MDC.get("traceId");
 
         Map<String, String> fieldErrors = ex.getBindingResult()
@@ -159,21 +267,24 @@ public class GlobalExceptionHandler {
                         fe -> fe.getDefaultMessage(),
                         (existing, _) -> existing));
 
-        log.warn("[{} {}] {} - MethodArgumentNotValid: {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                fieldErrors,
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("methodArgumentNotValid")) {
+            log.warn("[{} {}] {} - MethodArgumentNotValid: {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    fieldErrors,
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, "Validation failed", fieldErrors);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, "Validation failed", fieldErrors);
     }
 
     @ExceptionHandler(BindException.class)
-    public ResponseEntity<ApiErrorResponse> handleBindException(BindException ex, HttpServletRequest req) {
+    public void handleBindException(BindException ex, HttpServletRequest req, HttpServletResponse res)
+            throws IOException {
 
         HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        countError("bind", status, ex);
         String traceId = MDC.get("traceId");
 
         Map<String, String> fieldErrors = ex.getFieldErrors()
@@ -183,22 +294,24 @@ public class GlobalExceptionHandler {
                         fe -> fe.getDefaultMessage(),
                         (existing, _) -> existing));
 
-        log.warn("[{} {}] {} - Bind/validation errors: {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                fieldErrors,
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("bind")) {
+            log.warn("[{} {}] {} - Bind/validation errors: {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    fieldErrors,
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, "Validation failed", fieldErrors);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, "Validation failed", fieldErrors);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<ApiErrorResponse> handleConstraintViolation(ConstraintViolationException ex,
-            HttpServletRequest req) {
+    public void handleConstraintViolation(ConstraintViolationException ex,
+            HttpServletRequest req, HttpServletResponse res) throws IOException {
 
         HttpStatus status = HttpStatus.BAD_REQUEST;
+        countError("constraintViolation", status, ex);
         String traceId = MDC.get("traceId");
 
         Map<String, String> violations = ex.getConstraintViolations()
@@ -208,15 +321,16 @@ public class GlobalExceptionHandler {
                         ConstraintViolation::getMessage,
                         (existing, _) -> existing));
 
-        log.warn("[{} {}] {} - Constraint violations: {} - traceId={}",
-                req.getMethod(),
-                req.getRemoteAddr(),
-                req.getRequestURI(),
-                violations,
-                traceId != null ? traceId : "N/A");
+        if (errorLogger.tryAcquire("constraintViolation")) {
+            log.warn("[{} {}] {} - Constraint violations: {} - traceId={}",
+                    req.getMethod(),
+                    req.getRemoteAddr(),
+                    req.getRequestURI(),
+                    violations,
+                    traceId != null ? traceId : "N/A");
+        }
 
-        ApiErrorResponse body = buildResponse(req, status, "Constraint validation failed", violations);
-        return new ResponseEntity<>(body, status);
+        writeError(req, res, status, "Constraint validation failed", violations);
     }
 
     // ----------------- Generic / Fallback Handler -----------------
@@ -224,6 +338,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, HttpServletRequest req) {
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        countError("generic", status, ex);
         Map<String, String> details = null;
         String traceId = MDC.get("traceId");
 
@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends ApiException {
 
     private static final long serialVersionUID = 1L;
 
@@ -13,14 +13,14 @@ public class ResourceNotFoundException extends RuntimeException {
     private final Object fieldValue;
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(HttpStatus.NOT_FOUND, message);
         this.resourceName = null;
         this.fieldName = null;
         this.fieldValue = null;
     }
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s = %s", resourceName, fieldName, fieldValue));
+        super(HttpStatus.NOT_FOUND, String.format("%s not found with %s = %s", resourceName, fieldName, fieldValue));
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
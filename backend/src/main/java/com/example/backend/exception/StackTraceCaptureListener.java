@@ -0,0 +1,47 @@
+package com.example.backend.exception;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.SmartApplicationListener;
+
+/**
+ * Sets {@link ApiException}'s stack trace capture once per application, from
+ * app.errors.capture-stack-traces or debug logging on the GlobalExceptionHandler, as soon as the
+ * environment is prepared: before any bean exists, so no exception is created with a stale
+ * setting whatever the bean creation order. Closing the context restores the default, so the
+ * setting does not carry over to the next application context in the same JVM, e.g. in tests.
+ *
+ * Registered in META-INF/spring.factories, as the environment is prepared before the context.
+ */
+public class StackTraceCaptureListener implements SmartApplicationListener {
+
+    static final String PROPERTY = "app.errors.capture-stack-traces";
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return ApplicationEnvironmentPreparedEvent.class.isAssignableFrom(eventType)
+                || ContextClosedEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationEnvironmentPreparedEvent prepared) {
+            boolean enabled = prepared.getEnvironment().getProperty(PROPERTY, Boolean.class, false);
+            ApiException.setCaptureStackTraces(
+                    enabled || LoggerFactory.getLogger(GlobalExceptionHandler.class).isDebugEnabled());
+        } else if (event instanceof ContextClosedEvent closed && closed.getApplicationContext().getParent() == null) {
+            ApiException.setCaptureStackTraces(false);
+        }
+    }
+
+    /**
+     * Runs after the logging system has been initialized, so debug logging is known.
+     */
+    @Override
+    public int getOrder() {
+        return LoggingApplicationListener.DEFAULT_ORDER + 1;
+    }
+}
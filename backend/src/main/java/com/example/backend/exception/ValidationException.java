@@ -2,20 +2,21 @@ package com.example.backend.exception;
 
 import java.util.Collections;
 import java.util.Map;
+import org.springframework.http.HttpStatus;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends ApiException {
 
     private static final long serialVersionUID = 1L;
 
     private final Map<String, String> errors;
 
     public ValidationException(String message) {
-        super(message);
+        super(HttpStatus.UNPROCESSABLE_ENTITY, message);
         this.errors = Collections.emptyMap();
     }
 
     public ValidationException(String message, Map<String, String> errors) {
-        super(message);
+        super(HttpStatus.UNPROCESSABLE_ENTITY, message);
         this.errors = (errors != null) ? Map.copyOf(errors) : Collections.emptyMap();
     }
 
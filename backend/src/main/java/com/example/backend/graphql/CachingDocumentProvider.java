@@ -0,0 +1,55 @@
+package com.example.backend.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Skips parsing and validation of documents that have been seen before.
+ *
+ * Requests carrying a persistedQuery extension are resolved by hash through
+ * {@link RedisPersistedQueryCache}; all other documents are cached by their text. Documents with
+ * parse or validation errors are never cached.
+ */
+public class CachingDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final ApolloPersistedQuerySupport persistedQueries;
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    /**
+     * Creates the provider.
+     *
+     * @param persistedQueries Store for automatic persisted queries.
+     * @param documents        Local cache of parsed documents by query text.
+     */
+    public CachingDocumentProvider(RedisPersistedQueryCache persistedQueries,
+            Cache<String, PreparsedDocumentEntry> documents) {
+        this.persistedQueries = new ApolloPersistedQuerySupport(persistedQueries);
+        this.documents = documents;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(executionInput);
+            if (!entry.hasErrors()) {
+                documents.put(query, entry);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.backend.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Limits and caches for the GraphQL endpoint.
+ *
+ * Queries that are too deep or too expensive are rejected after validation, before any resolver
+ * runs. Parsed documents are cached locally, and clients may send automatic persisted queries
+ * whose hashes are shared between nodes through Redis. The WebSocket endpoint only accepts
+ * handshakes from the allowed CORS origins.
+ */
+@Configuration
+public class GraphQlConfig {
+
+    @Value("${app.graphql.max-depth:10}")
+    private int maxDepth;
+
+    @Value("${app.graphql.max-complexity:2000}")
+    private int maxComplexity;
+
+    @Value("${app.graphql.document-cache-size:1000}")
+    private long documentCacheSize;
+
+    @Value("${app.graphql.persisted-query-ttl:7d}")
+    private Duration persistedQueryTtl;
+
+    @Value("${app.pagination.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${app.pagination.max-limit:100}")
+    private int maxLimit;
+
+    /**
+     * Restricts the origins that may open the GraphQL WebSocket to those allowed by CORS.
+     *
+     * @param allowedOrigins The comma-separated origins of app.cors.allowed-origins.
+     * @return The post-processor.
+     */
+    @Bean
+    public static WebSocketOriginPostProcessor webSocketOriginPostProcessor(
+            @Value("${app.cors.allowed-origins}") String allowedOrigins) {
+        return new WebSocketOriginPostProcessor(Arrays.stream(allowedOrigins.split(","))
+                .map(String::trim)
+                .toList());
+    }
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, listComplexity());
+    }
+
+    /**
+     * Installs the document cache and persisted query support.
+     *
+     * @param redisTemplate Template holding the persisted queries.
+     * @param meterRegistry Registry receiving the cache metrics.
+     * @return The customizer.
+     */
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        Cache<String, PreparsedDocumentEntry> persistedDocuments = documentCache(meterRegistry, "graphql.apq");
+        Cache<String, PreparsedDocumentEntry> documents = documentCache(meterRegistry, "graphql.documents");
+
+        RedisPersistedQueryCache persistedQueries =
+                new RedisPersistedQueryCache(redisTemplate, persistedDocuments, persistedQueryTtl, meterRegistry);
+        CachingDocumentProvider provider = new CachingDocumentProvider(persistedQueries, documents);
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+    }
+
+    /**
+     * Each field costs 1 plus its selections; a list field costs its selections once per item it
+     * may return, i.e. the requested page size or the number of ids asked for.
+     */
+    private FieldComplexityCalculator listComplexity() {
+        return (environment, childComplexity) -> {
+            int items = 1;
+            Object first = environment.getArguments().get("first");
+            Object ids = environment.getArguments().get("ids");
+            if (environment.getFieldDefinition().getArgument("first") != null) {
+                items = first instanceof Integer requested ? Math.clamp(requested, 1, maxLimit) : defaultLimit;
+            } else if (ids instanceof List<?> list) {
+                items = Math.max(1, list.size());
+            }
+            return 1 + childComplexity * items;
+        };
+    }
+
+    private Cache<String, PreparsedDocumentEntry> documentCache(MeterRegistry meterRegistry, String name) {
+        Cache<String, PreparsedDocumentEntry> cache = Caffeine.newBuilder()
+                .maximumSize(documentCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backend.graphql;
+
+import com.example.backend.model.Post;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.repository.PostRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registers the DataLoaders used by the GraphQL resolvers. A DataLoader is created per request:
+ * keys requested while resolving one level of the query are collected into a single MongoDB $in
+ * query, and each key is loaded at most once per request.
+ */
+@Component
+public class GraphQlDataLoaders {
+
+    /**
+     * Posts by id.
+     */
+    public static final String POSTS = "posts";
+
+    /**
+     * Number of posts per author id.
+     */
+    public static final String POST_COUNTS = "postCounts";
+
+    /**
+     * Number of followers per user id.
+     */
+    public static final String FOLLOWER_COUNTS = "followerCounts";
+
+    /**
+     * Number of followed users per user id.
+     */
+    public static final String FOLLOWING_COUNTS = "followingCounts";
+
+    public GraphQlDataLoaders(BatchLoaderRegistry registry,
+            PostRepository postRepository,
+            FollowRepository followRepository) {
+
+        registry.<String, Post>forName(POSTS)
+                .registerMappedBatchLoader((ids, _) -> Mono.fromCallable(() -> postsById(postRepository, ids)));
+        registry.<String, Long>forName(POST_COUNTS)
+                .registerMappedBatchLoader((ids, _) -> counts(ids, postRepository::countByAuthorIds));
+        registry.<String, Long>forName(FOLLOWER_COUNTS)
+                .registerMappedBatchLoader((ids, _) -> counts(ids, followRepository::countFollowersOf));
+        registry.<String, Long>forName(FOLLOWING_COUNTS)
+                .registerMappedBatchLoader((ids, _) -> counts(ids, followRepository::countFolloweesOf));
+    }
+
+    private static Map<String, Post> postsById(PostRepository postRepository, Set<String> ids) {
+        Map<String, Post> posts = new HashMap<>(ids.size() * 2);
+        for (Post post : postRepository.findAllById(ids)) {
+            posts.put(post.getId(), post);
+        }
+        return posts;
+    }
+
+    /**
+     * Runs a batched count, reporting 0 for keys the aggregation did not return.
+     */
+    private static Mono<Map<String, Long>> counts(Set<String> ids,
+            Function<Collection<String>, Map<String, Long>> query) {
+        return Mono.fromCallable(() -> {
+            Map<String, Long> found = query.apply(ids);
+            Map<String, Long> counts = new HashMap<>(ids.size() * 2);
+            for (String id : ids) {
+                counts.put(id, found.getOrDefault(id, 0L));
+            }
+            return counts;
+        });
+    }
+}
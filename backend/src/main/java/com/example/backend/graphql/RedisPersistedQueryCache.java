@@ -0,0 +1,118 @@
+package com.example.backend.graphql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Store for automatic persisted queries, shared by all nodes.
+ *
+ * The hash-to-query map lives in Redis, so a query registered on one node can be sent as a bare
+ * hash to any other. Each node keeps the parsed and validated documents in a bounded local cache,
+ * so a known hash skips Redis, parsing and validation entirely.
+ */
+public class RedisPersistedQueryCache implements PersistedQueryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisPersistedQueryCache.class);
+
+    private static final String KEY_PREFIX = "graphql:apq:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final Duration ttl;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter registrations;
+
+    /**
+     * Creates the store.
+     *
+     * @param redisTemplate Template holding the hash-to-query map.
+     * @param documents     Local cache of parsed documents by hash.
+     * @param ttl           How long an unused query stays in Redis.
+     * @param meterRegistry Registry receiving the graphql.apq counter.
+     */
+    public RedisPersistedQueryCache(StringRedisTemplate redisTemplate,
+            Cache<String, PreparsedDocumentEntry> documents,
+            Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.documents = documents;
+        this.ttl = ttl;
+        this.localHits = counter(meterRegistry, "local");
+        this.redisHits = counter(meterRegistry, "redis");
+        this.misses = counter(meterRegistry, "miss");
+        this.registrations = counter(meterRegistry, "registered");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+            ExecutionInput executionInput,
+            PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+
+        String hash = persistedQueryId.toString();
+        PreparsedDocumentEntry entry = documents.getIfPresent(hash);
+        if (entry != null) {
+            localHits.increment();
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        String query = executionInput.getQuery();
+        boolean registering = query != null && !query.isBlank()
+                && !PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query);
+        if (!registering) {
+            query = lookup(hash);
+            if (query == null) {
+                // Tells the client to retry with the full query, which registers it.
+                misses.increment();
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+            redisHits.increment();
+        }
+
+        // Checks that the hash matches the query before parsing and validating it.
+        entry = onCacheMiss.apply(query);
+        if (!entry.hasErrors()) {
+            documents.put(hash, entry);
+            if (registering) {
+                register(hash, query);
+            }
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    private String lookup(String hash) {
+        try {
+            return redisTemplate.opsForValue().getAndExpire(KEY_PREFIX + hash, ttl);
+        } catch (RuntimeException e) {
+            log.warn("Could not look up persisted query {}: {}", hash, e.getMessage());
+            return null;
+        }
+    }
+
+    private void register(String hash, String query) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + hash, query, ttl);
+            registrations.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not store persisted query {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("graphql.apq").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.graphql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.support.OriginHandshakeInterceptor;
+import org.springframework.web.socket.server.support.WebSocketHandlerMapping;
+import org.springframework.web.socket.server.support.WebSocketHttpRequestHandler;
+
+/**
+ * Rejects WebSocket handshakes from origins other than the frontend's, by adding an
+ * {@link OriginHandshakeInterceptor} to every handler of the WebSocket handler mappings, such as
+ * the one auto-configured for /graphql-ws.
+ *
+ * The handshake is authenticated with the access token cookie, which the browser also sends when
+ * another site opens the socket; without this check that site could subscribe on the user's
+ * behalf. Handshakes without an Origin header come from non-browser clients and are let through.
+ */
+public class WebSocketOriginPostProcessor implements BeanPostProcessor {
+
+    private final Collection<String> allowedOrigins;
+
+    /**
+     * @param allowedOrigins The origins allowed to open a WebSocket, as in app.cors.allowed-origins.
+     */
+    public WebSocketOriginPostProcessor(Collection<String> allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof WebSocketHandlerMapping mapping)) {
+            return bean;
+        }
+        for (Object handler : mapping.getUrlMap().values()) {
+            if (handler instanceof WebSocketHttpRequestHandler requestHandler) {
+                List<HandshakeInterceptor> interceptors = new ArrayList<>();
+                interceptors.add(new OriginHandshakeInterceptor(allowedOrigins));
+                interceptors.addAll(requestHandler.getHandshakeInterceptors());
+                requestHandler.setHandshakeInterceptors(interceptors);
+            }
+        }
+        return bean;
+    }
+}
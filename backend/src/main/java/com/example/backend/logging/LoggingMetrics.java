@@ -0,0 +1,49 @@
+package com.example.backend.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports the state of every {@link RingBufferAppender} attached to the root logger:
+ * "logging.queue.size", "logging.queue.capacity" and "logging.dropped", tagged with the
+ * appender name.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext loggerContext)) {
+            return;
+        }
+
+        Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof RingBufferAppender appender) {
+                Gauge.builder("logging.queue.size", appender, RingBufferAppender::getQueueSize)
+                        .description("Log events waiting to be written")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("logging.queue.capacity", appender, RingBufferAppender::getCapacity)
+                        .description("Capacity of the log ring buffer")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                FunctionCounter.builder("logging.dropped", appender, RingBufferAppender::getDroppedCount)
+                        .description("Log events dropped because the ring buffer was full")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback appender that hands events to a bounded ring buffer drained by a single background
+ * thread, so that logging never blocks the calling (request) thread on I/O.
+ *
+ * When the buffer is full the event is dropped and counted instead of waiting. Once the buffer
+ * is more than discardingThreshold percent full, events below WARN are dropped first so that
+ * errors keep getting through a burst. Drop counts and the queue size are exported as metrics by
+ * {@link LoggingMetrics}.
+ *
+ * Configured in logback-spring.xml:
+ * <pre>
+ * &lt;appender name="ASYNC" class="com.example.backend.logging.RingBufferAppender"&gt;
+ *     &lt;capacity&gt;8192&lt;/capacity&gt;
+ *     &lt;appender-ref ref="FILE"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private int capacity = 8192;
+    private int discardingThreshold = 80;
+    private long shutdownTimeoutMs = 1000;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private int discardAbove;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacity < 1) {
+            addError("Invalid capacity " + capacity + " for appender " + getName());
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        discardAbove = (int) ((long) capacity * discardingThreshold / 100);
+        worker = Thread.ofPlatform()
+                .name("logback-ring-" + getName())
+                .daemon(true)
+                .unstarted(this::drain);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        worker.interrupt();
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            addWarn(queue.size() + " events were not flushed before " + getName() + " stopped");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queue.size() >= discardAbove && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            dropped.increment();
+            return;
+        }
+        // Capture MDC and format the message now, on the calling thread.
+        event.prepareForDeferredProcessing();
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        while (isStarted() || !queue.isEmpty()) {
+            try {
+                if (queue.drainTo(batch, DRAIN_BATCH_SIZE) == 0) {
+                    ILoggingEvent event = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        continue;
+                    }
+                    batch.add(event);
+                }
+            } catch (InterruptedException e) {
+                if (!isStarted()) {
+                    queue.drainTo(batch);
+                }
+            }
+            for (ILoggingEvent event : batch) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return The number of events waiting to be written.
+     */
+    public int getQueueSize() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * @return The number of events dropped because the buffer was (nearly) full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public long getShutdownTimeoutMs() {
+        return shutdownTimeoutMs;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.backend.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits repeated log lines, such as the warning logged for every 4xx response.
+ *
+ * Callers identify a kind of log line by a low-cardinality signature (e.g. handler and status)
+ * and only log when {@link #tryAcquire(String)} allows it. At most maxPerWindow lines per
+ * signature are let through per window; the rest are counted and reported at the end of the
+ * window as a single "suppressed N similar" line.
+ */
+@Component
+public class SampledErrorLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(SampledErrorLogger.class);
+
+    /**
+     * Signature used once maxSignatures distinct signatures are being tracked.
+     */
+    private static final String OVERFLOW_SIGNATURE = "other";
+
+    private final int maxPerWindow;
+    private final int maxSignatures;
+    private final Duration window;
+    private final Counter suppressedCounter;
+    private final Map<String, WindowCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the sampler.
+     *
+     * @param maxPerWindow  Log lines let through per signature and window; 0 or less disables sampling.
+     * @param maxSignatures Upper bound on tracked signatures.
+     * @param window        Length of a window, also the interval of the summaries.
+     * @param meterRegistry Registry receiving the "logging.suppressed" counter.
+     */
+    public SampledErrorLogger(@Value("${app.logging.sampling.max-per-window:10}") int maxPerWindow,
+            @Value("${app.logging.sampling.max-signatures:1000}") int maxSignatures,
+            @Value("${app.logging.sampling.window:10s}") Duration window,
+            MeterRegistry meterRegistry) {
+        this.maxPerWindow = maxPerWindow;
+        this.maxSignatures = maxSignatures;
+        this.window = window;
+        this.suppressedCounter = Counter.builder("logging.suppressed")
+                .description("Log lines suppressed by sampling")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decides whether a log line of the given kind may be written now.
+     *
+     * @param signature Identifies the kind of log line, must have low cardinality.
+     * @return true if the caller should log, false if the line is suppressed.
+     */
+    public boolean tryAcquire(String signature) {
+        if (maxPerWindow <= 0) {
+            return true;
+        }
+        WindowCount count = counts.get(signature);
+        if (count == null) {
+            count = counts.size() < maxSignatures
+                    ? counts.computeIfAbsent(signature, _ -> new WindowCount())
+                    : counts.computeIfAbsent(OVERFLOW_SIGNATURE, _ -> new WindowCount());
+        }
+        if (count.logged.incrementAndGet() <= maxPerWindow) {
+            return true;
+        }
+        count.suppressed.incrementAndGet();
+        suppressedCounter.increment();
+        return false;
+    }
+
+    /**
+     * Ends the current window: reports what was suppressed and forgets idle signatures.
+     */
+    @Scheduled(fixedRateString = "${app.logging.sampling.window:10s}")
+    public void flush() {
+        counts.entrySet().removeIf(entry -> {
+            WindowCount count = entry.getValue();
+            long suppressed = count.suppressed.getAndSet(0);
+            int logged = count.logged.getAndSet(0);
+            if (suppressed > 0) {
+                log.warn("Suppressed {} similar log lines for {} in the last {}s",
+                        suppressed, entry.getKey(), window.toSeconds());
+            }
+            return logged == 0;
+        });
+    }
+
+    private static final class WindowCount {
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.mapping;
+
+import com.example.backend.dto.response.EngagementResponse;
+import com.example.backend.service.engagement.EngagementCounts;
+import org.mapstruct.Mapper;
+
+/**
+ * Maps engagement counts to their API representation.
+ */
+@Mapper(config = MappingConfig.class)
+public interface EngagementMapper extends TypeMapper<EngagementCounts, EngagementResponse> {
+}
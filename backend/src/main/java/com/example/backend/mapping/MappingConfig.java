@@ -0,0 +1,17 @@
+package com.example.backend.mapping;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared MapStruct settings for every generated mapper: Spring beans with constructor injection,
+ * and a compile error for any destination property that is not mapped (or explicitly ignored).
+ */
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MappingConfig {
+}
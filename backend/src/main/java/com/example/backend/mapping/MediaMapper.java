@@ -0,0 +1,12 @@
+package com.example.backend.mapping;
+
+import com.example.backend.dto.response.MediaResponse;
+import com.example.backend.model.MediaAsset;
+import org.mapstruct.Mapper;
+
+/**
+ * Maps media assets to their API representation.
+ */
+@Mapper(config = MappingConfig.class)
+public interface MediaMapper extends TypeMapper<MediaAsset, MediaResponse> {
+}
@@ -0,0 +1,12 @@
+package com.example.backend.mapping;
+
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.model.Post;
+import org.mapstruct.Mapper;
+
+/**
+ * Maps posts to their API representation.
+ */
+@Mapper(config = MappingConfig.class)
+public interface PostMapper extends TypeMapper<Post, PostResponse> {
+}
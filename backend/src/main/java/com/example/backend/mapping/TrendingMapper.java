@@ -0,0 +1,12 @@
+package com.example.backend.mapping;
+
+import com.example.backend.dto.response.TrendingItemResponse;
+import com.example.backend.service.trending.TrendingItem;
+import org.mapstruct.Mapper;
+
+/**
+ * Maps trending list entries to their API representation.
+ */
+@Mapper(config = MappingConfig.class)
+public interface TrendingMapper extends TypeMapper<TrendingItem, TrendingItemResponse> {
+}
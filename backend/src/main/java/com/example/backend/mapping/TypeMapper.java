@@ -0,0 +1,39 @@
+package com.example.backend.mapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A mapper from one type to another, implemented by the MapStruct mappers generated at build time.
+ *
+ * Declare new mappers as interfaces extending this one and annotated with
+ * {@code @Mapper(config = MappingConfig.class)}, and inject them where the DTOs are built.
+ *
+ * @param <S> The source type.
+ * @param <D> The destination type.
+ */
+public interface TypeMapper<S, D> {
+
+    /**
+     * Maps a single object.
+     *
+     * @param source The source, may be null.
+     * @return The mapped object, or null for a null source.
+     */
+    D map(S source);
+
+    /**
+     * Maps every element into a presized list, without streams or intermediate collections.
+     *
+     * @param sources The sources.
+     * @return The mapped objects, in iteration order.
+     */
+    default List<D> mapAll(Collection<? extends S> sources) {
+        List<D> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(map(source));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A follow edge: followerId sees the posts of followeeId in their timeline.
+ */
+@Document(collection = Follow.COLLECTION)
+public class Follow {
+
+    public static final String COLLECTION = "follows";
+
+    @Id
+    private String id;
+
+    private String followerId;
+
+    private String followeeId;
+
+    private Instant createdAt;
+
+    public Follow() {
+    }
+
+    public Follow(String followerId, String followeeId, Instant createdAt) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getFollowerId() { return followerId; }
+    public void setFollowerId(String followerId) { this.followerId = followerId; }
+    public String getFolloweeId() { return followeeId; }
+    public void setFolloweeId(String followeeId) { this.followeeId = followeeId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,80 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A media file uploaded to Cloudinary, either through the backend or directly by the client with
+ * a signed upload. The record is created as {@link Status#PENDING} before the upload starts.
+ */
+@Document(collection = MediaAsset.COLLECTION)
+public class MediaAsset {
+
+    public static final String COLLECTION = "media_assets";
+
+    public enum Status {
+        PENDING,
+        READY,
+        FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String ownerId;
+
+    private Status status;
+
+    /** Cloudinary public id, assigned by the backend before the upload. */
+    private String publicId;
+
+    private String resourceType;
+
+    private String contentType;
+
+    private Long bytes;
+
+    private String url;
+
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant completedAt;
+
+    public MediaAsset() {
+    }
+
+    public MediaAsset(String ownerId, String publicId, String resourceType, String contentType, Instant createdAt) {
+        this.ownerId = ownerId;
+        this.publicId = publicId;
+        this.resourceType = resourceType;
+        this.contentType = contentType;
+        this.createdAt = createdAt;
+        this.status = Status.PENDING;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getOwnerId() { return ownerId; }
+    public void setOwnerId(String ownerId) { this.ownerId = ownerId; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public String getPublicId() { return publicId; }
+    public void setPublicId(String publicId) { this.publicId = publicId; }
+    public String getResourceType() { return resourceType; }
+    public void setResourceType(String resourceType) { this.resourceType = resourceType; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public Long getBytes() { return bytes; }
+    public void setBytes(Long bytes) { this.bytes = bytes; }
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
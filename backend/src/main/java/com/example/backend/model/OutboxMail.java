@@ -0,0 +1,94 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A mail waiting in the outbox. Requests only insert these; the outbox worker claims and sends
+ * them in the background.
+ *
+ * Lifecycle: PENDING, then SENDING while claimed by a worker, then SENT, or back to PENDING with
+ * a later nextAttemptAt after a transient failure, or DEAD once it cannot be delivered.
+ */
+@Document(collection = OutboxMail.COLLECTION)
+public class OutboxMail {
+
+    public static final String COLLECTION = "mail_outbox";
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        DEAD
+    }
+
+    @Id
+    private String id;
+
+    private String to;
+
+    private String subject;
+
+    private String textBody;
+
+    private String htmlBody;
+
+    private Status status;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    /** Identifies the claiming worker's batch while SENDING. */
+    private String claimToken;
+
+    /** When a SENDING claim is considered abandoned and the mail may be claimed again. */
+    private Instant claimExpiresAt;
+
+    private String lastError;
+
+    private Instant createdAt;
+
+    private Instant sentAt;
+
+    public OutboxMail() {
+    }
+
+    public OutboxMail(String to, String subject, String textBody, String htmlBody, Instant createdAt) {
+        this.to = to;
+        this.subject = subject;
+        this.textBody = textBody;
+        this.htmlBody = htmlBody;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+        this.status = Status.PENDING;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    public String getTextBody() { return textBody; }
+    public void setTextBody(String textBody) { this.textBody = textBody; }
+    public String getHtmlBody() { return htmlBody; }
+    public void setHtmlBody(String htmlBody) { this.htmlBody = htmlBody; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+    public Instant getClaimExpiresAt() { return claimExpiresAt; }
+    public void setClaimExpiresAt(Instant claimExpiresAt) { this.claimExpiresAt = claimExpiresAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getSentAt() { return sentAt; }
+    public void setSentAt(Instant sentAt) { this.sentAt = sentAt; }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A post published by a user. MongoDB is the source of truth for posts; the Redis timelines only
+ * hold post ids.
+ */
+@Document(collection = Post.COLLECTION)
+public class Post {
+
+    public static final String COLLECTION = "posts";
+
+    @Id
+    private String id;
+
+    private String authorId;
+
+    private String content;
+
+    private Instant createdAt;
+
+    public Post() {
+    }
+
+    public Post(String authorId, String content, Instant createdAt) {
+        this.authorId = authorId;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getAuthorId() { return authorId; }
+    public void setAuthorId(String authorId) { this.authorId = authorId; }
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
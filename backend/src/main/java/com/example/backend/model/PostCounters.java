@@ -0,0 +1,35 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Engagement counts of a post, keyed by the post id. Only written with $inc upserts by the
+ * engagement counter flush.
+ */
+@Document(collection = PostCounters.COLLECTION)
+public class PostCounters {
+
+    public static final String COLLECTION = "post_counters";
+
+    @Id
+    private String id;
+
+    private long likes;
+
+    private long views;
+
+    private long shares;
+
+    public PostCounters() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public long getLikes() { return likes; }
+    public void setLikes(long likes) { this.likes = likes; }
+    public long getViews() { return views; }
+    public void setViews(long views) { this.views = views; }
+    public long getShares() { return shares; }
+    public void setShares(long shares) { this.shares = shares; }
+}
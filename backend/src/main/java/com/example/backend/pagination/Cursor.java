@@ -0,0 +1,21 @@
+package com.example.backend.pagination;
+
+import java.time.Instant;
+
+/**
+ * A position in a list ordered newest first by (createdAt, _id): the last item of the previous
+ * page. Clients only ever see it encoded and signed by {@link CursorCodec}.
+ *
+ * @param createdAtMillis The item's creation time in epoch milliseconds.
+ * @param id              The item's ObjectId as 24 hex characters.
+ */
+public record Cursor(long createdAtMillis, String id) {
+
+    public static Cursor of(Instant createdAt, String id) {
+        return new Cursor(createdAt.toEpochMilli(), id);
+    }
+
+    public Instant createdAt() {
+        return Instant.ofEpochMilli(createdAtMillis);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.pagination;
+
+import com.example.backend.exception.BadRequestException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes cursors as opaque, tamper-proof strings.
+ *
+ * A cursor is the 8-byte creation time and the 12-byte ObjectId followed by a truncated
+ * HMAC-SHA256, base64url encoded (48 characters). The signature keeps clients from crafting
+ * cursors that point into other users' data or trigger unindexed queries. The key comes from
+ * app.pagination.cursor-secret and must be the same on every node; without it a random key is
+ * generated and cursors do not survive a restart.
+ */
+@Component
+public class CursorCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(CursorCodec.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 8 + 12;
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public CursorCodec(@Value("${app.pagination.cursor-secret:}") String secret,
+            @Value("${app.pagination.default-limit:20}") int defaultLimit,
+            @Value("${app.pagination.max-limit:100}") int maxLimit) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.pagination.cursor-secret is not set, cursors will not be valid across nodes or restarts");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Encodes a cursor.
+     *
+     * @param cursor The cursor, may be null.
+     * @return The opaque string, or null for a null cursor.
+     */
+    public String encode(Cursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        byte[] token = new byte[PAYLOAD_LENGTH + SIGNATURE_LENGTH];
+        ByteBuffer.wrap(token)
+                .putLong(cursor.createdAtMillis())
+                .put(new ObjectId(cursor.id()).toByteArray());
+        System.arraycopy(sign(token), 0, token, PAYLOAD_LENGTH, SIGNATURE_LENGTH);
+        return ENCODER.encodeToString(token);
+    }
+
+    /**
+     * Decodes a cursor received from a client.
+     *
+     * @param value The opaque string, may be null or blank for the first page.
+     * @return The cursor, or null for the first page.
+     * @throws BadRequestException if the cursor is malformed or its signature does not match.
+     */
+    public Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        byte[] token;
+        try {
+            token = DECODER.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (token.length != PAYLOAD_LENGTH + SIGNATURE_LENGTH) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        byte[] expected = sign(token);
+        if (!MessageDigest.isEqual(
+                Arrays.copyOfRange(expected, 0, SIGNATURE_LENGTH),
+                Arrays.copyOfRange(token, PAYLOAD_LENGTH, token.length))) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(token, 0, PAYLOAD_LENGTH);
+        long createdAtMillis = buffer.getLong();
+        byte[] id = new byte[12];
+        buffer.get(id);
+        return new Cursor(createdAtMillis, new ObjectId(id).toHexString());
+    }
+
+    /**
+     * Clamps a requested page size to [1, app.pagination.max-limit].
+     *
+     * @param requested The requested size, or null for app.pagination.default-limit.
+     * @return The page size to use.
+     */
+    public int limit(Integer requested) {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+
+    private byte[] sign(byte[] token) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(token, 0, PAYLOAD_LENGTH);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load " + ALGORITHM + ", the JRE is missing support.", e);
+        }
+    }
+}
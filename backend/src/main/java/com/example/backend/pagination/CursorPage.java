@@ -0,0 +1,52 @@
+package com.example.backend.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset-paginated list.
+ *
+ * @param items The items, newest first.
+ * @param next  The cursor of the following page, or null on the last page.
+ * @param <T>   The item type.
+ */
+public record CursorPage<T>(List<T> items, Cursor next) {
+
+    /**
+     * Builds a page from a query that fetched one item more than the page size, the extra item
+     * only telling whether there is a following page.
+     *
+     * @param fetched  The items fetched, at most limit + 1.
+     * @param limit    The page size.
+     * @param cursorOf Extracts the cursor of an item.
+     * @param <T>      The item type.
+     * @return The page.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Cursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Maps the items, keeping the cursor.
+     *
+     * @param mapper The item mapper.
+     * @param <R>    The mapped type.
+     * @return The mapped page.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new CursorPage<>(mapped, next);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.pagination;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Builds MongoDB range queries for keyset pagination over (createdAt desc, _id desc).
+ *
+ * Combined with an index ending in { createdAt: -1, _id: -1 } (see MongoIndexInitializer), every
+ * page is an index range scan starting right after the cursor, so it costs the same however deep
+ * the page is, unlike skip/limit.
+ */
+public final class KeysetCriteria {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+
+    private KeysetCriteria() {
+        // This class should not be instantiated.
+    }
+
+    /**
+     * Restricts a query to the items after the cursor.
+     *
+     * @param criteria The equality part of the query, e.g. the author.
+     * @param after    The cursor, or null for the first page.
+     * @return The combined criteria.
+     */
+    public static Criteria after(Criteria criteria, Cursor after) {
+        if (after == null) {
+            return criteria;
+        }
+        return criteria.orOperator(
+                Criteria.where("createdAt").lt(after.createdAt()),
+                Criteria.where("createdAt").is(after.createdAt()).and("_id").lt(new ObjectId(after.id())));
+    }
+
+    /**
+     * Builds the query for a page, fetching one extra item to detect whether a next page exists.
+     *
+     * @param criteria The equality part of the query, e.g. the author.
+     * @param after    The cursor, or null for the first page.
+     * @param limit    The page size.
+     * @return The query.
+     */
+    public static Query page(Criteria criteria, Cursor after, int limit) {
+        return new Query(after(criteria, after))
+                .with(NEWEST_FIRST)
+                .limit(limit + 1);
+    }
+}
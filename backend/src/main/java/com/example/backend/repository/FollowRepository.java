@@ -0,0 +1,49 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Follow;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+/**
+ * Repository for {@link Follow} edges. The projections only load the id needed by the timeline,
+ * and are served from the (followerId, followeeId) and (followeeId, followerId) indexes.
+ */
+public interface FollowRepository extends MongoRepository<Follow, String>, FollowRepositoryCustom {
+
+    /**
+     * Streams the followers of a user without loading them all into memory.
+     *
+     * @param followeeId The followed user.
+     * @return The edges, with only followerId populated. The stream must be closed.
+     */
+    @Query(value = "{ 'followeeId': ?0 }", fields = "{ '_id': 0, 'followerId': 1 }")
+    Stream<Follow> streamFollowersOf(String followeeId);
+
+    /**
+     * Lists the users a user follows.
+     *
+     * @param followerId The following user.
+     * @return The edges, with only followeeId populated.
+     */
+    @Query(value = "{ 'followerId': ?0 }", fields = "{ '_id': 0, 'followeeId': 1 }")
+    List<Follow> findFolloweesOf(String followerId);
+
+    /**
+     * Lists which of the given users a user follows.
+     *
+     * @param followerId  The following user.
+     * @param followeeIds The candidate followees.
+     * @return The edges, with only followeeId populated.
+     */
+    @Query(value = "{ 'followerId': ?0, 'followeeId': { $in: ?1 } }", fields = "{ '_id': 0, 'followeeId': 1 }")
+    List<Follow> findFolloweesAmong(String followerId, Collection<String> followeeIds);
+
+    long countByFolloweeId(String followeeId);
+
+    boolean existsByFollowerIdAndFolloweeId(String followerId, String followeeId);
+
+    long deleteByFollowerIdAndFolloweeId(String followerId, String followeeId);
+}
@@ -0,0 +1,26 @@
+package com.example.backend.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Batched follow counts, implemented with MongoTemplate aggregations.
+ */
+public interface FollowRepositoryCustom {
+
+    /**
+     * Counts the followers of each of the given users in one query.
+     *
+     * @param userIds The followed users.
+     * @return The follower count per user; users without followers are absent.
+     */
+    Map<String, Long> countFollowersOf(Collection<String> userIds);
+
+    /**
+     * Counts the users each of the given users follows in one query.
+     *
+     * @param userIds The following users.
+     * @return The followee count per user; users following nobody are absent.
+     */
+    Map<String, Long> countFolloweesOf(Collection<String> userIds);
+}
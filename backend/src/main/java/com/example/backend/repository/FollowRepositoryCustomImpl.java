@@ -0,0 +1,28 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Follow;
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * MongoTemplate implementation of {@link FollowRepositoryCustom}.
+ */
+public class FollowRepositoryCustomImpl implements FollowRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public FollowRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Long> countFollowersOf(Collection<String> userIds) {
+        return GroupCounts.count(mongoTemplate, Follow.COLLECTION, "followeeId", userIds);
+    }
+
+    @Override
+    public Map<String, Long> countFolloweesOf(Collection<String> userIds) {
+        return GroupCounts.count(mongoTemplate, Follow.COLLECTION, "followerId", userIds);
+    }
+}
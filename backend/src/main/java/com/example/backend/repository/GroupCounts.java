@@ -0,0 +1,46 @@
+package com.example.backend.repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Counts documents per value of a field for a batch of values, in one $match/$group aggregation
+ * instead of one count query per value.
+ */
+final class GroupCounts {
+
+    private GroupCounts() {
+    }
+
+    /**
+     * Counts the documents of a collection whose field matches each of the given values.
+     *
+     * @param mongoTemplate The template.
+     * @param collection    The collection.
+     * @param field         The grouped field, which should be indexed.
+     * @param values        The values to count.
+     * @return The count per value; values without documents are absent.
+     */
+    static Map<String, Long> count(MongoTemplate mongoTemplate,
+            String collection,
+            String field,
+            Collection<String> values) {
+        if (values.isEmpty()) {
+            return Map.of();
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(field).in(values)),
+                Aggregation.group(field).count().as("count"));
+
+        Map<String, Long> counts = new HashMap<>(values.size() * 2);
+        for (Document result : mongoTemplate.aggregate(aggregation, collection, Document.class)) {
+            counts.put(result.getString("_id"), ((Number) result.get("count")).longValue());
+        }
+        return counts;
+    }
+}
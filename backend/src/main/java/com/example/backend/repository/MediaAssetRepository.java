@@ -0,0 +1,10 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.MediaAsset;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for {@link MediaAsset} documents.
+ */
+public interface MediaAssetRepository extends MongoRepository<MediaAsset, String> {
+}
@@ -0,0 +1,80 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Follow;
+import com.example.backend.model.OutboxMail;
+import com.example.backend.model.Post;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes the keyset-paginated, timeline and mail outbox queries rely on, once at
+ * startup.
+ * Creating an index that already exists with the same definition is a no-op.
+ *
+ * Run by {@link com.example.backend.startup.StartupWarmup} after the context has started, so
+ * that startup does not wait on MongoDB; the instance only reports ready once it has succeeded.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates any missing index.
+     */
+    public void ensureIndexes() {
+        IndexOperations posts = mongoTemplate.indexOps(Post.class);
+        // An author's posts, and the timeline fan-in over several authors.
+        posts.createIndex(new Index()
+                .on("authorId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("author_created_id"));
+        // Global recency listings.
+        posts.createIndex(new Index()
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("created_id"));
+
+        IndexOperations follows = mongoTemplate.indexOps(Follow.class);
+        follows.createIndex(new Index()
+                .on("followerId", Sort.Direction.ASC)
+                .on("followeeId", Sort.Direction.ASC)
+                .unique()
+                .named("follower_followee"));
+        follows.createIndex(new Index()
+                .on("followeeId", Sort.Direction.ASC)
+                .on("followerId", Sort.Direction.ASC)
+                .named("followee_follower"));
+
+        IndexOperations outbox = mongoTemplate.indexOps(OutboxMail.class);
+        // Claiming due mails, and the backlog counts.
+        outbox.createIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("nextAttemptAt", Sort.Direction.ASC)
+                .named("status_next_attempt"));
+        outbox.createIndex(new Index()
+                .on("claimToken", Sort.Direction.ASC)
+                .sparse()
+                .named("claim_token"));
+        // Sent mails are purged after a week; dead-lettered ones have no sentAt and are kept.
+        outbox.createIndex(new Index()
+                .on("sentAt", Sort.Direction.ASC)
+                .expire(Duration.ofDays(7))
+                .named("sent_at_ttl"));
+
+        log.info("MongoDB indexes for posts, follows and the mail outbox are in place");
+    }
+}
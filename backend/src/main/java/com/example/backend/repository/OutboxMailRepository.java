@@ -0,0 +1,13 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.OutboxMail;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for {@link OutboxMail} documents. Claiming and completing batches is done by the
+ * outbox worker with MongoTemplate updates.
+ */
+public interface OutboxMailRepository extends MongoRepository<OutboxMail, String> {
+
+    long countByStatus(OutboxMail.Status status);
+}
@@ -0,0 +1,10 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Post;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for {@link Post} documents.
+ */
+public interface PostRepository extends MongoRepository<Post, String>, PostRepositoryCustom {
+}
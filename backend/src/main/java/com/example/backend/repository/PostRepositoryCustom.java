@@ -0,0 +1,32 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Post;
+import com.example.backend.pagination.Cursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset-paginated queries and batched counts on posts, implemented with MongoTemplate.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Fetches a page of an author's posts, newest first, plus one extra post if there is a next
+     * page. Served by the { authorId: 1, createdAt: -1, _id: -1 } index.
+     *
+     * @param authorId The author.
+     * @param after    The cursor, or null for the first page.
+     * @param limit    The page size.
+     * @return Up to limit + 1 posts.
+     */
+    List<Post> findPageByAuthor(String authorId, Cursor after, int limit);
+
+    /**
+     * Counts the posts of each of the given authors in one query.
+     *
+     * @param authorIds The authors.
+     * @return The post count per author; authors without posts are absent.
+     */
+    Map<String, Long> countByAuthorIds(Collection<String> authorIds);
+}
@@ -0,0 +1,34 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Post;
+import com.example.backend.pagination.Cursor;
+import com.example.backend.pagination.KeysetCriteria;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * MongoTemplate implementation of {@link PostRepositoryCustom}.
+ */
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public PostRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Post> findPageByAuthor(String authorId, Cursor after, int limit) {
+        return mongoTemplate.find(
+                KeysetCriteria.page(Criteria.where("authorId").is(authorId), after, limit),
+                Post.class);
+    }
+
+    @Override
+    public Map<String, Long> countByAuthorIds(Collection<String> authorIds) {
+        return GroupCounts.count(mongoTemplate, Post.COLLECTION, "authorId", authorIds);
+    }
+}
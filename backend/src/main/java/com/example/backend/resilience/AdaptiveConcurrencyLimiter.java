@@ -0,0 +1,169 @@
+package com.example.backend.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the requests in flight at a limit that follows the server's latency, so that excess load
+ * is turned away at the door instead of queueing in front of a slow dependency.
+ *
+ * The limit is recomputed once per window from the latencies of the requests completed in it,
+ * the gradient algorithm:
+ * <pre>
+ * shortRtt = mean latency of the window
+ * longRtt  = moving average of shortRtt over longWindow windows (the baseline)
+ * gradient = clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0)
+ * newLimit = limit * gradient + sqrt(limit)
+ * limit    = limit * (1 - smoothing) + newLimit * smoothing, within [minLimit, maxLimit]
+ * </pre>
+ * While latency stays within rttTolerance of the baseline the gradient is 1 and the limit grows
+ * by its square root, the queue it allows; once requests queue and latency rises the gradient
+ * shrinks it. The limit does not grow in windows where less than half of it was used, and the
+ * baseline drops quickly when latency recovers, so the limit can climb back.
+ *
+ * Acquiring and releasing are lock-free; the thread completing the first request after a window
+ * ends recomputes the limit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double longRttWeight;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowEndNanos;
+
+    private volatile double limit;
+    private volatile double longRttNanos;
+    private volatile double shortRttNanos;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param initialLimit     The limit until the first window has been measured.
+     * @param minLimit         The lowest the limit goes.
+     * @param maxLimit         The highest the limit goes.
+     * @param rttTolerance     How much above the baseline latency may rise before the limit shrinks.
+     * @param smoothing        Weight of each new limit in the moving limit, between 0 and 1.
+     * @param longWindow       The number of windows the baseline latency averages over.
+     * @param window           How often the limit is recomputed.
+     * @param minWindowSamples Completed requests a window needs for the limit to be recomputed.
+     * @param meterRegistry    Registry receiving the concurrency.limit and concurrency.inflight gauges.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double rttTolerance,
+            double smoothing,
+            int longWindow,
+            Duration window,
+            int minWindowSamples,
+            MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.longRttWeight = 2.0 / (longWindow + 1);
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.windowEndNanos = new AtomicLong(System.nanoTime() + windowNanos);
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inflight, AtomicInteger::get)
+                .description("Requests in flight under the adaptive limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.rtt", this, limiter -> limiter.shortRttNanos / 1_000_000.0)
+                .description("Mean request latency of the last window, in milliseconds")
+                .tag("window", "short")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.rtt", this, limiter -> limiter.longRttNanos / 1_000_000.0)
+                .description("Baseline request latency, in milliseconds")
+                .tag("window", "long")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The current limit.
+     */
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Takes a slot for a request.
+     *
+     * @return Whether the request may proceed; if so, it must call {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        int current = inflight.incrementAndGet();
+        if (current > (int) limit) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        maxInflight.accumulateAndGet(current, Math::max);
+        return true;
+    }
+
+    /**
+     * Gives back the slot of a completed request and records its latency.
+     *
+     * @param startedAtNanos When the request acquired its slot, from System.nanoTime().
+     */
+    public void release(long startedAtNanos) {
+        inflight.decrementAndGet();
+        long now = System.nanoTime();
+        windowRttNanos.add(now - startedAtNanos);
+        windowSamples.increment();
+
+        long windowEnd = windowEndNanos.get();
+        if (now - windowEnd >= 0 && windowEndNanos.compareAndSet(windowEnd, now + windowNanos)) {
+            update();
+        }
+    }
+
+    private void update() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttNanos.sumThenReset();
+        int peakInflight = maxInflight.getAndSet(inflight.get());
+        if (samples < minWindowSamples) {
+            return;
+        }
+
+        double shortRtt = (double) rttSum / samples;
+        double longRtt = longRttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * longRttWeight;
+            if (longRtt / shortRtt > 2) {
+                // Latency has recovered well below the baseline: let the baseline follow quickly.
+                longRtt *= 0.95;
+            }
+        }
+        shortRttNanos = shortRtt;
+        longRttNanos = longRtt;
+
+        double current = limit;
+        if (peakInflight < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+}
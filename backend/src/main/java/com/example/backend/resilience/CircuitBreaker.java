@@ -0,0 +1,188 @@
+package com.example.backend.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: calls pass and their outcomes fill a ring buffer of the last windowSize calls. Once the
+ * buffer holds minimumCalls outcomes and the failure or slow call rate reaches its threshold,
+ * the circuit opens.
+ *
+ * OPEN: calls are rejected without reaching the service. After openDuration the next call moves
+ * the circuit to HALF_OPEN.
+ *
+ * HALF_OPEN: halfOpenCalls trial calls pass, the rest are rejected. The first failed or slow
+ * trial reopens the circuit; when all trials succeed it closes with an empty window.
+ *
+ * Permission checks in the CLOSED state take no lock; recording an outcome locks the breaker.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        /**
+         * @return The value reported by the resilience.circuit.state gauge.
+         */
+        int code() {
+            return code;
+        }
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final CircuitBreakerPolicy policy;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final Consumer<State> onTransition;
+
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private int trialsSucceeded;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntilNanos;
+    private final AtomicInteger trialPermits = new AtomicInteger();
+
+    /**
+     * @param policy         The thresholds.
+     * @param slowCallNanos  Calls taking at least this long count as slow.
+     * @param onTransition   Called with the new state, under the breaker's lock, on every change.
+     */
+    CircuitBreaker(CircuitBreakerPolicy policy, long slowCallNanos, Consumer<State> onTransition) {
+        this.policy = policy;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = policy.openDuration().toNanos();
+        this.onTransition = onTransition;
+        this.outcomes = new byte[Math.max(1, policy.windowSize())];
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * Asks to make a call. A granted call must be followed by {@link #onResult} or, if it is not
+     * made after all, {@link #release()}.
+     *
+     * @return Whether the call may go ahead.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            State current = state;
+            if (current == State.CLOSED) {
+                return true;
+            }
+            if (current == State.OPEN) {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    return false;
+                }
+                halfOpen();
+                continue;
+            }
+            return trialPermits.getAndUpdate(permits -> permits > 0 ? permits - 1 : 0) > 0;
+        }
+    }
+
+    /**
+     * Returns a permission that was granted but not used.
+     */
+    void release() {
+        if (state == State.HALF_OPEN) {
+            trialPermits.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records the outcome of a granted call.
+     *
+     * @param durationNanos How long the call took.
+     * @param failed        Whether the call failed in a way that says the service is unhealthy.
+     */
+    synchronized void onResult(long durationNanos, boolean failed) {
+        byte outcome = failed ? FAILURE : durationNanos >= slowCallNanos ? SLOW : SUCCESS;
+        switch (state) {
+            case CLOSED -> {
+                record(outcome);
+                if (recorded >= policy.minimumCalls()
+                        && (failures * 100.0 >= policy.failureRateThreshold() * recorded
+                        || slowCalls * 100.0 >= policy.slowCallRateThreshold() * recorded)) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (outcome != SUCCESS) {
+                    open();
+                } else if (++trialsSucceeded >= policy.halfOpenCalls()) {
+                    transition(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // A call granted before the circuit opened; its outcome no longer matters.
+            }
+        }
+    }
+
+    /**
+     * @return Whole seconds, at least 1, until an open circuit lets trial calls through.
+     */
+    long retryAfterSeconds() {
+        long remainingNanos = openUntilNanos - System.nanoTime();
+        return Math.max(1, (remainingNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private void record(byte outcome) {
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[next];
+            if (evicted == FAILURE) {
+                failures--;
+            } else if (evicted == SLOW) {
+                slowCalls--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        if (outcome == FAILURE) {
+            failures++;
+        } else if (outcome == SLOW) {
+            slowCalls++;
+        }
+    }
+
+    private synchronized void halfOpen() {
+        if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            trialsSucceeded = 0;
+            trialPermits.set(policy.halfOpenCalls());
+            transition(State.HALF_OPEN);
+        }
+    }
+
+    private void open() {
+        openUntilNanos = System.nanoTime() + openNanos;
+        transition(State.OPEN);
+    }
+
+    private void transition(State target) {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        state = target;
+        onTransition.accept(target);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.resilience;
+
+import java.time.Duration;
+
+/**
+ * The circuit breaker settings shared by all downstream services.
+ *
+ * @param failureRateThreshold  Percentage of failed calls in the window that opens the circuit.
+ * @param slowCallRateThreshold Percentage of slow calls in the window that opens the circuit.
+ * @param windowSize            The number of most recent calls the rates are computed over.
+ * @param minimumCalls          Calls the window needs before the rates are evaluated.
+ * @param openDuration          How long an open circuit rejects calls before letting trial calls through.
+ * @param halfOpenCalls         The trial calls that must all succeed, fast, for the circuit to close.
+ */
+public record CircuitBreakerPolicy(
+        double failureRateThreshold,
+        double slowCallRateThreshold,
+        int windowSize,
+        int minimumCalls,
+        Duration openDuration,
+        int halfOpenCalls) {
+}
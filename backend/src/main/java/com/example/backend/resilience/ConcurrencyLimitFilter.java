@@ -0,0 +1,121 @@
+package com.example.backend.resilience;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter}. Runs right after the
+ * TraceIdFilter, before authentication, so a rejected request costs next to nothing.
+ *
+ * Requests over the limit are rejected with a 503 and Retry-After written by the
+ * GlobalExceptionHandler, and counted as "concurrency.rejected". The push endpoints are not
+ * limited: their connections stay open for minutes and would hold slots and skew the latency.
+ *
+ * A request that goes asynchronous, such as a /graphql query answered by a Mono, keeps its slot
+ * until the async processing completes, errors or times out, not just until the container
+ * thread returns.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Counter rejected;
+
+    /**
+     * Creates the filter.
+     *
+     * @param limiter           The limiter.
+     * @param exceptionResolver Resolves the ServiceUnavailableException through the exception handlers.
+     * @param meterRegistry     Registry receiving the concurrency.rejected counter.
+     */
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+            HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.exceptionResolver = exceptionResolver;
+        this.rejected = Counter.builder("concurrency.rejected")
+                .description("Requests rejected by the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(SecurityConstants.FEED_STREAM_ENDPOINT)
+                || path.equals(SecurityConstants.GRAPHQL_WS_ENDPOINT);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            exceptionResolver.resolveException(request, response, null,
+                    new ServiceUnavailableException("Server is busy, please retry later", 1));
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(startedAt));
+            } else {
+                limiter.release(startedAt);
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of an async request once, whichever way it ends.
+     */
+    private final class ReleaseListener implements AsyncListener {
+
+        private final long startedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseListener(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing is restarted after a dispatch.
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.backend.resilience;
+
+import java.util.Locale;
+
+/**
+ * The downstream services the application calls, each isolated by its own bulkhead and circuit
+ * breaker in {@link DependencyGuard}.
+ */
+public enum Dependency {
+
+    MONGO,
+    REDIS,
+    SMTP,
+    CLOUDINARY;
+
+    /**
+     * @return The name used in configuration keys, metric tags and the faults endpoint.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param key A name as returned by {@link #key()}, in any case.
+     * @return The dependency.
+     * @throws IllegalArgumentException if no dependency has that name.
+     */
+    public static Dependency fromKey(String key) {
+        return valueOf(key.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.backend.resilience;
+
+import com.example.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.SendFailedException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+
+/**
+ * Isolates the calls to each downstream service, so that one slow or failing service cannot tie
+ * up the threads and connections every other request needs.
+ *
+ * Each {@link Dependency} gets:
+ * <ul>
+ *     <li>a bulkhead, a semaphore capping the calls in flight. A call waits up to maxWait for a
+ *     slot and is then rejected, instead of queueing behind a service that has stopped
+ *     answering;</li>
+ *     <li>a {@link CircuitBreaker}, which rejects calls outright while the service fails or is
+ *     slow, and probes it with a few trial calls once openDuration has passed.</li>
+ * </ul>
+ *
+ * Rejected calls throw a {@link ServiceUnavailableException}, a 503 with Retry-After when it
+ * reaches the GlobalExceptionHandler. Only failures that say something about the service count
+ * against the breaker: for MongoDB and Redis, lost connections and timeouts, not duplicate keys
+ * or bad queries; for SMTP, anything but rejected recipients.
+ *
+ * Metrics, tagged with the dependency:
+ * <ul>
+ *     <li>resilience.calls: timer of the calls made, tagged outcome=success or failure;</li>
+ *     <li>resilience.rejected: calls rejected, tagged reason=circuit_open or bulkhead_full;</li>
+ *     <li>resilience.bulkhead.available: free bulkhead slots;</li>
+ *     <li>resilience.circuit.state: 0 closed, 1 open, 2 half open.</li>
+ * </ul>
+ */
+public class DependencyGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyGuard.class);
+
+    /**
+     * A call to a downstream service.
+     *
+     * @param <T> The result type.
+     * @param <E> The checked exception the call throws.
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Throwable> {
+        T call() throws E;
+    }
+
+    private final Map<Dependency, Guard> guards = new EnumMap<>(Dependency.class);
+    private final FaultInjector faultInjector;
+
+    /**
+     * Creates the guard.
+     *
+     * @param policies       The bulkhead settings of every dependency.
+     * @param breakerPolicy  The circuit breaker settings, shared by all dependencies.
+     * @param faultInjector  Consulted before every call.
+     * @param meterRegistry  Registry receiving the resilience metrics.
+     */
+    public DependencyGuard(Map<Dependency, DependencyPolicy> policies,
+            CircuitBreakerPolicy breakerPolicy,
+            FaultInjector faultInjector,
+            MeterRegistry meterRegistry) {
+        this.faultInjector = faultInjector;
+        for (Dependency dependency : Dependency.values()) {
+            DependencyPolicy policy = policies.get(dependency);
+            if (policy == null) {
+                throw new IllegalArgumentException("No policy for dependency " + dependency.key());
+            }
+            guards.put(dependency, new Guard(dependency, policy, breakerPolicy, meterRegistry));
+        }
+    }
+
+    /**
+     * Makes a call to a downstream service through its circuit breaker and bulkhead.
+     *
+     * @param dependency The service called.
+     * @param call       The call.
+     * @param <T>        The result type.
+     * @param <E>        The checked exception the call throws.
+     * @return The call's result.
+     * @throws E                           as thrown by the call.
+     * @throws ServiceUnavailableException if the circuit is open or the bulkhead stays full.
+     */
+    public <T, E extends Throwable> T call(Dependency dependency, Call<T, E> call) throws E {
+        Guard guard = guards.get(dependency);
+        if (!guard.breaker.tryAcquire()) {
+            guard.circuitOpen.increment();
+            throw new ServiceUnavailableException(
+                    "Service temporarily unavailable, please retry later", guard.breaker.retryAfterSeconds());
+        }
+        if (!guard.tryEnter()) {
+            guard.breaker.release();
+            guard.bulkheadFull.increment();
+            throw new ServiceUnavailableException("Service overloaded, please retry later", 1);
+        }
+
+        long startedAt = System.nanoTime();
+        boolean failed = false;
+        try {
+            faultInjector.inject(dependency);
+            return call.call();
+        } catch (Throwable t) {
+            failed = isFailure(dependency, t);
+            throw t;
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            guard.bulkhead.release();
+            guard.breaker.onResult(elapsed, failed);
+            (failed ? guard.failure : guard.success).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Makes a call that throws no checked exception.
+     *
+     * @see #call(Dependency, Call)
+     */
+    public void run(Dependency dependency, Runnable call) {
+        call(dependency, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static boolean isFailure(Dependency dependency, Throwable t) {
+        return switch (dependency) {
+            case MONGO, REDIS -> t instanceof DataAccessResourceFailureException
+                    || t instanceof TransientDataAccessException;
+            case SMTP -> !(t instanceof SendFailedException);
+            case CLOUDINARY -> true;
+        };
+    }
+
+    private static final class Guard {
+
+        final Semaphore bulkhead;
+        final long maxWaitNanos;
+        final CircuitBreaker breaker;
+        final Counter circuitOpen;
+        final Counter bulkheadFull;
+        final Timer success;
+        final Timer failure;
+
+        Guard(Dependency dependency, DependencyPolicy policy, CircuitBreakerPolicy breakerPolicy,
+                MeterRegistry meterRegistry) {
+            String tag = dependency.key();
+            this.bulkhead = new Semaphore(policy.maxConcurrent());
+            this.maxWaitNanos = policy.maxWait().toNanos();
+            this.breaker = new CircuitBreaker(breakerPolicy, policy.slowCallDuration().toNanos(), state -> {
+                if (state == CircuitBreaker.State.OPEN) {
+                    log.warn("Circuit for {} opened, rejecting calls for {}", tag, breakerPolicy.openDuration());
+                } else {
+                    log.info("Circuit for {} is {}", tag, state);
+                }
+            });
+
+            this.circuitOpen = Counter.builder("resilience.rejected")
+                    .description("Calls to a downstream service rejected without being made")
+                    .tag("dependency", tag)
+                    .tag("reason", "circuit_open")
+                    .register(meterRegistry);
+            this.bulkheadFull = Counter.builder("resilience.rejected")
+                    .description("Calls to a downstream service rejected without being made")
+                    .tag("dependency", tag)
+                    .tag("reason", "bulkhead_full")
+                    .register(meterRegistry);
+            this.success = Timer.builder("resilience.calls")
+                    .description("Calls made to a downstream service")
+                    .tag("dependency", tag)
+                    .tag("outcome", "success")
+                    .register(meterRegistry);
+            this.failure = Timer.builder("resilience.calls")
+                    .description("Calls made to a downstream service")
+                    .tag("dependency", tag)
+                    .tag("outcome", "failure")
+                    .register(meterRegistry);
+            Gauge.builder("resilience.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                    .description("Free slots in the bulkhead of a downstream service")
+                    .tag("dependency", tag)
+                    .register(meterRegistry);
+            Gauge.builder("resilience.circuit.state", breaker, b -> b.state().code())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half open")
+                    .tag("dependency", tag)
+                    .register(meterRegistry);
+        }
+
+        boolean tryEnter() {
+            if (bulkhead.tryAcquire()) {
+                return true;
+            }
+            if (maxWaitNanos <= 0) {
+                return false;
+            }
+            try {
+                return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
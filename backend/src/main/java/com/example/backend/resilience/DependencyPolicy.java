@@ -0,0 +1,16 @@
+package com.example.backend.resilience;
+
+import java.time.Duration;
+
+/**
+ * The isolation settings of one downstream service.
+ *
+ * @param maxConcurrent    The bulkhead size: calls in flight at once.
+ * @param maxWait          How long a call waits for a free slot before it is rejected.
+ * @param slowCallDuration Calls taking at least this long count as slow for the circuit breaker.
+ */
+public record DependencyPolicy(
+        int maxConcurrent,
+        Duration maxWait,
+        Duration slowCallDuration) {
+}
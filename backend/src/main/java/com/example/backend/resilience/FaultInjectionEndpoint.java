@@ -0,0 +1,64 @@
+package com.example.backend.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint driving the {@link FaultInjector}, for local resilience drills. Only created
+ * when app.resilience.fault-injection.enabled is true.
+ *
+ * <pre>
+ * GET    /actuator/faults                                          the active faults
+ * POST   /actuator/faults/mongo  {"latencyMs": 500, "errorRate": 0.3}  set a fault
+ * DELETE /actuator/faults/mongo                                    clear one fault
+ * DELETE /actuator/faults                                          clear all faults
+ * </pre>
+ */
+@Component
+@Endpoint(id = "faults")
+@ConditionalOnProperty(name = "app.resilience.fault-injection.enabled", havingValue = "true")
+public class FaultInjectionEndpoint {
+
+    private final FaultInjector faultInjector;
+
+    public FaultInjectionEndpoint(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @ReadOperation
+    public Map<String, FaultInjector.Fault> faults() {
+        Map<String, FaultInjector.Fault> faults = new LinkedHashMap<>();
+        faultInjector.faults().forEach((dependency, fault) -> faults.put(dependency.key(), fault));
+        return faults;
+    }
+
+    @WriteOperation
+    public FaultInjector.Fault inject(@Selector String dependency,
+            @Nullable Long latencyMs,
+            @Nullable Double errorRate) {
+        FaultInjector.Fault fault = new FaultInjector.Fault(
+                Duration.ofMillis(latencyMs != null ? Math.max(0, latencyMs) : 0),
+                errorRate != null ? Math.clamp(errorRate, 0.0, 1.0) : 0.0);
+        faultInjector.set(Dependency.fromKey(dependency), fault);
+        return fault;
+    }
+
+    @DeleteOperation
+    public void clear(@Selector String dependency) {
+        faultInjector.clear(Dependency.fromKey(dependency));
+    }
+
+    @DeleteOperation
+    public void clearAll() {
+        faultInjector.clearAll();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.resilience;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds latency and errors to the calls {@link DependencyGuard} makes to a downstream service, to
+ * watch the bulkheads, circuit breakers and the concurrency limit react without a real outage.
+ *
+ * Faults are only set through the "faults" actuator endpoint, which exists when
+ * app.resilience.fault-injection.enabled is true; without any fault the check costs one map
+ * lookup.
+ */
+@Component
+public class FaultInjector {
+
+    private static final Logger log = LoggerFactory.getLogger(FaultInjector.class);
+
+    /**
+     * A fault applied to every call to one service.
+     *
+     * @param latency   Added before the call, while it holds its bulkhead slot.
+     * @param errorRate Fraction, between 0 and 1, of calls that fail with an
+     *                  {@link InjectedFaultException} after the latency instead of being made.
+     */
+    public record Fault(Duration latency, double errorRate) {
+    }
+
+    private final ConcurrentMap<Dependency, Fault> faults = new ConcurrentHashMap<>();
+
+    public void set(Dependency dependency, Fault fault) {
+        faults.put(dependency, fault);
+        log.warn("Injecting fault into {}: latency={}ms, errorRate={}",
+                dependency.key(), fault.latency().toMillis(), fault.errorRate());
+    }
+
+    public void clear(Dependency dependency) {
+        if (faults.remove(dependency) != null) {
+            log.warn("Cleared injected fault from {}", dependency.key());
+        }
+    }
+
+    public void clearAll() {
+        faults.keySet().forEach(this::clear);
+    }
+
+    public Map<Dependency, Fault> faults() {
+        return faults.isEmpty() ? Map.of() : new EnumMap<>(faults);
+    }
+
+    /**
+     * Applies the fault set for a service, if any.
+     *
+     * @param dependency The service about to be called.
+     * @throws InjectedFaultException if the call is chosen to fail.
+     */
+    void inject(Dependency dependency) {
+        Fault fault = faults.get(dependency);
+        if (fault == null) {
+            return;
+        }
+        if (!fault.latency().isZero()) {
+            try {
+                Thread.sleep(fault.latency());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InjectedFaultException(dependency);
+            }
+        }
+        if (fault.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < fault.errorRate()) {
+            throw new InjectedFaultException(dependency);
+        }
+    }
+}
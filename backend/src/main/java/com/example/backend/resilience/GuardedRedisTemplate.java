@@ -0,0 +1,25 @@
+package com.example.backend.resilience;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * RedisTemplate whose commands go through the Redis bulkhead and circuit breaker, like
+ * {@link GuardedStringRedisTemplate}.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+public class GuardedRedisTemplate<K, V> extends RedisTemplate<K, V> {
+
+    private final DependencyGuard dependencyGuard;
+
+    public GuardedRedisTemplate(DependencyGuard dependencyGuard) {
+        this.dependencyGuard = dependencyGuard;
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        return dependencyGuard.call(Dependency.REDIS, () -> super.execute(action, exposeConnection, pipeline));
+    }
+}
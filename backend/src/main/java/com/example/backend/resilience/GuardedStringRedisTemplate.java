@@ -0,0 +1,27 @@
+package com.example.backend.resilience;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * StringRedisTemplate whose commands go through the Redis bulkhead and circuit breaker.
+ *
+ * Every operation of the template, including those of the opsForX views, scripts and pipelines,
+ * ends in {@link #execute(RedisCallback, boolean, boolean)}, so guarding that method guards them
+ * all, once per round trip. A SessionCallback is guarded per command it runs.
+ */
+public class GuardedStringRedisTemplate extends StringRedisTemplate {
+
+    private final DependencyGuard dependencyGuard;
+
+    public GuardedStringRedisTemplate(RedisConnectionFactory connectionFactory, DependencyGuard dependencyGuard) {
+        super(connectionFactory);
+        this.dependencyGuard = dependencyGuard;
+    }
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        return dependencyGuard.call(Dependency.REDIS, () -> super.execute(action, exposeConnection, pipeline));
+    }
+}
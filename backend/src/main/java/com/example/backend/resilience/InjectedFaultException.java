@@ -0,0 +1,18 @@
+package com.example.backend.resilience;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Thrown by the {@link FaultInjector} in place of a call to a downstream service.
+ *
+ * It is a DataAccessResourceFailureException, the exception a lost MongoDB or Redis connection
+ * translates to, so callers take the same path as in a real outage.
+ */
+public class InjectedFaultException extends DataAccessResourceFailureException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InjectedFaultException(Dependency dependency) {
+        super("Injected fault: " + dependency.key());
+    }
+}
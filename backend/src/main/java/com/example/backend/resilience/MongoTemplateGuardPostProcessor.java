@@ -0,0 +1,76 @@
+package com.example.backend.resilience;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Routes the MongoTemplate's database operations through the MongoDB bulkhead and circuit
+ * breaker, by replacing the template bean with a class-based proxy. The repositories and every
+ * service that injects the template then share the same guard.
+ *
+ * Guarded are the methods of MongoOperations that reach the database (find, save, update,
+ * aggregate and so on). Getters, and methods returning a builder such as bulkOps, indexOps or
+ * the fluent query API, pass through unguarded; the operations those builders run later are not
+ * guarded either. Calls the template makes to itself stay inside the one guarded call.
+ */
+public class MongoTemplateGuardPostProcessor implements BeanPostProcessor {
+
+    private static final String SPRING_DATA_MONGODB_PACKAGE = "org.springframework.data.mongodb";
+
+    private final ObjectProvider<DependencyGuard> dependencyGuard;
+
+    /**
+     * @param dependencyGuard The guard, looked up on the first call so the post-processor does not
+     *                        initialize it early.
+     */
+    public MongoTemplateGuardPostProcessor(ObjectProvider<DependencyGuard> dependencyGuard) {
+        this.dependencyGuard = dependencyGuard;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof MongoTemplate)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new GuardInterceptor(dependencyGuard));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private static final class GuardInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<DependencyGuard> dependencyGuard;
+        private final Map<Method, Boolean> guardedMethods = new ConcurrentHashMap<>();
+
+        GuardInterceptor(ObjectProvider<DependencyGuard> dependencyGuard) {
+            this.dependencyGuard = dependencyGuard;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (!guardedMethods.computeIfAbsent(invocation.getMethod(), GuardInterceptor::isGuarded)) {
+                return invocation.proceed();
+            }
+            return dependencyGuard.getObject().call(Dependency.MONGO, invocation::proceed);
+        }
+
+        private static boolean isGuarded(Method method) {
+            if (method.getName().startsWith("get")
+                    || !ClassUtils.hasMethod(MongoOperations.class, method.getName(), method.getParameterTypes())) {
+                return false;
+            }
+            Class<?> returnType = method.getReturnType();
+            return !(returnType.isInterface() && returnType.getPackageName().startsWith(SPRING_DATA_MONGODB_PACKAGE));
+        }
+    }
+}
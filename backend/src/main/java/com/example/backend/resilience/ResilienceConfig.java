@@ -0,0 +1,179 @@
+package com.example.backend.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Isolates the downstream services and sheds excess load.
+ *
+ * <ul>
+ *     <li>The {@link DependencyGuard} puts a bulkhead and a circuit breaker in front of MongoDB,
+ *     Redis, SMTP and Cloudinary. The MongoTemplate and the Redis templates are guarded as a whole;
+ *     the mail outbox and media uploads guard their SMTP and Cloudinary calls themselves.</li>
+ *     <li>The {@link ConcurrencyLimitFilter} caps the requests in flight at an adaptive limit.</li>
+ * </ul>
+ *
+ * Both reject with a 503 and Retry-After. Bulkhead sizes are per node and should stay below the
+ * matching connection pool sizes, so that a full bulkhead rejects before the pool starts to queue.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Value("${app.resilience.mongo.max-concurrent:64}")
+    private int mongoMaxConcurrent;
+
+    @Value("${app.resilience.mongo.max-wait:100ms}")
+    private Duration mongoMaxWait;
+
+    @Value("${app.resilience.mongo.slow-call-duration:1s}")
+    private Duration mongoSlowCall;
+
+    @Value("${app.resilience.redis.max-concurrent:128}")
+    private int redisMaxConcurrent;
+
+    @Value("${app.resilience.redis.max-wait:20ms}")
+    private Duration redisMaxWait;
+
+    @Value("${app.resilience.redis.slow-call-duration:250ms}")
+    private Duration redisSlowCall;
+
+    @Value("${app.resilience.smtp.max-concurrent:4}")
+    private int smtpMaxConcurrent;
+
+    @Value("${app.resilience.smtp.max-wait:5s}")
+    private Duration smtpMaxWait;
+
+    @Value("${app.resilience.smtp.slow-call-duration:10s}")
+    private Duration smtpSlowCall;
+
+    @Value("${app.resilience.cloudinary.max-concurrent:8}")
+    private int cloudinaryMaxConcurrent;
+
+    @Value("${app.resilience.cloudinary.max-wait:1s}")
+    private Duration cloudinaryMaxWait;
+
+    @Value("${app.resilience.cloudinary.slow-call-duration:60s}")
+    private Duration cloudinarySlowCall;
+
+    @Value("${app.resilience.circuit-breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+
+    @Value("${app.resilience.circuit-breaker.slow-call-rate-threshold:80}")
+    private double slowCallRateThreshold;
+
+    @Value("${app.resilience.circuit-breaker.window-size:100}")
+    private int windowSize;
+
+    @Value("${app.resilience.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${app.resilience.circuit-breaker.open-duration:10s}")
+    private Duration openDuration;
+
+    @Value("${app.resilience.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${app.resilience.concurrency.enabled:true}")
+    private boolean concurrencyEnabled;
+
+    @Value("${app.resilience.concurrency.initial-limit:200}")
+    private int initialLimit;
+
+    @Value("${app.resilience.concurrency.min-limit:20}")
+    private int minLimit;
+
+    @Value("${app.resilience.concurrency.max-limit:2000}")
+    private int maxLimit;
+
+    @Value("${app.resilience.concurrency.rtt-tolerance:1.5}")
+    private double rttTolerance;
+
+    @Value("${app.resilience.concurrency.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.resilience.concurrency.long-window:100}")
+    private int longWindow;
+
+    @Value("${app.resilience.concurrency.window:1s}")
+    private Duration window;
+
+    @Value("${app.resilience.concurrency.min-window-samples:10}")
+    private int minWindowSamples;
+
+    @Bean
+    public DependencyGuard dependencyGuard(FaultInjector faultInjector, MeterRegistry meterRegistry) {
+        Map<Dependency, DependencyPolicy> policies = Map.of(
+                Dependency.MONGO, new DependencyPolicy(mongoMaxConcurrent, mongoMaxWait, mongoSlowCall),
+                Dependency.REDIS, new DependencyPolicy(redisMaxConcurrent, redisMaxWait, redisSlowCall),
+                Dependency.SMTP, new DependencyPolicy(smtpMaxConcurrent, smtpMaxWait, smtpSlowCall),
+                Dependency.CLOUDINARY, new DependencyPolicy(cloudinaryMaxConcurrent, cloudinaryMaxWait,
+                        cloudinarySlowCall));
+        CircuitBreakerPolicy breakerPolicy = new CircuitBreakerPolicy(failureRateThreshold, slowCallRateThreshold,
+                windowSize, minimumCalls, openDuration, halfOpenCalls);
+        return new DependencyGuard(policies, breakerPolicy, faultInjector, meterRegistry);
+    }
+
+    /**
+     * Guards the MongoTemplate, and with it the repositories. Static, as bean post-processors are
+     * created before the rest of the configuration.
+     *
+     * @param dependencyGuard The guard, resolved lazily.
+     * @return The post-processor.
+     */
+    @Bean
+    public static MongoTemplateGuardPostProcessor mongoTemplateGuardPostProcessor(
+            ObjectProvider<DependencyGuard> dependencyGuard) {
+        return new MongoTemplateGuardPostProcessor(dependencyGuard);
+    }
+
+    /**
+     * Replaces the auto-configured StringRedisTemplate with one whose commands are guarded.
+     *
+     * @param connectionFactory The Redis connection factory.
+     * @param dependencyGuard   The guard.
+     * @return The template.
+     */
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory,
+            DependencyGuard dependencyGuard) {
+        return new GuardedStringRedisTemplate(connectionFactory, dependencyGuard);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, rttTolerance, smoothing,
+                longWindow, window, minWindowSamples, meterRegistry);
+    }
+
+    /**
+     * Registers the concurrency limit filter right after the TraceIdFilter, ahead of the security
+     * filter chain.
+     *
+     * @param limiter           The limiter.
+     * @param exceptionResolver Resolves rejections through the GlobalExceptionHandler.
+     * @param meterRegistry     Registry receiving the rejection counter.
+     * @return The registration; disabled when app.resilience.concurrency.enabled is false.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            AdaptiveConcurrencyLimiter limiter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setEnabled(concurrencyEnabled);
+        return registration;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.backend.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder decorator that remembers tokens which have already passed signature and
+ * claim validation, so repeated requests with the same access token skip the signature check.
+ *
+ * Entries are keyed by the SHA-256 of the raw token (the cache never holds bearer credentials),
+ * the cache is bounded by size, and every entry expires no later than the token's own exp claim.
+ * Revocation is re-checked on every call, cached or not.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /**
+     * Name used for the cache metrics (cache.gets, cache.size, cache.evictions, ...).
+     */
+    public static final String CACHE_NAME = "jwt.decoder";
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationChecker revocationChecker;
+    private final Cache<String, Jwt> cache;
+
+    /**
+     * Creates a caching decoder around the given delegate.
+     *
+     * @param delegate          The decoder that performs the actual signature verification.
+     * @param maximumSize       The maximum number of verified tokens kept in memory.
+     * @param maximumTtl        Upper bound on how long a token stays cached, regardless of its exp claim.
+     * @param revocationChecker Consulted on every decode, including cache hits.
+     * @param meterRegistry     Registry receiving the hit/miss/eviction metrics.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate,
+            long maximumSize,
+            Duration maximumTtl,
+            TokenRevocationChecker revocationChecker,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.revocationChecker = revocationChecker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maximumTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            throw new BadJwtException("Token must not be null");
+        }
+
+        String key = cacheKey(token);
+        Jwt jwt = cache.get(key, k -> delegate.decode(token));
+
+        if (revocationChecker.isRevoked(jwt)) {
+            cache.invalidate(key);
+            throw new BadJwtException("Token has been revoked");
+        }
+        return jwt;
+    }
+
+    /**
+     * Drops a single token from the cache, e.g. right after it has been revoked.
+     *
+     * @param token The raw token value.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(cacheKey(token));
+    }
+
+    /**
+     * Drops every cached token, e.g. after a signing key has been withdrawn.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Drops every cached token once a key has left the ring, so tokens it signed stop validating.
+     *
+     * @param event The key ring change.
+     */
+    @EventListener
+    public void onKeyRingChanged(JwtKeyRingChangedEvent event) {
+        if (!event.removedKids().isEmpty()) {
+            invalidateAll();
+        }
+    }
+
+    private static String cacheKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return KEY_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not load SHA-256, the JRE is missing support.", e);
+        }
+    }
+
+    /**
+     * Expires each entry at the token's exp claim, capped by the configured maximum TTL.
+     */
+    private static final class TokenExpiry implements Expiry<String, Jwt> {
+
+        private final long maximumTtlNanos;
+
+        private TokenExpiry(Duration maximumTtl) {
+            this.maximumTtlNanos = maximumTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return maximumTtlNanos;
+            }
+            long remaining = Duration.between(Instant.now(), expiresAt).toNanos();
+            return Math.max(0, Math.min(remaining, maximumTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.security.jwt;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Set;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+/**
+ * Resolves the bearer token from the Authorization header, or from the access token cookie for
+ * GET requests to streaming endpoints.
+ *
+ * Browsers cannot set headers on a WebSocket handshake or an EventSource, so those endpoints
+ * accept the cookie instead. The fallback is limited to GETs on the given paths, which change no
+ * state; every other endpoint still requires the header, so cookies cannot be used for CSRF.
+ * A WebSocket is not subject to CORS, so its handshake must also be checked against the allowed
+ * origins (see WebSocketOriginPostProcessor) before it can be authenticated with the cookie.
+ */
+public class CookieBearerTokenResolver implements BearerTokenResolver {
+
+    private final BearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+    private final String cookieName;
+    private final Set<String> cookiePaths;
+
+    /**
+     * Creates the resolver.
+     *
+     * @param cookieName  The name of the access token cookie.
+     * @param cookiePaths The request paths, without the context path, accepting the cookie.
+     */
+    public CookieBearerTokenResolver(String cookieName, Set<String> cookiePaths) {
+        this.cookieName = cookieName;
+        this.cookiePaths = cookiePaths;
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String token = headerResolver.resolve(request);
+        if (token != null || !HttpMethod.GET.matches(request.getMethod())) {
+            return token;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!cookiePaths.contains(path)) {
+            return null;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName()) && !cookie.getValue().isBlank()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
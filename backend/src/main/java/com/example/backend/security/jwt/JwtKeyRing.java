@@ -0,0 +1,182 @@
+package com.example.backend.security.jwt;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds every key that tokens may be signed or verified with.
+ *
+ * One key is active and used for signing; all keys (active, upcoming and retired) are published
+ * and accepted for verification, looked up by their "kid". The whole ring is swapped atomically
+ * on reload, so readers always see a consistent set of keys without locking.
+ */
+public class JwtKeyRing {
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Creates a key ring.
+     *
+     * @param keys      The keys of the ring; at least one of them must be able to sign.
+     * @param activeKid The kid to sign with, or null to pick the greatest kid that has a private key.
+     */
+    public JwtKeyRing(Collection<JwtSigningKey> keys, String activeKid) {
+        this.snapshot = createSnapshot(keys, activeKid);
+    }
+
+    /**
+     * Atomically replaces the keys of the ring.
+     *
+     * @param keys      The new keys.
+     * @param activeKid The kid to sign with, or null to pick the greatest kid that has a private key.
+     * @return The kids that were removed by this replacement.
+     */
+    public Set<String> replace(Collection<JwtSigningKey> keys, String activeKid) {
+        Snapshot next = createSnapshot(keys, activeKid);
+        Snapshot previous = this.snapshot;
+        this.snapshot = next;
+
+        Set<String> removed = new HashSet<>(previous.byKid().keySet());
+        removed.removeAll(next.byKid().keySet());
+        return removed;
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return The active key.
+     */
+    public JwtSigningKey activeKey() {
+        return snapshot.active();
+    }
+
+    /**
+     * Looks up a key by its id.
+     *
+     * @param kid The key id from the JWS header.
+     * @return The key, or null if the ring does not contain it.
+     */
+    public JwtSigningKey findByKid(String kid) {
+        return kid != null ? snapshot.byKid().get(kid) : null;
+    }
+
+    /**
+     * Returns every key of the given algorithm; only needed for tokens without a "kid" header.
+     *
+     * @param algorithm The JWS algorithm.
+     * @return The matching keys, possibly empty.
+     */
+    public List<JwtSigningKey> findByAlgorithm(JWSAlgorithm algorithm) {
+        List<JwtSigningKey> matches = new ArrayList<>(1);
+        for (JwtSigningKey key : snapshot.byKid().values()) {
+            if (key.algorithm().equals(algorithm)) {
+                matches.add(key);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the ring entry owning the given JCA public key instance.
+     *
+     * @param verificationKey A key previously returned from {@link JwtSigningKey#verificationKey()}.
+     * @return The entry, or null if the key is no longer part of the ring.
+     */
+    public JwtSigningKey findByVerificationKey(Key verificationKey) {
+        return snapshot.byVerificationKey().get(verificationKey);
+    }
+
+    /**
+     * Returns all keys of the ring.
+     *
+     * @return An unmodifiable view of the keys.
+     */
+    public Collection<JwtSigningKey> keys() {
+        return snapshot.byKid().values();
+    }
+
+    /**
+     * Returns the public keys of the ring as a JWK set, ready to be published.
+     *
+     * @return The public JWK set.
+     */
+    public JWKSet publicJwkSet() {
+        return snapshot.publicJwkSet();
+    }
+
+    /**
+     * Returns a number that changes every time the ring is replaced.
+     *
+     * @return The ring version.
+     */
+    public long version() {
+        return snapshot.version();
+    }
+
+    private Snapshot createSnapshot(Collection<JwtSigningKey> keys, String activeKid) {
+        Map<String, JwtSigningKey> byKid = new LinkedHashMap<>();
+        Map<Key, JwtSigningKey> byVerificationKey = new IdentityHashMap<>();
+        List<JWK> publicJwks = new ArrayList<>(keys.size());
+
+        for (JwtSigningKey key : keys) {
+            if (byKid.putIfAbsent(key.kid(), key) != null) {
+                throw new IllegalArgumentException("Duplicate JWT key id: " + key.kid());
+            }
+            byVerificationKey.put(key.verificationKey(), key);
+            publicJwks.add(key.publicJwk());
+        }
+
+        JwtSigningKey active = resolveActive(byKid, activeKid);
+        return new Snapshot(
+                Collections.unmodifiableMap(byKid),
+                byVerificationKey,
+                active,
+                new JWKSet(publicJwks),
+                versions.incrementAndGet());
+    }
+
+    private static JwtSigningKey resolveActive(Map<String, JwtSigningKey> byKid, String activeKid) {
+        if (activeKid != null && !activeKid.isBlank()) {
+            JwtSigningKey active = byKid.get(activeKid);
+            if (active == null || !active.canSign()) {
+                throw new IllegalArgumentException("Active JWT key '" + activeKid + "' is missing or has no private key.");
+            }
+            return active;
+        }
+
+        JwtSigningKey active = null;
+        for (JwtSigningKey key : byKid.values()) {
+            if (key.canSign() && (active == null || key.kid().compareTo(active.kid()) > 0)) {
+                active = key;
+            }
+        }
+        if (active == null) {
+            throw new IllegalArgumentException("The JWT key ring does not contain any private key to sign with.");
+        }
+        return active;
+    }
+
+    /**
+     * Immutable state of the ring; replaced as a whole on reload.
+     */
+    private record Snapshot(
+            Map<String, JwtSigningKey> byKid,
+            Map<Key, JwtSigningKey> byVerificationKey,
+            JwtSigningKey active,
+            JWKSet publicJwkSet,
+            long version) {
+    }
+}
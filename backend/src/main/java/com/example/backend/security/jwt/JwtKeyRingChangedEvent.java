@@ -0,0 +1,12 @@
+package com.example.backend.security.jwt;
+
+import java.util.Set;
+
+/**
+ * Published after the {@link JwtKeyRing} has been reloaded.
+ *
+ * @param keyRing     The key ring, already holding the new keys.
+ * @param removedKids The key ids that are no longer part of the ring.
+ */
+public record JwtKeyRingChangedEvent(JwtKeyRing keyRing, Set<String> removedKids) {
+}
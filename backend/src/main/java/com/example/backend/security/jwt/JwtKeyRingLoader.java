@@ -0,0 +1,94 @@
+package com.example.backend.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the JWT key ring from a directory.
+ *
+ * Every key consists of a public key file named {@code <kid>.pub.pem} (X.509 SubjectPublicKeyInfo)
+ * and, for keys that may sign, a private key file {@code <kid>.key.pem} (PKCS#8). Dropping the
+ * private key file of an old key retires it: tokens it signed still verify, but no new ones are
+ * issued with it. Keys can be created with OpenSSL, for example:
+ *
+ * <pre>
+ * openssl genpkey -algorithm ed25519 -out 2026-10-ed.key.pem
+ * openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256 -out 2026-10-es.key.pem
+ * openssl pkey -in 2026-10-ed.key.pem -pubout -out 2026-10-ed.pub.pem
+ * </pre>
+ */
+public class JwtKeyRingLoader {
+
+    /** Suffix of public key files; the rest of the file name is the kid. */
+    public static final String PUBLIC_KEY_SUFFIX = ".pub.pem";
+
+    /** Suffix of private key files. */
+    public static final String PRIVATE_KEY_SUFFIX = ".key.pem";
+
+    private final Path directory;
+
+    /**
+     * Creates a loader for the given directory.
+     *
+     * @param directory The directory holding the key files.
+     */
+    public JwtKeyRingLoader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the directory keys are loaded from.
+     *
+     * @return The key directory.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Reads every key from the directory.
+     *
+     * @return The keys, in no particular order.
+     * @throws IOException if the directory or a key file cannot be read, or a key is invalid.
+     */
+    public List<JwtSigningKey> load() throws IOException {
+        List<JwtSigningKey> keys = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + PUBLIC_KEY_SUFFIX)) {
+            for (Path publicKeyFile : files) {
+                String fileName = publicKeyFile.getFileName().toString();
+                String kid = fileName.substring(0, fileName.length() - PUBLIC_KEY_SUFFIX.length());
+                keys.add(loadKey(kid, publicKeyFile, directory.resolve(kid + PRIVATE_KEY_SUFFIX)));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            throw new IOException("No '*" + PUBLIC_KEY_SUFFIX + "' JWT keys found in " + directory);
+        }
+        return keys;
+    }
+
+    private JwtSigningKey loadKey(String kid, Path publicKeyFile, Path privateKeyFile) throws IOException {
+        try {
+            PublicKey publicKey = PemKeyReader.readPublicKey(Files.readString(publicKeyFile, StandardCharsets.UTF_8));
+            PrivateKey privateKey = null;
+            if (Files.isReadable(privateKeyFile)) {
+                privateKey = PemKeyReader.readPrivateKey(
+                        Files.readString(privateKeyFile, StandardCharsets.UTF_8),
+                        publicKey.getAlgorithm());
+            }
+            return JwtSigningKey.of(kid, publicKey, privateKey);
+        } catch (InvalidKeySpecException | JOSEException e) {
+            throw new IOException("Invalid JWT key '" + kid + "' in " + directory, e);
+        }
+    }
+}
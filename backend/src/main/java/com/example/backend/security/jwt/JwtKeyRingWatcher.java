@@ -0,0 +1,133 @@
+package com.example.backend.security.jwt;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Watches the key directory and reloads the {@link JwtKeyRing} when key files change.
+ *
+ * Changes are debounced so that a rotation touching several files results in a single reload.
+ * If the new set of keys is invalid, the error is logged and the previous ring stays in use.
+ */
+public class JwtKeyRingWatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRingWatcher.class);
+
+    private static final long DEBOUNCE_MS = 500;
+
+    private final JwtKeyRing keyRing;
+    private final JwtKeyRingLoader loader;
+    private final String activeKid;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile WatchService watchService;
+    private volatile Thread thread;
+
+    /**
+     * Creates a watcher.
+     *
+     * @param keyRing        The ring to update.
+     * @param loader         The loader reading the key directory.
+     * @param activeKid      The configured active kid, or null to pick the greatest signing kid.
+     * @param eventPublisher Publisher for {@link JwtKeyRingChangedEvent}s.
+     */
+    public JwtKeyRingWatcher(JwtKeyRing keyRing,
+            JwtKeyRingLoader loader,
+            String activeKid,
+            ApplicationEventPublisher eventPublisher) {
+        this.keyRing = keyRing;
+        this.loader = loader;
+        this.activeKid = activeKid;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void start() {
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            loader.directory().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            this.watchService = service;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not watch JWT key directory " + loader.directory(), e);
+        }
+
+        Thread watcher = new Thread(this::watch, "jwt-key-ring-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        this.thread = watcher;
+    }
+
+    @Override
+    public void stop() {
+        WatchService service = this.watchService;
+        this.watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.debug("Failed to close JWT key directory watcher", e);
+            }
+        }
+        this.thread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Forces a reload of the key directory.
+     *
+     * @return true if the ring was replaced, false if the new keys were rejected.
+     */
+    public boolean reload() {
+        try {
+            List<JwtSigningKey> keys = loader.load();
+            Set<String> removed = keyRing.replace(keys, activeKid);
+            log.info("Reloaded JWT key ring from {}: {} keys, active kid '{}'",
+                    loader.directory(), keys.size(), keyRing.activeKey().kid());
+            eventPublisher.publishEvent(new JwtKeyRingChangedEvent(keyRing, removed));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Rejected JWT key ring update from {}, keeping the current keys", loader.directory(), e);
+            return false;
+        }
+    }
+
+    private void watch() {
+        WatchService service = this.watchService;
+        try {
+            while (service != null && service == this.watchService) {
+                WatchKey key = service.take();
+                // Let the rest of a rotation land, then drop whatever else queued up meanwhile.
+                TimeUnit.MILLISECONDS.sleep(DEBOUNCE_MS);
+                key.pollEvents();
+                key.reset();
+                for (WatchKey pending = service.poll(); pending != null; pending = service.poll()) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped.
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.Ed25519Signer;
+import com.nimbusds.jose.crypto.Ed25519Verifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+
+/**
+ * One entry of the {@link JwtKeyRing}: a key id, its signing algorithm, the public JWK that is
+ * published, and a ready-to-use verifier (plus a signer when the private key is available).
+ *
+ * Signers and verifiers are created once per key and are thread-safe, so the hot path never
+ * rebuilds them.
+ *
+ * @param kid             The key id written to and matched against the JWS "kid" header.
+ * @param algorithm       The JWS algorithm this key signs with.
+ * @param publicJwk       The public part of the key, as published on the JWKS endpoint.
+ * @param verificationKey The JCA public key.
+ * @param verifier        Verifier bound to this key.
+ * @param signer          Signer bound to this key, or null for verification-only (retired) keys.
+ */
+public record JwtSigningKey(
+        String kid,
+        JWSAlgorithm algorithm,
+        JWK publicJwk,
+        PublicKey verificationKey,
+        JWSVerifier verifier,
+        JWSSigner signer) {
+
+    /** Length of a raw Ed25519 key, which is also the trailing part of its X.509/PKCS#8 encodings. */
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    /**
+     * Returns whether tokens can be signed with this key.
+     *
+     * @return true if the private key was loaded.
+     */
+    public boolean canSign() {
+        return signer != null;
+    }
+
+    /**
+     * Builds a key ring entry from a JCA key pair.
+     *
+     * RSA keys sign with RS256, EC keys with ES256/ES384/ES512 depending on the curve, and Ed25519
+     * keys with EdDSA.
+     *
+     * @param kid        The key id.
+     * @param publicKey  The public key.
+     * @param privateKey The matching private key, or null for a verification-only entry.
+     * @return The key ring entry.
+     * @throws JOSEException if the key type or curve is not supported.
+     */
+    public static JwtSigningKey of(String kid, PublicKey publicKey, PrivateKey privateKey) throws JOSEException {
+        if (publicKey instanceof RSAPublicKey rsaPublicKey) {
+            JWK jwk = new RSAKey.Builder(rsaPublicKey)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .build();
+            JWSSigner signer = privateKey != null ? new RSASSASigner((RSAPrivateKey) privateKey) : null;
+            return new JwtSigningKey(kid, JWSAlgorithm.RS256, jwk, publicKey,
+                    new RSASSAVerifier(rsaPublicKey), signer);
+        }
+
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            Curve curve = Curve.forECParameterSpec(ecPublicKey.getParams());
+            JWSAlgorithm algorithm = ecAlgorithm(curve);
+            JWK jwk = new ECKey.Builder(curve, ecPublicKey)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .build();
+            JWSSigner signer = privateKey != null ? new ECDSASigner((ECPrivateKey) privateKey) : null;
+            return new JwtSigningKey(kid, algorithm, jwk, publicKey, new ECDSAVerifier(ecPublicKey), signer);
+        }
+
+        if (publicKey instanceof EdECPublicKey edPublicKey && "Ed25519".equals(edPublicKey.getParams().getName())) {
+            Base64URL x = Base64URL.encode(trailingKeyBytes(publicKey.getEncoded()));
+            OctetKeyPair jwk = new OctetKeyPair.Builder(Curve.Ed25519, x)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.EdDSA)
+                    .build();
+            JWSSigner signer = null;
+            if (privateKey != null) {
+                OctetKeyPair privateJwk = new OctetKeyPair.Builder(jwk)
+                        .d(Base64URL.encode(trailingKeyBytes(privateKey.getEncoded())))
+                        .build();
+                signer = new Ed25519Signer(privateJwk);
+            }
+            return new JwtSigningKey(kid, JWSAlgorithm.EdDSA, jwk, publicKey, new Ed25519Verifier(jwk), signer);
+        }
+
+        throw new JOSEException("Unsupported JWT key type for kid '" + kid + "': " + publicKey.getAlgorithm());
+    }
+
+    private static JWSAlgorithm ecAlgorithm(Curve curve) throws JOSEException {
+        if (Curve.P_256.equals(curve)) {
+            return JWSAlgorithm.ES256;
+        }
+        if (Curve.P_384.equals(curve)) {
+            return JWSAlgorithm.ES384;
+        }
+        if (Curve.P_521.equals(curve)) {
+            return JWSAlgorithm.ES512;
+        }
+        throw new JOSEException("Unsupported EC curve: " + curve);
+    }
+
+    /**
+     * Extracts the raw 32-byte Ed25519 key from its X.509 (44 bytes) or PKCS#8 v1 (48 bytes) encoding.
+     */
+    private static byte[] trailingKeyBytes(byte[] encoded) throws JOSEException {
+        if (encoded.length != 44 && encoded.length != 48) {
+            throw new JOSEException("Unexpected Ed25519 key encoding of " + encoded.length + " bytes.");
+        }
+        return Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Selects the verification key of a JWS straight from its "kid" header and hands out the
+ * verifier cached on the matching {@link JwtSigningKey}.
+ *
+ * A token therefore costs one map lookup and one signature check, no matter how many keys the
+ * ring publishes. Only tokens without a "kid" (issued before the key ring existed) fall back to
+ * the keys of the header's algorithm.
+ */
+public class KeyRingJwsVerification implements JWSKeySelector<SecurityContext>, JWSVerifierFactory {
+
+    private final JwtKeyRing keyRing;
+    private final DefaultJWSVerifierFactory fallbackFactory = new DefaultJWSVerifierFactory();
+
+    /**
+     * Creates the key selector and verifier factory for the given ring.
+     *
+     * @param keyRing The key ring tokens are verified against.
+     */
+    public KeyRingJwsVerification(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Creates a JwtDecoder that verifies tokens against the given key ring.
+     *
+     * Claim validation (exp, nbf) is left to Spring Security's default validators, exactly as with
+     * {@link NimbusJwtDecoder#withPublicKey}.
+     *
+     * @param keyRing The key ring tokens are verified against.
+     * @return The decoder.
+     */
+    public static NimbusJwtDecoder decoder(JwtKeyRing keyRing) {
+        KeyRingJwsVerification verification = new KeyRingJwsVerification(keyRing);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(verification);
+        processor.setJWSVerifierFactory(verification);
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    @Override
+    public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+        String kid = header.getKeyID();
+        if (kid != null) {
+            JwtSigningKey key = keyRing.findByKid(kid);
+            if (key == null || !key.algorithm().equals(header.getAlgorithm())) {
+                return List.of();
+            }
+            return List.of(key.verificationKey());
+        }
+
+        List<JwtSigningKey> candidates = keyRing.findByAlgorithm(header.getAlgorithm());
+        List<Key> keys = new ArrayList<>(candidates.size());
+        for (JwtSigningKey candidate : candidates) {
+            keys.add(candidate.verificationKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+        JwtSigningKey signingKey = keyRing.findByVerificationKey(key);
+        if (signingKey != null) {
+            return signingKey.verifier();
+        }
+        // The ring was swapped between key selection and verification.
+        return fallbackFactory.createJWSVerifier(header, key);
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        Set<JWSAlgorithm> algorithms = new LinkedHashSet<>(fallbackFactory.supportedJWSAlgorithms());
+        algorithms.add(JWSAlgorithm.EdDSA);
+        return algorithms;
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return fallbackFactory.getJCAContext();
+    }
+}
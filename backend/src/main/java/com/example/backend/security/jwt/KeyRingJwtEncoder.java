@@ -0,0 +1,106 @@
+package com.example.backend.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+
+/**
+ * JwtEncoder that signs with the active key of the {@link JwtKeyRing}.
+ *
+ * Unlike NimbusJwtEncoder it supports EdDSA and never searches the key source: the signer is
+ * cached on the key ring entry. Unless the caller names a kid, the active key's algorithm and kid
+ * are written to the header; other header fields (e.g. "typ") are preserved.
+ */
+public class KeyRingJwtEncoder implements JwtEncoder {
+
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Creates an encoder signing with the given ring.
+     *
+     * @param keyRing The key ring.
+     */
+    public KeyRingJwtEncoder(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        JwsHeader requested = parameters.getJwsHeader();
+        JwtClaimsSet claims = parameters.getClaims();
+
+        String requestedKid = requested != null ? requested.getKeyId() : null;
+        JwtSigningKey key = requestedKid != null ? keyRing.findByKid(requestedKid) : keyRing.activeKey();
+        if (key == null || !key.canSign()) {
+            throw new JwtEncodingException("No JWT signing key available for kid '" + requestedKid + "'");
+        }
+
+        Map<String, Object> headers = new LinkedHashMap<>();
+        if (requested != null) {
+            headers.putAll(requested.getHeaders());
+        }
+        headers.put(JoseHeaderNames.ALG, jwsAlgorithm(key));
+        headers.put(JoseHeaderNames.KID, key.kid());
+
+        try {
+            SignedJWT jwt = new SignedJWT(toJwsHeader(key, headers), toClaimsSet(claims));
+            jwt.sign(key.signer());
+            return new Jwt(jwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(), headers, claims.getClaims());
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign the JWT with kid '" + key.kid() + "'", e);
+        }
+    }
+
+    private static JwsAlgorithm jwsAlgorithm(JwtSigningKey key) {
+        String name = key.algorithm().getName();
+        SignatureAlgorithm algorithm = SignatureAlgorithm.from(name);
+        // Spring Security has no constant for EdDSA.
+        return algorithm != null ? algorithm : () -> name;
+    }
+
+    private static JWSHeader toJwsHeader(JwtSigningKey key, Map<String, Object> headers) {
+        JWSHeader.Builder builder = new JWSHeader.Builder(key.algorithm()).keyID(key.kid());
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            String name = header.getKey();
+            Object value = header.getValue();
+            if (JoseHeaderNames.TYP.equals(name)) {
+                builder.type(new JOSEObjectType(value.toString()));
+            } else if (JoseHeaderNames.CTY.equals(name)) {
+                builder.contentType(value.toString());
+            } else if (!JWSHeader.getRegisteredParameterNames().contains(name)) {
+                builder.customParam(name, value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static JWTClaimsSet toClaimsSet(JwtClaimsSet claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : claims.getClaims().entrySet()) {
+            Object value = claim.getValue();
+            if (value instanceof Instant instant) {
+                value = Date.from(instant);
+            } else if (value instanceof URL url) {
+                value = url.toExternalForm();
+            }
+            builder.claim(claim.getKey(), value);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.security.jwt;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Minimal reader for PEM-encoded PKCS#8 private keys and X.509 SubjectPublicKeyInfo public keys.
+ *
+ * Supports RSA, EC and Ed25519 keys, which covers everything the JWT key ring can sign with.
+ */
+public final class PemKeyReader {
+
+    private static final String[] PUBLIC_KEY_ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
+    private PemKeyReader() {
+        // This class should not be instantiated.
+    }
+
+    /**
+     * Parses a "PUBLIC KEY" PEM block, detecting the key algorithm.
+     *
+     * @param pem The PEM text.
+     * @return The public key.
+     * @throws InvalidKeySpecException if the block is not an RSA, EC or Ed25519 public key.
+     */
+    public static PublicKey readPublicKey(String pem) throws InvalidKeySpecException {
+        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decode(pem, "PUBLIC KEY"));
+        // Key files are only read at startup or on rotation, so probing each factory is cheap enough.
+        for (String algorithm : PUBLIC_KEY_ALGORITHMS) {
+            try {
+                return keyFactory(algorithm).generatePublic(keySpec);
+            } catch (InvalidKeySpecException e) {
+                // Not this algorithm, try the next one.
+            }
+        }
+        throw new InvalidKeySpecException("Unsupported public key, expected an RSA, EC or Ed25519 key.");
+    }
+
+    /**
+     * Parses a "PRIVATE KEY" (PKCS#8) PEM block.
+     *
+     * @param pem       The PEM text.
+     * @param algorithm The JCA algorithm of the key, usually taken from the matching public key.
+     * @return The private key.
+     * @throws InvalidKeySpecException if the block is not a valid PKCS#8 key for the algorithm.
+     */
+    public static PrivateKey readPrivateKey(String pem, String algorithm) throws InvalidKeySpecException {
+        return keyFactory(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(pem, "PRIVATE KEY")));
+    }
+
+    /**
+     * Extracts and Base64-decodes the body of the first PEM block of the given type.
+     *
+     * @param pem  The PEM text.
+     * @param type The block type, e.g. "PUBLIC KEY".
+     * @return The DER bytes.
+     * @throws InvalidKeySpecException if no such block exists or its body is not valid Base64.
+     */
+    public static byte[] decode(String pem, String type) throws InvalidKeySpecException {
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+
+        int start = pem.indexOf(begin);
+        int stop = start < 0 ? -1 : pem.indexOf(end, start + begin.length());
+        if (stop < 0) {
+            throw new InvalidKeySpecException("No '" + type + "' PEM block found.");
+        }
+
+        try {
+            // The MIME decoder skips line breaks and other non-alphabet characters.
+            return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), stop));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeySpecException("Malformed '" + type + "' PEM block.", e);
+        }
+    }
+
+    private static KeyFactory keyFactory(String algorithm) {
+        try {
+            return KeyFactory.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not load " + algorithm + " KeyFactory, the JRE is missing support.", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.security.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder decorator recording the time spent authenticating bearer tokens as
+ * "auth.jwt.decode", tagged with the outcome so rejected tokens do not skew the success latency.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+
+    /**
+     * Name of the timer.
+     */
+    public static final String METRIC_NAME = "auth.jwt.decode";
+
+    private final JwtDecoder delegate;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    /**
+     * Creates a timed decoder around the given delegate.
+     *
+     * @param delegate      The decoder to time, typically the Nimbus decoder.
+     * @param meterRegistry Registry receiving the timer.
+     */
+    public TimedJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.successTimer = Timer.builder(METRIC_NAME)
+                .description("Time spent decoding and verifying bearer tokens")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder(METRIC_NAME)
+                .description("Time spent decoding and verifying bearer tokens")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long startedAt = System.nanoTime();
+        Timer timer = failureTimer;
+        try {
+            Jwt jwt = delegate.decode(token);
+            timer = successTimer;
+            return jwt;
+        } finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
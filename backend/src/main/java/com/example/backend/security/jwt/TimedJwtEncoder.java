@@ -0,0 +1,46 @@
+package com.example.backend.security.jwt;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+/**
+ * JwtEncoder decorator recording the time spent signing tokens as "auth.jwt.encode".
+ */
+public class TimedJwtEncoder implements JwtEncoder {
+
+    /**
+     * Name of the timer.
+     */
+    public static final String METRIC_NAME = "auth.jwt.encode";
+
+    private final JwtEncoder delegate;
+    private final Timer timer;
+
+    /**
+     * Creates a timed encoder around the given delegate.
+     *
+     * @param delegate      The encoder to time.
+     * @param meterRegistry Registry receiving the timer.
+     */
+    public TimedJwtEncoder(JwtEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timer = Timer.builder(METRIC_NAME)
+                .description("Time spent signing tokens")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.encode(parameters);
+        } finally {
+            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.security.jwt;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Decides whether an otherwise valid JWT has been revoked before its expiry.
+ */
+@FunctionalInterface
+public interface TokenRevocationChecker {
+
+    /**
+     * Checker used when no revocation store is configured; nothing is ever revoked.
+     */
+    TokenRevocationChecker NONE = jwt -> false;
+
+    /**
+     * Checks the given token against the revocation store.
+     *
+     * @param jwt The decoded and signature-verified token.
+     * @return true if the token must be rejected.
+     */
+    boolean isRevoked(Jwt jwt);
+}
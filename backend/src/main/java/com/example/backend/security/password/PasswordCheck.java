@@ -0,0 +1,20 @@
+package com.example.backend.security.password;
+
+/**
+ * Outcome of verifying a password against its stored hash.
+ *
+ * @param matched      Whether the password is correct.
+ * @param upgradedHash A fresh hash using the current encoding when the stored one is outdated and
+ *                     the password matched; null otherwise. Callers should persist it.
+ */
+public record PasswordCheck(boolean matched, String upgradedHash) {
+
+    /**
+     * Returns whether the stored hash should be replaced by {@link #upgradedHash()}.
+     *
+     * @return true if a rehash was produced.
+     */
+    public boolean needsRehash() {
+        return upgradedHash != null;
+    }
+}
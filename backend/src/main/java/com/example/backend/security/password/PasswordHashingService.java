@@ -0,0 +1,218 @@
+package com.example.backend.security.password;
+
+import com.example.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs password hashing on a dedicated, bounded thread pool instead of request threads.
+ *
+ * Hashing is deliberately CPU-expensive, so a credential-stuffing burst must not be allowed to
+ * occupy every core. At most app.security.password.threads hashes run at once and at most
+ * app.security.password.queue-capacity wait; anything beyond that is shed with a
+ * {@link TooManyRequestsException} (HTTP 429).
+ *
+ * Hashes are stored in the {id}hash format of {@link DelegatingPasswordEncoder}. New hashes use
+ * app.security.password.encoding-id ("bcrypt" or "argon2"); legacy hashes without an id prefix
+ * are treated as BCrypt. {@link #verify} rehashes outdated hashes after a successful login.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final DelegatingPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Creates the service.
+     *
+     * @param encodingId     The id of the encoder used for new hashes ("bcrypt" or "argon2").
+     * @param bcryptStrength The BCrypt cost factor for new BCrypt hashes.
+     * @param threads        Number of hashing threads; 0 uses half of the available processors.
+     * @param queueCapacity  Maximum number of hashing requests waiting for a thread.
+     * @param timeoutMs      Maximum time a request waits for its hash before being shed.
+     * @param meterRegistry  Registry receiving hash latency, queue time and rejection metrics.
+     */
+    public PasswordHashingService(
+            @Value("${app.security.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.threads:0}") int threads,
+            @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password.timeout-ms:5000}") long timeoutMs,
+            MeterRegistry meterRegistry) {
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        this.encoder = new DelegatingPasswordEncoder(encodingId, Map.of(
+                "bcrypt", bcrypt,
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        this.encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueTimer = Timer.builder("auth.password.queue")
+                .description("Time password hashing requests wait for a hashing thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password hashing requests shed because the queue was full or too slow")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently being computed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a password with the current encoding.
+     *
+     * @param rawPassword The password.
+     * @return The hash, prefixed with the encoder id.
+     * @throws TooManyRequestsException if the hashing pool is saturated.
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored hash.
+     *
+     * @param rawPassword     The password.
+     * @param encodedPassword The stored hash.
+     * @return true if the password matches.
+     * @throws TooManyRequestsException if the hashing pool is saturated.
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks a password and, if it matches but the stored hash uses an outdated encoding or cost,
+     * also computes its replacement.
+     *
+     * @param rawPassword     The password.
+     * @param encodedPassword The stored hash.
+     * @return The outcome, including the upgraded hash to persist when one was produced.
+     * @throws TooManyRequestsException if the hashing pool is saturated.
+     */
+    public PasswordCheck verify(CharSequence rawPassword, String encodedPassword) {
+        if (!matches(rawPassword, encodedPassword)) {
+            return new PasswordCheck(false, null);
+        }
+        String upgradedHash = encoder.upgradeEncoding(encodedPassword) ? encode(rawPassword) : null;
+        return new PasswordCheck(true, upgradedHash);
+    }
+
+    /**
+     * Exposes this service as a PasswordEncoder, so Spring Security (including its
+     * UserDetailsPasswordService upgrade path) hashes through the bounded pool as well.
+     *
+     * @return A PasswordEncoder delegating to this service.
+     */
+    public PasswordEncoder passwordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return PasswordHashingService.this.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return PasswordHashingService.this.matches(rawPassword, encodedPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return encoder.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Timer hashTimer, Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException overloaded() {
+        rejectedCounter.increment();
+        return new TooManyRequestsException("Too many sign-in attempts right now, please retry shortly.",
+                RETRY_AFTER_SECONDS);
+    }
+}
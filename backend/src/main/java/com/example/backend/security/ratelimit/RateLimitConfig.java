@@ -0,0 +1,111 @@
+package com.example.backend.security.ratelimit;
+
+import com.example.backend.config.SecurityConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Declares the rate limit policies and the filter enforcing them in the main security filter chain.
+ *
+ * <ul>
+ *     <li>auth: login, registration and OAuth2 endpoints, per IP. Kept small because each attempt
+ *     may cost a password hash.</li>
+ *     <li>ip: every request, per IP.</li>
+ *     <li>graphql: the GraphQL endpoint, per user.</li>
+ *     <li>api: the REST API, per user.</li>
+ * </ul>
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.lease-size:20}")
+    private long leaseSize;
+
+    @Value("${app.rate-limit.lease-ttl:1s}")
+    private Duration leaseTtl;
+
+    @Value("${app.rate-limit.redis-retry:5s}")
+    private Duration redisRetry;
+
+    @Value("${app.rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${app.rate-limit.auth.refill-per-second:0.2}")
+    private double authRefill;
+
+    @Value("${app.rate-limit.ip.capacity:600}")
+    private long ipCapacity;
+
+    @Value("${app.rate-limit.ip.refill-per-second:100}")
+    private double ipRefill;
+
+    @Value("${app.rate-limit.graphql.capacity:60}")
+    private long graphqlCapacity;
+
+    @Value("${app.rate-limit.graphql.refill-per-second:10}")
+    private double graphqlRefill;
+
+    @Value("${app.rate-limit.api.capacity:300}")
+    private long apiCapacity;
+
+    @Value("${app.rate-limit.api.refill-per-second:50}")
+    private double apiRefill;
+
+    @Bean
+    public RateLimiter rateLimiter(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        return new RateLimiter(redisTemplate, leaseSize, leaseTtl, redisRetry, meterRegistry);
+    }
+
+    /**
+     * The filter, added to the main security filter chain by SecurityConfig.
+     *
+     * @param rateLimiter       The token buckets.
+     * @param exceptionResolver Resolves rejections through the GlobalExceptionHandler.
+     * @param meterRegistry     Registry receiving the limiter metrics.
+     * @return The filter; it lets every request through when app.rate-limit.enabled is false.
+     */
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        List<RateLimitPolicy> policies = !enabled ? List.of() : List.of(
+                new RateLimitPolicy("auth", RateLimitConfig::isAuthPath, false, authCapacity, authRefill),
+                new RateLimitPolicy("ip", _ -> true, false, ipCapacity, ipRefill),
+                new RateLimitPolicy("graphql", SecurityConstants.GRAPHQL_ENDPOINT::equals, true,
+                        graphqlCapacity, graphqlRefill),
+                new RateLimitPolicy("api", path -> path.startsWith(SecurityConstants.API_V1_PREFIX + "/"), true,
+                        apiCapacity, apiRefill));
+        return new RateLimitFilter(policies, rateLimiter, exceptionResolver, meterRegistry);
+    }
+
+    /**
+     * Keeps the servlet container from registering the filter a second time outside the security
+     * filter chain.
+     *
+     * @param rateLimitFilter The filter.
+     * @return The disabled registration.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    private static boolean isAuthPath(String path) {
+        return path.startsWith(SecurityConstants.AUTH_ENDPOINT + "/")
+                || path.startsWith("/login/")
+                || path.startsWith("/oauth2/");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.security.ratelimit;
+
+import com.example.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Applies the rate limit policies to each request. Runs in the security filter chain after
+ * bearer token authentication, so per-user buckets can be keyed by the token's subject.
+ *
+ * Limited requests are rejected before reaching any controller, with the 429 response and
+ * Retry-After header written by the GlobalExceptionHandler.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<RateLimitPolicy> policies;
+    private final List<Counter> limitedCounters;
+    private final RateLimiter rateLimiter;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    /**
+     * Creates the filter.
+     *
+     * @param policies          The policies, all of which apply to a matching request.
+     * @param rateLimiter       The token buckets.
+     * @param exceptionResolver Resolves the TooManyRequestsException through the exception handlers.
+     * @param meterRegistry     Registry receiving the ratelimit.limited counter.
+     */
+    public RateLimitFilter(List<RateLimitPolicy> policies,
+            RateLimiter rateLimiter,
+            HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        this.policies = List.copyOf(policies);
+        this.limitedCounters = policies.stream()
+                .map(policy -> Counter.builder("ratelimit.limited").tag("policy", policy.name()).register(meterRegistry))
+                .toList();
+        this.rateLimiter = rateLimiter;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < policies.size(); i++) {
+            RateLimitPolicy policy = policies.get(i);
+            if (!policy.paths().test(path)) {
+                continue;
+            }
+            long retryAfterMs = rateLimiter.tryAcquire(policy, clientKey(policy, request));
+            if (retryAfterMs > 0) {
+                limitedCounters.get(i).increment();
+                long retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+                exceptionResolver.resolveException(request, response, null,
+                        new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds));
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String clientKey(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.perUser()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication instanceof JwtAuthenticationToken token) {
+                return "user:" + token.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.security.ratelimit;
+
+import java.util.function.Predicate;
+
+/**
+ * A token bucket applied to the requests matching a path predicate.
+ *
+ * @param name            Name used in Redis keys and metrics.
+ * @param paths           Selects the request paths, without the context path, the bucket applies to.
+ * @param perUser         Whether authenticated callers get a bucket per user id; otherwise, and for
+ *                        anonymous callers, the bucket is per client IP.
+ * @param capacity        The burst size.
+ * @param refillPerSecond Tokens added per second, i.e. the sustained rate.
+ */
+public record RateLimitPolicy(
+        String name,
+        Predicate<String> paths,
+        boolean perUser,
+        long capacity,
+        double refillPerSecond) {
+}
@@ -0,0 +1,179 @@
+package com.example.backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Token buckets shared by all nodes through Redis.
+ *
+ * The buckets live in Redis and are updated atomically by a Lua script. To avoid a round trip
+ * per request, a node leases a few tokens at a time and hands them out locally until they run
+ * out or the lease expires; unused leased tokens are simply lost, which makes the limit slightly
+ * stricter, never looser. A denial is remembered locally until the bucket refills, so a client
+ * hammering a closed bucket does not reach Redis either.
+ *
+ * If Redis fails, the node switches to in-process buckets with the same limits for a while, so
+ * the effective limit becomes per node instead of global.
+ */
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private final StringRedisTemplate redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> leaseScript;
+    private final long maxLeaseSize;
+    private final long redisRetryNanos;
+    private final Cache<String, Lease> leases;
+    private final Cache<String, TokenBucket> localBuckets;
+    private volatile long redisRetryAt;
+    private volatile boolean redisDown;
+
+    private final Counter leasesGranted;
+    private final Counter leasesDenied;
+    private final Counter fallbacks;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param redisTemplate Template running the lease script.
+     * @param maxLeaseSize  The most tokens a node leases at once.
+     * @param leaseTtl      How long leased tokens stay usable.
+     * @param redisRetry    How long to use local buckets after Redis failed.
+     * @param meterRegistry Registry receiving the ratelimit.leases counter.
+     */
+    public RateLimiter(StringRedisTemplate redisTemplate,
+            long maxLeaseSize,
+            Duration leaseTtl,
+            Duration redisRetry,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.leaseScript = RedisScript.of(new ClassPathResource("redis/rate-limit-lease.lua"), List.class);
+        this.maxLeaseSize = maxLeaseSize;
+        this.redisRetryNanos = redisRetry.toNanos();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(leaseTtl)
+                .build();
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        this.leasesGranted = Counter.builder("ratelimit.leases").tag("result", "granted").register(meterRegistry);
+        this.leasesDenied = Counter.builder("ratelimit.leases").tag("result", "denied").register(meterRegistry);
+        this.fallbacks = Counter.builder("ratelimit.leases").tag("result", "local").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from a client's bucket.
+     *
+     * @param policy    The bucket's policy.
+     * @param clientKey Identifies the client, e.g. "ip:10.0.0.1" or "user:42".
+     * @return 0 if the request may proceed, otherwise the milliseconds until it may be retried.
+     */
+    public long tryAcquire(RateLimitPolicy policy, String clientKey) {
+        String key = KEY_PREFIX + policy.name() + ':' + clientKey;
+
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null) {
+            long retryAfterMs = lease.tryTake();
+            if (retryAfterMs >= 0) {
+                return retryAfterMs;
+            }
+        }
+
+        if (redisDown && System.nanoTime() - redisRetryAt < 0) {
+            return acquireLocally(policy, key);
+        }
+        try {
+            return lease(policy, key);
+        } catch (RuntimeException e) {
+            redisRetryAt = System.nanoTime() + redisRetryNanos;
+            if (!redisDown) {
+                redisDown = true;
+                log.warn("Rate limiting falls back to local buckets, Redis is unavailable: {}", e.getMessage());
+            }
+            return acquireLocally(policy, key);
+        }
+    }
+
+    private long lease(RateLimitPolicy policy, String key) {
+        // Small buckets are not leased in batches, a single node could otherwise drain them.
+        long requested = Math.max(1, Math.min(maxLeaseSize, policy.capacity() / 10));
+        List<?> result = redisTemplate.execute(leaseScript, List.of(key),
+                Long.toString(policy.capacity()),
+                Double.toString(policy.refillPerSecond()),
+                Long.toString(requested));
+        if (redisDown) {
+            redisDown = false;
+            log.info("Rate limiting is back on Redis");
+        }
+
+        long granted = ((Number) result.get(0)).longValue();
+        if (granted == 0) {
+            long retryAfterMs = Math.max(1, ((Number) result.get(1)).longValue());
+            leases.put(key, Lease.denied(System.currentTimeMillis() + retryAfterMs));
+            leasesDenied.increment();
+            return retryAfterMs;
+        }
+        if (granted > 1) {
+            leases.put(key, Lease.of(granted - 1));
+        } else {
+            leases.invalidate(key);
+        }
+        leasesGranted.increment();
+        return 0;
+    }
+
+    private long acquireLocally(RateLimitPolicy policy, String key) {
+        fallbacks.increment();
+        return localBuckets.get(key, _ -> new TokenBucket(policy.capacity(), policy.refillPerSecond())).tryAcquire();
+    }
+
+    /**
+     * Tokens leased from Redis, or a remembered denial.
+     */
+    private static final class Lease {
+
+        private final AtomicLong remaining;
+        private final long deniedUntilMillis;
+
+        private Lease(long remaining, long deniedUntilMillis) {
+            this.remaining = new AtomicLong(remaining);
+            this.deniedUntilMillis = deniedUntilMillis;
+        }
+
+        static Lease of(long tokens) {
+            return new Lease(tokens, 0);
+        }
+
+        static Lease denied(long untilMillis) {
+            return new Lease(0, untilMillis);
+        }
+
+        /**
+         * @return 0 if a token was taken, the milliseconds left on a denial, or -1 if the lease
+         *         is used up and Redis must be asked again.
+         */
+        long tryTake() {
+            if (deniedUntilMillis != 0) {
+                long retryAfterMs = deniedUntilMillis - System.currentTimeMillis();
+                return retryAfterMs > 0 ? retryAfterMs : -1;
+            }
+            return remaining.getAndDecrement() > 0 ? 0 : -1;
+        }
+    }
+}
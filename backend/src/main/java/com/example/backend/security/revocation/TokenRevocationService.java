@@ -0,0 +1,337 @@
+package com.example.backend.security.revocation;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.exception.UnauthorizedException;
+import com.example.backend.security.jwt.TokenRevocationChecker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revocation store for access and refresh tokens, answering the common "not revoked" case from
+ * memory.
+ *
+ * Revoked identifiers (token jtis, and refresh token families via the
+ * {@value SecurityConstants#FAMILY_CLAIM} claim) are stored in Redis under a key that expires with
+ * the token, and indexed in a sorted set by expiry. Every node keeps a Bloom filter of the
+ * identifiers: a token none of whose identifiers is in the filter is accepted without a Redis
+ * call, and only filter hits are confirmed against Redis. New revocations reach the other nodes
+ * over the Redis channel {@value #CHANNEL}; the filter is also rebuilt from the sorted set every
+ * app.jwt.revocation.resync-interval, which drops expired identifiers and repairs messages lost
+ * while a node was disconnected. Until the first rebuild succeeds every check goes to Redis.
+ *
+ * A revocation takes effect on other nodes once its message arrives, reported as
+ * "auth.revocation.sync.lag" (measured against the publishing node's clock).
+ *
+ * Refresh tokens are single use: {@link #rotate(Jwt)} marks a token as used, and presenting it a
+ * second time revokes its whole family, including the access tokens issued from it. Used tokens
+ * are recorded under their own keys, neither revoked nor added to the filters, so that a replayed
+ * token passes the decoder and reaches rotate, where the reuse is detected.
+ */
+@Service
+public class TokenRevocationService implements TokenRevocationChecker, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * The Redis channel announcing new revocations.
+     */
+    public static final String CHANNEL = "auth:revocations";
+
+    static final String KEY_PREFIX = "auth:revoked:";
+    static final String ROTATED_PREFIX = "auth:rotated:";
+    static final String INDEX_KEY = "auth:revoked";
+    static final String FAMILY_PREFIX = "family:";
+
+    private static final int RESYNC_PAGE_SIZE = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> revokeScript;
+    private final RedisScript<Long> rotateScript;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration familyLifetime;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private volatile boolean synced;
+
+    private final Counter clear;
+    private final Counter revoked;
+    private final Counter falsePositives;
+    private final Counter unsynced;
+    private final Counter reuses;
+    private final Timer syncLag;
+    private final Timer resyncTimer;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.revocation.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${app.jwt.revocation.bloom.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${app.jwt.refresh-token-expiration-ms}") long refreshTokenExpirationMs) {
+        this.redisTemplate = redisTemplate;
+        this.revokeScript = RedisScript.of(new ClassPathResource("redis/token-revoke.lua"), Long.class);
+        this.rotateScript = RedisScript.of(new ClassPathResource("redis/refresh-rotate.lua"), Long.class);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.familyLifetime = Duration.ofMillis(refreshTokenExpirationMs);
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.clear = Counter.builder("auth.revocation.checks").tag("result", "clear").register(meterRegistry);
+        this.revoked = Counter.builder("auth.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.checks")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        this.unsynced = Counter.builder("auth.revocation.checks").tag("result", "unsynced").register(meterRegistry);
+        this.reuses = Counter.builder("auth.refresh.reuse")
+                .description("Refresh tokens presented after they had been rotated")
+                .register(meterRegistry);
+        this.syncLag = Timer.builder("auth.revocation.sync.lag")
+                .description("Time from a revocation until this node's Bloom filter has it")
+                .register(meterRegistry);
+        this.resyncTimer = Timer.builder("auth.revocation.resync")
+                .description("Time spent rebuilding the Bloom filter from Redis")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.expected.fpp", this, s -> s.filter.expectedFalsePositiveRate())
+                .description("False positive rate expected from the Bloom filter's current fill")
+                .register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // ----------------- Checks -----------------
+
+    @Override
+    public boolean isRevoked(Jwt jwt) {
+        List<String> identifiers = identifiers(jwt);
+        if (identifiers.isEmpty()) {
+            clear.increment();
+            return false;
+        }
+
+        if (synced) {
+            BloomFilter current = filter;
+            boolean candidate = false;
+            for (String identifier : identifiers) {
+                candidate |= current.mightContain(identifier);
+            }
+            if (!candidate) {
+                clear.increment();
+                return false;
+            }
+        }
+
+        List<String> keys = new ArrayList<>(identifiers.size());
+        for (String identifier : identifiers) {
+            keys.add(key(identifier));
+        }
+        Long existing;
+        try {
+            existing = redisTemplate.countExistingKeys(keys);
+        } catch (RuntimeException e) {
+            if (!synced) {
+                // Nothing to go by yet; rejecting every token would lock out all users.
+                unsynced.increment();
+                log.warn("Could not check token revocation in Redis: {}", e.getMessage());
+                return false;
+            }
+            // The filter says it may be revoked and Redis cannot say otherwise.
+            revoked.increment();
+            log.warn("Could not confirm token revocation in Redis, rejecting: {}", e.getMessage());
+            return true;
+        }
+        if (existing != null && existing > 0) {
+            revoked.increment();
+            return true;
+        }
+        (synced ? falsePositives : unsynced).increment();
+        return false;
+    }
+
+    // ----------------- Revocation -----------------
+
+    /**
+     * Revokes a token until it expires, e.g. on logout.
+     *
+     * @param jwt The token.
+     */
+    public void revoke(Jwt jwt) {
+        String jti = jwt.getId();
+        Instant expiresAt = jwt.getExpiresAt();
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        revoke(jti, "revoked", expiresAt);
+    }
+
+    /**
+     * Revokes every refresh token of a family, and the access tokens issued from them, for as
+     * long as a refresh token of that family could still be valid.
+     *
+     * @param familyId The family, as carried in the {@value SecurityConstants#FAMILY_CLAIM} claim.
+     */
+    public void revokeFamily(String familyId) {
+        revoke(FAMILY_PREFIX + familyId, "revoked", Instant.now().plus(familyLifetime));
+    }
+
+    /**
+     * Marks a refresh token as used; the caller then issues its successor in the same family.
+     *
+     * @param refreshToken The presented, signature-verified refresh token.
+     * @return The family to carry over to the new refresh token.
+     * @throws UnauthorizedException if the token was used before (its family is then revoked), or
+     *                               its family has been revoked.
+     */
+    public String rotate(Jwt refreshToken) {
+        String jti = refreshToken.getId();
+        Instant expiresAt = refreshToken.getExpiresAt();
+        if (jti == null || expiresAt == null) {
+            throw new UnauthorizedException("Refresh token has no id or expiry");
+        }
+        String familyId = familyId(refreshToken);
+        String family = FAMILY_PREFIX + familyId;
+        Instant familyExpiresAt = Instant.now().plus(familyLifetime);
+
+        Long result;
+        try {
+            result = redisTemplate.execute(rotateScript,
+                    List.of(ROTATED_PREFIX + jti, key(family), INDEX_KEY),
+                    Long.toString(expiresAt.toEpochMilli()),
+                    family, Long.toString(familyExpiresAt.toEpochMilli()));
+        } catch (RuntimeException e) {
+            throw new UnauthorizedException("Could not verify the refresh token", e);
+        }
+
+        if (result == null || result == 2) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+        if (result == 1) {
+            reuses.increment();
+            log.warn("Refresh token {} of user {} was reused, revoking family {}",
+                    jti, refreshToken.getSubject(), familyId);
+            announce(family);
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        return familyId;
+    }
+
+    private void revoke(String identifier, String reason, Instant expiresAt) {
+        redisTemplate.execute(revokeScript, List.of(key(identifier), INDEX_KEY),
+                identifier, reason, Long.toString(expiresAt.toEpochMilli()));
+        announce(identifier);
+    }
+
+    /**
+     * Adds an identifier to the local filter and tells the other nodes.
+     */
+    private void announce(String identifier) {
+        add(identifier);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, System.currentTimeMillis() + "|" + identifier);
+        } catch (RuntimeException e) {
+            // Other nodes pick the revocation up on their next resync.
+            log.warn("Could not publish token revocation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0) {
+            return;
+        }
+        add(body.substring(separator + 1));
+        try {
+            long lag = System.currentTimeMillis() - Long.parseLong(body.substring(0, separator));
+            syncLag.record(Math.max(0, lag), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation timestamp: {}", body);
+        }
+    }
+
+    // ----------------- Resync -----------------
+
+    /**
+     * Rebuilds the Bloom filter from the revoked identifiers that have not expired yet.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.resync-interval:5m}", initialDelay = 0)
+    public void resync() {
+        Timer.Sample sample = Timer.start();
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        // Revocations announced while the index is read go into both filters.
+        rebuilding = next;
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+            long offset = 0;
+            Set<String> page;
+            do {
+                page = redisTemplate.opsForZSet()
+                        .rangeByScore(INDEX_KEY, now, Double.POSITIVE_INFINITY, offset, RESYNC_PAGE_SIZE);
+                if (page == null) {
+                    break;
+                }
+                page.forEach(next::put);
+                offset += page.size();
+            } while (page.size() == RESYNC_PAGE_SIZE);
+            filter = next;
+            synced = true;
+            sample.stop(resyncTimer);
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the token revocation filter: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void add(String identifier) {
+        filter.put(identifier);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(identifier);
+        }
+    }
+
+    private static List<String> identifiers(Jwt jwt) {
+        String jti = jwt.getId();
+        String familyId = jwt.getClaimAsString(SecurityConstants.FAMILY_CLAIM);
+        if (familyId == null) {
+            return jti == null ? List.of() : List.of(jti);
+        }
+        String family = FAMILY_PREFIX + familyId;
+        return jti == null ? List.of(family) : List.of(jti, family);
+    }
+
+    private static String familyId(Jwt refreshToken) {
+        String familyId = refreshToken.getClaimAsString(SecurityConstants.FAMILY_CLAIM);
+        // The first refresh token of a session starts its family.
+        return familyId != null ? familyId : refreshToken.getId();
+    }
+
+    private static String key(String identifier) {
+        return KEY_PREFIX + identifier;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.service.engagement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The increments accumulated between two flushes. Writers only touch the striped LongAdders;
+ * the flushed amounts are tracked separately, under the lock of the owning service, so that a
+ * sealed generation can keep absorbing late increments until it is retired.
+ */
+final class CounterGeneration {
+
+    private final long epoch;
+    private final ConcurrentHashMap<CounterKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<CounterKey, Long> flushed = new HashMap<>();
+    private Map<CounterKey, Long> journaled = Map.of();
+
+    CounterGeneration(long epoch) {
+        this.epoch = epoch;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    void add(CounterKey key, long delta) {
+        counters.computeIfAbsent(key, _ -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * @return The non-zero amounts accumulated but not yet written to MongoDB.
+     */
+    Map<CounterKey, Long> unflushed() {
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        counters.forEach((key, adder) -> {
+            long delta = adder.sum() - flushed.getOrDefault(key, 0L);
+            if (delta != 0) {
+                deltas.put(key, delta);
+            }
+        });
+        return deltas;
+    }
+
+    void markFlushed(CounterKey key, long delta) {
+        flushed.merge(key, delta, Long::sum);
+    }
+
+    /**
+     * Records what was last written to the journal, so that unchanged generations are skipped.
+     *
+     * @param deltas The journaled amounts.
+     * @return false if the journal already holds exactly these amounts.
+     */
+    boolean journaled(Map<CounterKey, Long> deltas) {
+        if (journaled.equals(deltas)) {
+            return false;
+        }
+        journaled = deltas;
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.service.engagement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Local journal of the counter increments that have not reached MongoDB yet, one file per
+ * generation.
+ *
+ * Each write replaces the generation's file with a snapshot of its unflushed amounts: the
+ * snapshot goes to a temporary file, is forced to disk and then atomically moved into place, so
+ * a crash leaves either the previous or the new snapshot, never a torn one. A file is deleted
+ * once its generation has been flushed completely.
+ */
+final class CounterJournal {
+
+    private static final String PREFIX = "counters-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+
+    CounterJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the counter journal directory " + directory, e);
+        }
+    }
+
+    /**
+     * Replaces the snapshot of a generation.
+     *
+     * @param epoch  The generation.
+     * @param deltas Its unflushed amounts.
+     * @throws IOException if the snapshot could not be written and forced to disk.
+     */
+    void write(long epoch, Map<CounterKey, Long> deltas) throws IOException {
+        Path target = file(epoch);
+        Path temp = directory.resolve(PREFIX + epoch + SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            for (Map.Entry<CounterKey, Long> entry : deltas.entrySet()) {
+                writer.write(entry.getKey().postId());
+                writer.write('\t');
+                writer.write(entry.getKey().type().name());
+                writer.write('\t');
+                writer.write(Long.toString(entry.getValue()));
+                writer.write('\n');
+            }
+            writer.flush();
+            channel.force(false);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removes the snapshot of a fully flushed generation.
+     *
+     * @param epoch The generation.
+     * @throws IOException if the file could not be deleted.
+     */
+    void delete(long epoch) throws IOException {
+        Files.deleteIfExists(file(epoch));
+    }
+
+    /**
+     * Reads the snapshots left behind by a previous run.
+     *
+     * @return The unflushed amounts by generation.
+     * @throws IOException if the directory or a snapshot could not be read.
+     */
+    Map<Long, Map<CounterKey, Long>> readAll() throws IOException {
+        Map<Long, Map<CounterKey, Long>> generations = new HashMap<>();
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.forEach(files::add);
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith(SUFFIX + ".tmp")) {
+                Files.deleteIfExists(file);
+            } else if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                long epoch = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                generations.put(epoch, read(file));
+            }
+        }
+        return generations;
+    }
+
+    private static Map<CounterKey, Long> read(Path file) throws IOException {
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                deltas.merge(new CounterKey(fields[0], EngagementType.valueOf(fields[1])),
+                        Long.parseLong(fields[2]), Long::sum);
+            } catch (IllegalArgumentException e) {
+                // A line written by a version with other engagement types; nothing to replay it into.
+            }
+        }
+        return deltas;
+    }
+
+    private Path file(long epoch) {
+        return directory.resolve(PREFIX + epoch + SUFFIX);
+    }
+}
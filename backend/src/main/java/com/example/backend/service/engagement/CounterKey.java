@@ -0,0 +1,7 @@
+package com.example.backend.service.engagement;
+
+/**
+ * One counter: a post and a kind of engagement.
+ */
+record CounterKey(String postId, EngagementType type) {
+}
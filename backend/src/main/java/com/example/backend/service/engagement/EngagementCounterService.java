@@ -0,0 +1,407 @@
+package com.example.backend.service.engagement;
+
+import com.example.backend.model.PostCounters;
+import com.example.backend.service.trending.TrendingService;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-coalescing engagement counters (likes, views, shares).
+ *
+ * Increments only touch striped LongAdders in the current generation, so the hot path takes no
+ * lock and does no I/O. Every app.engagement.flush-interval the generation is sealed and replaced,
+ * and the accumulated amounts are written to MongoDB as one unordered bulk of $inc upserts, one
+ * operation per post. A sealed generation is kept for one more flush to pick up increments that
+ * raced with the swap.
+ *
+ * Unflushed amounts are snapshotted to a local journal every app.engagement.journal-interval and
+ * replayed on startup, so a crash loses at most one journal interval of increments. A crash
+ * between a bulk write and the following journal update counts that flush twice on replay. The
+ * journal directory must not be shared between instances.
+ *
+ * Reads come from a Redis hash per post, seeded from MongoDB on a miss and incremented by every
+ * flush that touches the post, so they are as fresh as the last flush on any node. Seeded hashes
+ * expire after app.engagement.mirror-ttl and are not kept alive by increments, which bounds how
+ * long a hash that missed a concurrent flush stays behind.
+ */
+@Service
+public class EngagementCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(EngagementCounterService.class);
+
+    static final String KEY_PREFIX = "post:counters:";
+
+    private final MongoTemplate mongoTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final TrendingService trendingService;
+    private final CounterJournal journal;
+    private final String mirrorScript;
+    private final String seedScript;
+    private final String mirrorTtlMillis;
+
+    private volatile CounterGeneration current;
+    private final List<CounterGeneration> sealed = new ArrayList<>();
+    private long nextEpoch;
+    private volatile int sealedCount;
+
+    private final Map<EngagementType, Counter> increments = new EnumMap<>(EngagementType.class);
+    private final Timer flushTimer;
+    private final DistributionSummary flushPosts;
+    private final Counter flushFailures;
+    private final Counter journalFailures;
+    private final Counter redisReads;
+    private final Counter mongoReads;
+
+    public EngagementCounterService(MongoTemplate mongoTemplate,
+            StringRedisTemplate redisTemplate,
+            TrendingService trendingService,
+            MeterRegistry meterRegistry,
+            @Value("${app.engagement.journal-dir:${java.io.tmpdir}/engagement-journal}") Path journalDir,
+            @Value("${app.engagement.mirror-ttl:10m}") Duration mirrorTtl) throws IOException {
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+        this.trendingService = trendingService;
+        this.journal = new CounterJournal(journalDir);
+        this.mirrorScript = RedisScript.of(new ClassPathResource("redis/engagement-mirror.lua")).getScriptAsString();
+        this.seedScript = RedisScript.of(new ClassPathResource("redis/engagement-seed.lua")).getScriptAsString();
+        this.mirrorTtlMillis = Long.toString(mirrorTtl.toMillis());
+
+        for (Map.Entry<Long, Map<CounterKey, Long>> entry : journal.readAll().entrySet()) {
+            CounterGeneration recovered = new CounterGeneration(entry.getKey());
+            entry.getValue().forEach(recovered::add);
+            sealed.add(recovered);
+            nextEpoch = Math.max(nextEpoch, entry.getKey() + 1);
+        }
+        if (!sealed.isEmpty()) {
+            log.info("Recovered {} unflushed engagement counter generations from {}", sealed.size(), journalDir);
+        }
+        this.sealedCount = sealed.size();
+        this.current = new CounterGeneration(nextEpoch++);
+
+        for (EngagementType type : EngagementType.values()) {
+            increments.put(type, Counter.builder("engagement.increments")
+                    .tag("type", type.field())
+                    .register(meterRegistry));
+        }
+        this.flushTimer = Timer.builder("engagement.flush")
+                .description("Time spent writing accumulated counters to MongoDB and Redis")
+                .register(meterRegistry);
+        this.flushPosts = DistributionSummary.builder("engagement.flush.posts")
+                .description("Posts updated by one flush")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("engagement.flush.failures").register(meterRegistry);
+        this.journalFailures = Counter.builder("engagement.journal.failures").register(meterRegistry);
+        this.redisReads = Counter.builder("engagement.reads").tag("source", "redis").register(meterRegistry);
+        this.mongoReads = Counter.builder("engagement.reads").tag("source", "mongo").register(meterRegistry);
+        meterRegistry.gauge("engagement.generations.sealed", this, s -> s.sealedCount);
+    }
+
+    // ----------------- Write path -----------------
+
+    /**
+     * Counts one engagement with a post.
+     *
+     * @param postId The post.
+     * @param type   The kind of engagement.
+     */
+    public void increment(String postId, EngagementType type) {
+        add(postId, type, 1);
+    }
+
+    /**
+     * Adds to a post's counter; negative amounts undo earlier increments, e.g. an unlike.
+     *
+     * @param postId The post.
+     * @param type   The kind of engagement.
+     * @param delta  The amount to add.
+     */
+    public void add(String postId, EngagementType type, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        current.add(new CounterKey(postId, type), delta);
+        increments.get(type).increment(delta);
+        trendingService.recordEngagement(postId, type, delta);
+    }
+
+    /**
+     * Seals the current generation and writes everything unflushed to MongoDB, then to the Redis
+     * mirrors. Posts whose bulk operation failed stay pending and are retried by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.engagement.flush-interval:1s}")
+    public synchronized void flush() {
+        CounterGeneration sealing = current;
+        current = new CounterGeneration(nextEpoch++);
+        sealed.add(sealing);
+
+        List<Map<CounterKey, Long>> snapshots = new ArrayList<>(sealed.size());
+        Map<String, Map<EngagementType, Long>> byPost = new LinkedHashMap<>();
+        for (CounterGeneration generation : sealed) {
+            Map<CounterKey, Long> deltas = generation.unflushed();
+            snapshots.add(deltas);
+            deltas.forEach((key, delta) -> byPost
+                    .computeIfAbsent(key.postId(), _ -> new EnumMap<>(EngagementType.class))
+                    .merge(key.type(), delta, Long::sum));
+        }
+
+        if (!byPost.isEmpty()) {
+            Set<String> failed;
+            Timer.Sample sample = Timer.start();
+            try {
+                failed = write(byPost);
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                log.warn("Could not flush engagement counters of {} posts: {}", byPost.size(), e.getMessage());
+                syncJournal();
+                return;
+            }
+            for (int i = 0; i < snapshots.size(); i++) {
+                CounterGeneration generation = sealed.get(i);
+                snapshots.get(i).forEach((key, delta) -> {
+                    if (!failed.contains(key.postId())) {
+                        generation.markFlushed(key, delta);
+                    }
+                });
+            }
+            failed.forEach(byPost::remove);
+            mirror(byPost);
+            sample.stop(flushTimer);
+            flushPosts.record(byPost.size());
+        }
+
+        // Generations sealed before this flush have had a full interval for racing increments.
+        Iterator<CounterGeneration> it = sealed.iterator();
+        while (it.hasNext()) {
+            CounterGeneration generation = it.next();
+            if (generation != sealing && generation.unflushed().isEmpty()) {
+                try {
+                    journal.delete(generation.epoch());
+                    it.remove();
+                } catch (IOException e) {
+                    journalFailures.increment();
+                    log.warn("Could not delete the counter journal of generation {}: {}",
+                            generation.epoch(), e.getMessage());
+                }
+            }
+        }
+        sealedCount = sealed.size();
+        syncJournal();
+    }
+
+    /**
+     * Snapshots the unflushed amounts of every generation that changed since its last snapshot.
+     */
+    @Scheduled(fixedDelayString = "${app.engagement.journal-interval:200ms}")
+    public synchronized void syncJournal() {
+        List<CounterGeneration> generations = new ArrayList<>(sealed);
+        generations.add(current);
+        for (CounterGeneration generation : generations) {
+            Map<CounterKey, Long> deltas = generation.unflushed();
+            if (!generation.journaled(deltas)) {
+                continue;
+            }
+            try {
+                journal.write(generation.epoch(), deltas);
+            } catch (IOException e) {
+                generation.journaled(Map.of());
+                journalFailures.increment();
+                log.warn("Could not journal engagement counters of generation {}: {}",
+                        generation.epoch(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes what is left before the application context closes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Writes one unordered bulk of $inc upserts.
+     *
+     * @return The posts whose operation failed.
+     */
+    private Set<String> write(Map<String, Map<EngagementType, Long>> byPost) {
+        List<String> order = new ArrayList<>(byPost.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, PostCounters.COLLECTION);
+        byPost.forEach((postId, deltas) -> {
+            Update update = new Update();
+            deltas.forEach((type, delta) -> update.inc(type.field(), delta));
+            bulk.upsert(Query.query(Criteria.where("_id").is(postId)), update);
+            order.add(postId);
+        });
+
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<String> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(order.get(error.getIndex()));
+            }
+            flushFailures.increment();
+            log.warn("Could not flush engagement counters of {} posts: {}", failed.size(), e.getMessage());
+            return failed;
+        }
+    }
+
+    private void mirror(Map<String, Map<EngagementType, Long>> byPost) {
+        if (byPost.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                byPost.forEach((postId, deltas) -> {
+                    List<String> keysAndArgs = new ArrayList<>(1 + 2 * deltas.size());
+                    keysAndArgs.add(key(postId));
+                    deltas.forEach((type, delta) -> {
+                        keysAndArgs.add(type.field());
+                        keysAndArgs.add(Long.toString(delta));
+                    });
+                    redis.eval(mirrorScript, ReturnType.INTEGER, 1, keysAndArgs.toArray(String[]::new));
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not mirror engagement counters of {} posts to Redis: {}", byPost.size(), e.getMessage());
+        }
+    }
+
+    // ----------------- Read path -----------------
+
+    /**
+     * Returns a post's counts as of the last flush.
+     *
+     * @param postId The post.
+     * @return The counts, zero for a post nobody engaged with.
+     */
+    public EngagementCounts get(String postId) {
+        return getAll(List.of(postId)).get(postId);
+    }
+
+    /**
+     * Returns the counts of several posts with one Redis round trip, and at most one MongoDB query
+     * for the posts whose mirror is missing.
+     *
+     * @param postIds The posts.
+     * @return The counts by post id, with an entry for every requested post.
+     */
+    public Map<String, EngagementCounts> getAll(Collection<String> postIds) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(postIds));
+        Map<String, EngagementCounts> counts = new HashMap<>();
+        if (ids.isEmpty()) {
+            return counts;
+        }
+
+        List<String> misses = ids;
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String postId : ids) {
+                    redis.hMGet(key(postId), fields());
+                }
+                return null;
+            });
+            misses = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                @SuppressWarnings("unchecked")
+                List<String> values = (List<String>) results.get(i);
+                if (values == null || values.contains(null)) {
+                    misses.add(ids.get(i));
+                } else {
+                    counts.put(ids.get(i), new EngagementCounts(
+                            Long.parseLong(values.get(0)), Long.parseLong(values.get(1)), Long.parseLong(values.get(2))));
+                }
+            }
+            redisReads.increment(counts.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not read engagement counters from Redis: {}", e.getMessage());
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, EngagementCounts> loaded = load(misses);
+            counts.putAll(loaded);
+            seed(loaded);
+        }
+        return counts;
+    }
+
+    private Map<String, EngagementCounts> load(List<String> postIds) {
+        mongoReads.increment(postIds.size());
+        Map<String, EngagementCounts> loaded = new HashMap<>();
+        for (String postId : postIds) {
+            loaded.put(postId, EngagementCounts.ZERO);
+        }
+        for (PostCounters counters : mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(postIds)), PostCounters.class)) {
+            loaded.put(counters.getId(),
+                    new EngagementCounts(counters.getLikes(), counters.getViews(), counters.getShares()));
+        }
+        return loaded;
+    }
+
+    private void seed(Map<String, EngagementCounts> loaded) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                loaded.forEach((postId, counts) -> redis.eval(seedScript, ReturnType.INTEGER, 1,
+                        key(postId), mirrorTtlMillis,
+                        EngagementType.LIKES.field(), Long.toString(counts.likes()),
+                        EngagementType.VIEWS.field(), Long.toString(counts.views()),
+                        EngagementType.SHARES.field(), Long.toString(counts.shares())));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not seed engagement counters of {} posts in Redis: {}", loaded.size(), e.getMessage());
+        }
+    }
+
+    private static String[] fields() {
+        return new String[] {
+                EngagementType.LIKES.field(), EngagementType.VIEWS.field(), EngagementType.SHARES.field()};
+    }
+
+    private static String key(String postId) {
+        return KEY_PREFIX + postId;
+    }
+}
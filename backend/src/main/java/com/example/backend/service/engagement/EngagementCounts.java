@@ -0,0 +1,13 @@
+package com.example.backend.service.engagement;
+
+/**
+ * A post's engagement counts, as of the last flush.
+ *
+ * @param likes  Likes.
+ * @param views  Views.
+ * @param shares Shares.
+ */
+public record EngagementCounts(long likes, long views, long shares) {
+
+    public static final EngagementCounts ZERO = new EngagementCounts(0, 0, 0);
+}
@@ -0,0 +1,24 @@
+package com.example.backend.service.engagement;
+
+/**
+ * The kinds of engagement counted per post.
+ */
+public enum EngagementType {
+
+    LIKES("likes"),
+    VIEWS("views"),
+    SHARES("shares");
+
+    private final String field;
+
+    EngagementType(String field) {
+        this.field = field;
+    }
+
+    /**
+     * @return The field holding the count, in MongoDB and in the Redis mirror.
+     */
+    public String field() {
+        return field;
+    }
+}
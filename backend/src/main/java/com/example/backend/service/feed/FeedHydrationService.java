@@ -0,0 +1,132 @@
+package com.example.backend.service.feed;
+
+import com.example.backend.cache.TwoLevelCache;
+import com.example.backend.cache.TwoLevelCacheManager;
+import com.example.backend.model.Post;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.post.PostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Turns a page of post ids into posts with a bounded number of round trips, whatever the page
+ * size: the ids are deduplicated, looked up in the posts cache (the same entries as
+ * {@link PostService#get}) first in memory, then with a single Redis MGET, and the rest is
+ * fetched from MongoDB with a single $in query through findAllById, which maps whole documents
+ * as PostService's lookups do. What MongoDB returned is written back to the cache on the
+ * application task executor, so the request does not wait for Redis.
+ *
+ * A page therefore costs at most two round trips, one to Redis and one to MongoDB, reported as
+ * feed.hydration.roundtrips, and none when every post is in memory.
+ */
+@Service
+public class FeedHydrationService {
+
+    private final PostRepository postRepository;
+    private final TwoLevelCache postsCache;
+    private final TaskExecutor taskExecutor;
+
+    private final Timer hydrationTimer;
+    private final DistributionSummary roundTrips;
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter mongoReads;
+
+    public FeedHydrationService(PostRepository postRepository,
+            TwoLevelCacheManager cacheManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postsCache = cacheManager.getCache(PostService.POSTS_CACHE);
+        this.taskExecutor = taskExecutor;
+
+        this.hydrationTimer = Timer.builder("feed.hydration")
+                .description("Time spent turning a page of post ids into posts")
+                .register(meterRegistry);
+        this.roundTrips = DistributionSummary.builder("feed.hydration.roundtrips")
+                .description("Redis and MongoDB round trips per hydrated page")
+                .register(meterRegistry);
+        this.localHits = Counter.builder("feed.hydration.posts").tag("source", "local").register(meterRegistry);
+        this.redisHits = Counter.builder("feed.hydration.posts").tag("source", "redis").register(meterRegistry);
+        this.mongoReads = Counter.builder("feed.hydration.posts").tag("source", "mongo").register(meterRegistry);
+    }
+
+    /**
+     * Loads posts by id.
+     *
+     * @param ids The post ids, possibly with duplicates.
+     * @return The posts in the order of the first occurrence of their id; posts that do not exist
+     *         are skipped.
+     */
+    public List<Post> hydrate(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        long startedAt = System.nanoTime();
+        Set<String> distinct = new LinkedHashSet<>(ids);
+        Map<String, Post> posts = HashMap.newHashMap(distinct.size());
+        int trips = 0;
+
+        collect(postsCache.getAllLocal(distinct), posts, localHits);
+        List<String> misses = missing(distinct, posts);
+        if (!misses.isEmpty()) {
+            trips++;
+            collect(postsCache.getAllRemote(misses), posts, redisHits);
+            misses = missing(misses, posts);
+        }
+        if (!misses.isEmpty()) {
+            trips++;
+            Map<String, Post> loaded = HashMap.newHashMap(misses.size());
+            for (Post post : postRepository.findAllById(misses)) {
+                loaded.put(post.getId(), post);
+            }
+            mongoReads.increment(loaded.size());
+            posts.putAll(loaded);
+            postsCache.backfill(loaded, taskExecutor);
+        }
+
+        List<Post> ordered = new ArrayList<>(distinct.size());
+        for (String id : distinct) {
+            Post post = posts.get(id);
+            if (post != null) {
+                ordered.add(post);
+            }
+        }
+        roundTrips.record(trips);
+        hydrationTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        return ordered;
+    }
+
+    private static void collect(Map<String, Object> found, Map<String, Post> posts, Counter hits) {
+        int collected = 0;
+        for (Map.Entry<String, Object> entry : found.entrySet()) {
+            if (entry.getValue() instanceof Post post) {
+                posts.put(entry.getKey(), post);
+                collected++;
+            }
+        }
+        hits.increment(collected);
+    }
+
+    private static List<String> missing(Iterable<String> ids, Map<String, Post> posts) {
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!posts.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.service.feed;
+
+import com.example.backend.model.Post;
+import com.example.backend.pagination.Cursor;
+import com.example.backend.pagination.CursorPage;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.timeline.TimelineEntry;
+import com.example.backend.service.timeline.TimelineService;
+import com.example.backend.service.trending.TrendingItem;
+import com.example.backend.service.trending.TrendingKind;
+import com.example.backend.service.trending.TrendingService;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keyset-paginated reads of home timelines and author profiles, and the trending posts. Timeline
+ * and trending entries are post ids, turned into posts by the {@link FeedHydrationService}.
+ */
+@Service
+public class FeedService {
+
+    private final TimelineService timelineService;
+    private final PostRepository postRepository;
+    private final TrendingService trendingService;
+    private final FeedHydrationService feedHydrationService;
+
+    public FeedService(TimelineService timelineService,
+            PostRepository postRepository,
+            TrendingService trendingService,
+            FeedHydrationService feedHydrationService) {
+        this.timelineService = timelineService;
+        this.postRepository = postRepository;
+        this.trendingService = trendingService;
+        this.feedHydrationService = feedHydrationService;
+    }
+
+    /**
+     * Reads a page of a user's home timeline.
+     *
+     * @param userId The timeline owner.
+     * @param after  The cursor, or null for the first page.
+     * @param limit  The page size.
+     * @return The page; posts deleted since they were added to the timeline are skipped.
+     */
+    public CursorPage<Post> homeTimeline(String userId, Cursor after, int limit) {
+        TimelineEntry cursor = after == null ? null : new TimelineEntry(after.id(), after.createdAtMillis());
+        List<TimelineEntry> entries = timelineService.read(userId, cursor, limit + 1);
+
+        CursorPage<TimelineEntry> page = CursorPage.of(entries, limit,
+                entry -> new Cursor(entry.createdAtMillis(), entry.postId()));
+        List<String> ids = new ArrayList<>(page.items().size());
+        for (TimelineEntry entry : page.items()) {
+            ids.add(entry.postId());
+        }
+        return new CursorPage<>(feedHydrationService.hydrate(ids), page.next());
+    }
+
+    /**
+     * Reads the posts trending now.
+     *
+     * @param limit The maximum number of posts.
+     * @return The posts, most trending first; deleted posts are skipped.
+     */
+    public List<Post> trendingPosts(int limit) {
+        List<TrendingItem> items = trendingService.trending(TrendingKind.POSTS, limit);
+        List<String> ids = new ArrayList<>(items.size());
+        for (TrendingItem item : items) {
+            ids.add(item.id());
+        }
+        return feedHydrationService.hydrate(ids);
+    }
+
+    /**
+     * Reads a page of an author's posts.
+     *
+     * @param authorId The author.
+     * @param after    The cursor, or null for the first page.
+     * @param limit    The page size.
+     * @return The page.
+     */
+    public CursorPage<Post> authorPosts(String authorId, Cursor after, int limit) {
+        return CursorPage.of(postRepository.findPageByAuthor(authorId, after, limit), limit,
+                post -> Cursor.of(post.getCreatedAt(), post.getId()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.service.follow;
+
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.model.Follow;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.service.timeline.TimelineService;
+import java.time.Instant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Manages follow edges. Following or unfollowing changes whose posts belong in the follower's
+ * timeline, so the timeline is dropped and rebuilt from MongoDB on its next read.
+ */
+@Service
+public class FollowService {
+
+    private final FollowRepository followRepository;
+    private final TimelineService timelineService;
+
+    public FollowService(FollowRepository followRepository, TimelineService timelineService) {
+        this.followRepository = followRepository;
+        this.timelineService = timelineService;
+    }
+
+    /**
+     * Makes a user follow another one. Following someone twice is a no-op.
+     *
+     * @param followerId The following user.
+     * @param followeeId The followed user.
+     */
+    public void follow(String followerId, String followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new BadRequestException("Users cannot follow themselves");
+        }
+        if (followRepository.existsByFollowerIdAndFolloweeId(followerId, followeeId)) {
+            return;
+        }
+        try {
+            followRepository.save(new Follow(followerId, followeeId, Instant.now()));
+        } catch (DuplicateKeyException e) {
+            return;
+        }
+        timelineService.invalidate(followerId);
+    }
+
+    /**
+     * Makes a user stop following another one.
+     *
+     * @param followerId The following user.
+     * @param followeeId The followed user.
+     */
+    public void unfollow(String followerId, String followeeId) {
+        if (followRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId) > 0) {
+            timelineService.invalidate(followerId);
+        }
+    }
+}
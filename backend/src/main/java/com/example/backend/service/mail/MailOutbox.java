@@ -0,0 +1,36 @@
+package com.example.backend.service.mail;
+
+import com.example.backend.model.OutboxMail;
+import com.example.backend.repository.OutboxMailRepository;
+import java.time.Instant;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry point for sending mail. Queuing a mail is a single MongoDB insert; nothing talks to the
+ * SMTP server on the caller's thread.
+ *
+ * When called inside a MongoDB transaction (see app.mongo.transactions.enabled) the insert is
+ * part of it, so a mail is only sent if the change that triggered it was committed.
+ */
+@Service
+public class MailOutbox {
+
+    private final OutboxMailRepository outboxMailRepository;
+
+    public MailOutbox(OutboxMailRepository outboxMailRepository) {
+        this.outboxMailRepository = outboxMailRepository;
+    }
+
+    /**
+     * Queues a mail.
+     *
+     * @param to       The recipient address.
+     * @param subject  The subject.
+     * @param textBody The plain text body.
+     * @param htmlBody The HTML alternative, or null for a text-only mail.
+     * @return The queued mail.
+     */
+    public OutboxMail enqueue(String to, String subject, String textBody, String htmlBody) {
+        return outboxMailRepository.save(new OutboxMail(to, subject, textBody, htmlBody, Instant.now()));
+    }
+}
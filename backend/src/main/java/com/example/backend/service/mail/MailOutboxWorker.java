@@ -0,0 +1,393 @@
+package com.example.backend.service.mail;
+
+import com.example.backend.exception.ServiceUnavailableException;
+import com.example.backend.model.OutboxMail;
+import com.example.backend.repository.OutboxMailRepository;
+import com.example.backend.resilience.Dependency;
+import com.example.backend.resilience.DependencyGuard;
+import com.example.backend.resilience.InjectedFaultException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.ParseException;
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the mails queued in the {@link MailOutbox}.
+ *
+ * Workers claim batches of due mails with a claim token, so several nodes can share the outbox,
+ * and send each batch over one pooled SMTP connection. A claim expires after
+ * app.mail.outbox.claim-ttl, so the batch of a node that died is picked up again; delivery is
+ * therefore at least once.
+ *
+ * A failed mail is retried with exponential backoff and jitter. It is dead-lettered (status
+ * DEAD, kept for inspection) after app.mail.outbox.max-attempts, or at once when its address
+ * cannot be parsed or the server rejects its recipient. A connection error puts the rest of the
+ * batch back without counting an attempt, and so does a rejection by the SMTP circuit breaker or
+ * bulkhead of the {@link DependencyGuard}, which every send goes through.
+ *
+ * One worker polls the outbox; while it keeps finding full batches it brings in more workers, up
+ * to app.mail.outbox.workers.
+ */
+@Component
+public class MailOutboxWorker implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxWorker.class);
+
+    private static final long BACKLOG_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(15);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSenderImpl mailSender;
+    private final DependencyGuard dependencyGuard;
+    private final SmtpTransportPool transportPool;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore workers;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration claimTtl;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final String fromAddress;
+    private final String fromName;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private volatile long backlogRefreshedAt = System.nanoTime() - BACKLOG_REFRESH_NANOS;
+
+    public MailOutboxWorker(MongoTemplate mongoTemplate,
+            OutboxMailRepository outboxMailRepository,
+            JavaMailSenderImpl mailSender,
+            DependencyGuard dependencyGuard,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.outbox.workers:2}") int workers,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail.outbox.claim-ttl:5m}") Duration claimTtl,
+            @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+            @Value("${app.mail.outbox.connection-max-idle:60s}") Duration connectionMaxIdle,
+            @Value("${app.mail.from-address}") String fromAddress,
+            @Value("${app.mail.from-name}") String fromName) {
+        this.mongoTemplate = mongoTemplate;
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.dependencyGuard = dependencyGuard;
+        this.transportPool = new SmtpTransportPool(mailSender, workers, connectionMaxIdle, meterRegistry);
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("mail-outbox-"));
+        this.workers = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimTtl = claimTtl;
+        this.initialBackoffMs = initialBackoff.toMillis();
+        this.maxBackoffMs = maxBackoff.toMillis();
+        this.fromAddress = fromAddress;
+        this.fromName = fromName;
+
+        this.sent = Counter.builder("mail.outbox.sent")
+                .description("Mails delivered to the SMTP server")
+                .register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.failed").tag("outcome", "retry")
+                .description("Failed delivery attempts")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("mail.outbox.failed").tag("outcome", "dead")
+                .description("Failed delivery attempts")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.outbox.send")
+                .description("Time spent handing one mail to the SMTP server")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("mail.outbox.lag")
+                .description("Time from queuing a mail until it was delivered to the SMTP server")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.backlog", backlog, AtomicLong::get)
+                .description("Mails waiting to be sent, refreshed every 15 seconds")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.dead", dead, AtomicLong::get)
+                .description("Dead-lettered mails, refreshed every 15 seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a worker unless all of them are busy.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2s}")
+    public void poll() {
+        refreshBacklog();
+        startWorker();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transportPool.close();
+    }
+
+    private void startWorker() {
+        if (!workers.tryAcquire()) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            workers.release();
+        }
+    }
+
+    private void drain() {
+        try {
+            List<OutboxMail> batch;
+            do {
+                batch = claim();
+                if (batch.size() == batchSize) {
+                    startWorker();
+                }
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+            } while (batch.size() == batchSize && !executor.isShutdown());
+        } catch (RuntimeException e) {
+            log.warn("Mail outbox worker failed: {}", e.getMessage());
+        } finally {
+            workers.release();
+        }
+    }
+
+    // ----------------- Claiming -----------------
+
+    private List<OutboxMail> claim() {
+        Instant now = Instant.now();
+        Query due = new Query(claimable(now))
+                .with(Sort.by("nextAttemptAt"))
+                .limit(batchSize);
+        due.fields().include("_id");
+        List<String> ids = mongoTemplate.find(due, OutboxMail.class).stream().map(OutboxMail::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Another node may have claimed some of them in between; the token tells which are ours.
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(Criteria.where("_id").in(ids), claimable(now))),
+                new Update()
+                        .set("status", OutboxMail.Status.SENDING)
+                        .set("claimToken", token)
+                        .set("claimExpiresAt", now.plus(claimTtl)),
+                OutboxMail.class);
+        return mongoTemplate.find(new Query(Criteria.where("claimToken").is(token)), OutboxMail.class);
+    }
+
+    private static Criteria claimable(Instant now) {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(OutboxMail.Status.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxMail.Status.SENDING).and("claimExpiresAt").lte(now));
+    }
+
+    // ----------------- Sending -----------------
+
+    private void send(List<OutboxMail> batch) {
+        SmtpTransportPool.PooledTransport pooled;
+        try {
+            pooled = transportPool.borrow();
+        } catch (MessagingException e) {
+            log.warn("Could not connect to the SMTP server: {}", e.getMessage());
+            for (OutboxMail mail : batch) {
+                fail(mail, e, false);
+            }
+            return;
+        }
+
+        List<String> sentIds = new ArrayList<>(batch.size());
+        boolean broken = false;
+        boolean rejected = false;
+        try {
+            for (OutboxMail mail : batch) {
+                if (broken || rejected) {
+                    unclaim(mail);
+                    continue;
+                }
+                MimeMessage message;
+                try {
+                    message = toMessage(mail);
+                } catch (ParseException e) {
+                    // A malformed address or header, e.g. an AddressException: retrying cannot help,
+                    // and the connection was not used.
+                    fail(mail, e, true);
+                    continue;
+                } catch (MessagingException | UnsupportedEncodingException e) {
+                    fail(mail, e, false);
+                    continue;
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    Transport transport = pooled.transport();
+                    dependencyGuard.call(Dependency.SMTP, () -> {
+                        transport.sendMessage(message, message.getAllRecipients());
+                        return null;
+                    });
+                    sendTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    deliveryLag.record(Duration.between(mail.getCreatedAt(), Instant.now()));
+                    sentIds.add(mail.getId());
+                } catch (SendFailedException e) {
+                    Address[] invalid = e.getInvalidAddresses();
+                    fail(mail, e, invalid != null && invalid.length > 0);
+                } catch (MessagingException | InjectedFaultException e) {
+                    fail(mail, e, false);
+                    broken = true;
+                } catch (ServiceUnavailableException e) {
+                    log.warn("SMTP delivery paused: {}", e.getMessage());
+                    unclaim(mail);
+                    rejected = true;
+                }
+            }
+        } finally {
+            transportPool.release(pooled, broken);
+            markSent(sentIds);
+        }
+    }
+
+    private MimeMessage toMessage(OutboxMail mail) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, mail.getHtmlBody() != null, "UTF-8");
+        helper.setFrom(fromAddress, fromName);
+        helper.setTo(mail.getTo());
+        helper.setSubject(mail.getSubject());
+        if (mail.getHtmlBody() != null) {
+            helper.setText(mail.getTextBody(), mail.getHtmlBody());
+        } else {
+            helper.setText(mail.getTextBody());
+        }
+        message.saveChanges();
+        return message;
+    }
+
+    // ----------------- Outcomes -----------------
+
+    private void markSent(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids)),
+                new Update()
+                        .set("status", OutboxMail.Status.SENT)
+                        .set("sentAt", Instant.now())
+                        .unset("claimToken")
+                        .unset("claimExpiresAt")
+                        .inc("attempts", 1),
+                OutboxMail.class);
+        sent.increment(ids.size());
+    }
+
+    private void fail(OutboxMail mail, Exception error, boolean permanent) {
+        int attempts = mail.getAttempts() + 1;
+        String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("lastError", message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message)
+                .unset("claimToken")
+                .unset("claimExpiresAt");
+
+        if (permanent || attempts >= maxAttempts) {
+            update.set("status", OutboxMail.Status.DEAD);
+            deadLettered.increment();
+            log.warn("Mail {} dead-lettered after {} attempt(s): {}", mail.getId(), attempts, message);
+        } else {
+            update.set("status", OutboxMail.Status.PENDING)
+                    .set("nextAttemptAt", Instant.now().plusMillis(backoffMs(attempts)));
+            retried.increment();
+        }
+        updateClaimed(mail, update);
+    }
+
+    private void unclaim(OutboxMail mail) {
+        updateClaimed(mail, new Update()
+                .set("status", OutboxMail.Status.PENDING)
+                .unset("claimToken")
+                .unset("claimExpiresAt"));
+    }
+
+    /**
+     * Updates a mail unless its claim expired and another worker took it over.
+     */
+    private void updateClaimed(OutboxMail mail, Update update) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(mail.getId()).and("claimToken").is(mail.getClaimToken())),
+                update,
+                OutboxMail.class);
+    }
+
+    /**
+     * Exponential backoff with +-20% jitter, so mails failing together do not retry together.
+     */
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 20);
+        backoff = Math.min(maxBackoffMs, backoff);
+        return (long) (backoff * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private void refreshBacklog() {
+        long now = System.nanoTime();
+        if (now - backlogRefreshedAt < BACKLOG_REFRESH_NANOS) {
+            return;
+        }
+        backlogRefreshedAt = now;
+        try {
+            backlog.set(outboxMailRepository.countByStatus(OutboxMail.Status.PENDING)
+                    + outboxMailRepository.countByStatus(OutboxMail.Status.SENDING));
+            dead.set(outboxMailRepository.countByStatus(OutboxMail.Status.DEAD));
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh the mail outbox backlog: {}", e.getMessage());
+        }
+    }
+}
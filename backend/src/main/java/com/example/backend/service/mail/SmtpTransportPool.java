@@ -0,0 +1,109 @@
+package com.example.backend.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Keeps SMTP connections open between batches, so sending a mail does not pay for the TCP, TLS
+ * and AUTH handshakes each time.
+ *
+ * Connections idle for longer than the configured time are closed instead of reused, since
+ * servers drop idle sessions. Borrowing never blocks: when no idle connection is available a new
+ * one is opened, and connections returned to a full pool are closed.
+ */
+class SmtpTransportPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<PooledTransport> idle;
+    private final long maxIdleNanos;
+    private final Counter opened;
+
+    SmtpTransportPool(JavaMailSenderImpl mailSender, int size, Duration maxIdle, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.opened = Counter.builder("mail.smtp.connections")
+                .description("SMTP connections opened")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a connected transport, reusing an idle one when possible.
+     *
+     * @return The transport; hand it back with {@link #release}.
+     * @throws MessagingException if a new connection cannot be opened.
+     */
+    PooledTransport borrow() throws MessagingException {
+        long now = System.nanoTime();
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            if (now - pooled.lastUsedNanos < maxIdleNanos && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        opened.increment();
+        return new PooledTransport(transport);
+    }
+
+    /**
+     * Returns a transport to the pool.
+     *
+     * @param pooled The transport.
+     * @param broken Whether the connection failed and must not be reused.
+     */
+    void release(PooledTransport pooled, boolean broken) {
+        pooled.lastUsedNanos = System.nanoTime();
+        if (broken || !idle.offer(pooled)) {
+            closeQuietly(pooled);
+        }
+    }
+
+    @Override
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private static void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close SMTP connection cleanly: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A connected transport and when it was last used.
+     */
+    static final class PooledTransport {
+
+        private final Transport transport;
+        private long lastUsedNanos;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+            this.lastUsedNanos = System.nanoTime();
+        }
+
+        Transport transport() {
+            return transport;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.backend.service.media;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ForbiddenException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.exception.TooManyRequestsException;
+import com.example.backend.model.MediaAsset;
+import com.example.backend.repository.MediaAssetRepository;
+import com.example.backend.resilience.Dependency;
+import com.example.backend.resilience.DependencyGuard;
+import com.example.backend.tracing.TraceContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Uploads images and videos to Cloudinary without holding them in memory.
+ *
+ * Multipart bodies are spooled to disk by the servlet container (see spring.servlet.multipart),
+ * moved to a private temporary file and handed to the SDK as a file, which streams it; files
+ * above app.media.large-file-threshold are sent in chunks. Uploads run on a dedicated, bounded
+ * pool: at most app.media.threads run at once and at most app.media.queue-capacity wait, anything
+ * beyond that is shed with a {@link TooManyRequestsException}. The request returns as soon as
+ * the upload is queued, with the asset in {@link MediaAsset.Status#PENDING}.
+ *
+ * Large files should rather be uploaded by the client directly to Cloudinary with
+ * {@link #signUpload}, so that they never pass through the backend.
+ *
+ * The Cloudinary client is created on first use, keeping it off the startup path. Uploads go
+ * through the Cloudinary bulkhead and circuit breaker of the {@link DependencyGuard}; while the
+ * circuit is open, queued uploads fail fast instead of each waiting out the SDK's timeouts.
+ */
+@Service
+public class MediaService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaService.class);
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final ObjectProvider<Cloudinary> cloudinaryProvider;
+    private final MediaAssetRepository mediaAssetRepository;
+    private final DependencyGuard dependencyGuard;
+    private final ThreadPoolExecutor executor;
+    private final Path tempDir;
+    private final long largeFileThreshold;
+    private final String folder;
+
+    private final Timer uploadSuccess;
+    private final Timer uploadFailure;
+    private final Counter rejected;
+
+    public MediaService(ObjectProvider<Cloudinary> cloudinaryProvider,
+            MediaAssetRepository mediaAssetRepository,
+            DependencyGuard dependencyGuard,
+            MeterRegistry meterRegistry,
+            @Value("${app.media.threads:4}") int threads,
+            @Value("${app.media.queue-capacity:32}") int queueCapacity,
+            @Value("${app.media.large-file-threshold:100MB}") DataSize largeFileThreshold,
+            @Value("${app.media.temp-dir:${java.io.tmpdir}/media-uploads}") Path tempDir,
+            @Value("${app.cloudinary.folder:media}") String folder) throws IOException {
+        this.cloudinaryProvider = cloudinaryProvider;
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.dependencyGuard = dependencyGuard;
+        this.tempDir = Files.createDirectories(tempDir);
+        this.largeFileThreshold = largeFileThreshold.toBytes();
+        this.folder = folder;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("media-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.uploadSuccess = Timer.builder("media.upload")
+                .description("Time spent uploading files to Cloudinary")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.uploadFailure = Timer.builder("media.upload")
+                .description("Time spent uploading files to Cloudinary")
+                .tag("result", "failure")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("media.upload.rejected")
+                .description("Uploads shed because the upload queue was full")
+                .register(meterRegistry);
+        Gauge.builder("media.upload.queue.size", executor, e -> e.getQueue().size())
+                .description("Uploads waiting for an upload thread")
+                .register(meterRegistry);
+        Gauge.builder("media.upload.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Uploads currently being sent to Cloudinary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an uploaded file for transfer to Cloudinary.
+     *
+     * @param ownerId The uploading user.
+     * @param file    The multipart file.
+     * @return The pending asset.
+     * @throws BadRequestException      if the file is empty or neither an image nor a video.
+     * @throws TooManyRequestsException if the upload queue is full.
+     */
+    public MediaAsset upload(String ownerId, MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("File must not be empty");
+        }
+        String resourceType = resourceTypeOf(file.getContentType());
+
+        Path temp;
+        try {
+            temp = Files.createTempFile(tempDir, "upload-", ".part");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store upload", e);
+        }
+        // The transfer task deletes the file once it is queued; until then it is ours to delete.
+        boolean queued = false;
+        try {
+            // A rename when the container has already spooled the part to disk.
+            file.transferTo(temp);
+            MediaAsset asset = mediaAssetRepository.save(
+                    new MediaAsset(ownerId, newPublicId(), resourceType, file.getContentType(), Instant.now()));
+            try {
+                executor.execute(TraceContextHolder.wrap(() -> transfer(asset, temp)));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                mediaAssetRepository.delete(asset);
+                throw new TooManyRequestsException(
+                        "Too many uploads in progress, please retry later", RETRY_AFTER_SECONDS);
+            }
+            queued = true;
+            return asset;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store upload", e);
+        } finally {
+            if (!queued) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * Prepares a direct upload from the client to Cloudinary. The client posts the file together
+     * with the returned parameters to the upload URL, then confirms it with
+     * {@link #completeSignedUpload}.
+     *
+     * @param ownerId     The uploading user.
+     * @param contentType The content type of the file to upload.
+     * @return The signed upload parameters.
+     * @throws BadRequestException if the content type is neither an image nor a video.
+     */
+    public SignedUpload signUpload(String ownerId, String contentType) {
+        String resourceType = resourceTypeOf(contentType);
+        MediaAsset asset = mediaAssetRepository.save(
+                new MediaAsset(ownerId, newPublicId(), resourceType, contentType, Instant.now()));
+
+        long timestamp = Instant.now().getEpochSecond();
+        Map<String, Object> params = new HashMap<>();
+        params.put("public_id", asset.getPublicId());
+        params.put("timestamp", timestamp);
+        Cloudinary cloudinary = cloudinary();
+        String signature = cloudinary.apiSignRequest(params, cloudinary.config.apiSecret);
+
+        return new SignedUpload(
+                asset.getId(),
+                cloudinary.cloudinaryApiUrl("upload", ObjectUtils.asMap("resource_type", resourceType)),
+                cloudinary.config.apiKey,
+                timestamp,
+                asset.getPublicId(),
+                signature);
+    }
+
+    /**
+     * Marks a direct upload as done, after checking Cloudinary's signature of its upload response.
+     *
+     * @param ownerId   The uploading user.
+     * @param assetId   The asset returned by {@link #signUpload}.
+     * @param version   The version from Cloudinary's upload response.
+     * @param signature The signature from Cloudinary's upload response.
+     * @return The ready asset.
+     * @throws ResourceNotFoundException if there is no such asset.
+     * @throws ForbiddenException        if the asset belongs to another user.
+     * @throws BadRequestException       if the signature does not match.
+     */
+    public MediaAsset completeSignedUpload(String ownerId, String assetId, String version, String signature) {
+        MediaAsset asset = get(ownerId, assetId);
+        if (asset.getStatus() == MediaAsset.Status.READY) {
+            return asset;
+        }
+        if (!cloudinary().verifyApiResponseSignature(asset.getPublicId(), version, signature)) {
+            throw new BadRequestException("Invalid upload signature");
+        }
+        asset.setUrl(cloudinary().url()
+                .resourceType(asset.getResourceType())
+                .version(version)
+                .secure(true)
+                .generate(asset.getPublicId()));
+        asset.setStatus(MediaAsset.Status.READY);
+        asset.setCompletedAt(Instant.now());
+        return mediaAssetRepository.save(asset);
+    }
+
+    /**
+     * Looks up one of a user's assets.
+     *
+     * @param ownerId The owner.
+     * @param assetId The asset id.
+     * @return The asset.
+     * @throws ResourceNotFoundException if there is no such asset.
+     * @throws ForbiddenException        if the asset belongs to another user.
+     */
+    public MediaAsset get(String ownerId, String assetId) {
+        MediaAsset asset = mediaAssetRepository.findById(assetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Media", "id", assetId));
+        if (!asset.getOwnerId().equals(ownerId)) {
+            throw new ForbiddenException("Media belongs to another user");
+        }
+        return asset;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void transfer(MediaAsset asset, Path file) {
+        long startedAt = System.nanoTime();
+        try {
+            long size = Files.size(file);
+            Map<String, Object> options = ObjectUtils.asMap(
+                    "public_id", asset.getPublicId(),
+                    "resource_type", asset.getResourceType(),
+                    "overwrite", false);
+            Map<?, ?> result = dependencyGuard.call(Dependency.CLOUDINARY, () -> size > largeFileThreshold
+                    ? cloudinary().uploader().uploadLarge(file.toFile(), options)
+                    : cloudinary().uploader().upload(file.toFile(), options));
+
+            asset.setStatus(MediaAsset.Status.READY);
+            asset.setUrl((String) result.get("secure_url"));
+            asset.setBytes(size);
+            uploadSuccess.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            log.warn("Upload of media {} failed: {}", asset.getId(), e.getMessage());
+            asset.setStatus(MediaAsset.Status.FAILED);
+            asset.setError("Upload failed");
+            uploadFailure.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        } finally {
+            deleteQuietly(file);
+        }
+        asset.setCompletedAt(Instant.now());
+        mediaAssetRepository.save(asset);
+    }
+
+    private String newPublicId() {
+        return folder + "/" + UUID.randomUUID();
+    }
+
+    private static String resourceTypeOf(String contentType) {
+        if (contentType != null) {
+            if (contentType.startsWith("image/")) {
+                return "image";
+            }
+            if (contentType.startsWith("video/")) {
+                return "video";
+            }
+        }
+        throw new BadRequestException("Only images and videos can be uploaded");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Cloudinary cloudinary() {
+        return cloudinaryProvider.getObject();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.service.media;
+
+/**
+ * Parameters for a direct, signed upload from the client to Cloudinary.
+ *
+ * @param assetId   The pending asset, to confirm once the upload is done.
+ * @param uploadUrl The Cloudinary upload URL to post the file to.
+ * @param apiKey    The api_key form field.
+ * @param timestamp The timestamp form field.
+ * @param publicId  The public_id form field.
+ * @param signature The signature form field.
+ */
+public record SignedUpload(
+        String assetId,
+        String uploadUrl,
+        String apiKey,
+        long timestamp,
+        String publicId,
+        String signature) {
+}
@@ -0,0 +1,88 @@
+package com.example.backend.service.post;
+
+import com.example.backend.exception.BadRequestException;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.model.Post;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.push.FeedPushService;
+import com.example.backend.service.timeline.TimelineService;
+import com.example.backend.service.trending.TrendingService;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates posts: persists them to MongoDB, then hands them to the timeline fan-out, which runs
+ * asynchronously so publishing does not wait for followers' timelines to be updated, announces
+ * them to followers with a live feed connection, and counts their hashtags towards trending.
+ */
+@Service
+public class PostService {
+
+    /**
+     * Cache of posts by id. Posts are immutable once published, so entries are never evicted
+     * explicitly and simply expire.
+     */
+    public static final String POSTS_CACHE = "posts";
+
+    private final PostRepository postRepository;
+    private final TimelineService timelineService;
+    private final FeedPushService feedPushService;
+    private final TrendingService trendingService;
+    private final Clock clock;
+    private final int maxContentLength;
+
+    public PostService(PostRepository postRepository,
+            TimelineService timelineService,
+            FeedPushService feedPushService,
+            TrendingService trendingService,
+            @Value("${app.posts.max-content-length:5000}") int maxContentLength) {
+        this.postRepository = postRepository;
+        this.timelineService = timelineService;
+        this.feedPushService = feedPushService;
+        this.trendingService = trendingService;
+        this.clock = Clock.systemUTC();
+        this.maxContentLength = maxContentLength;
+    }
+
+    /**
+     * Publishes a post.
+     *
+     * @param authorId The author's user id.
+     * @param content  The post's text.
+     * @return The saved post.
+     * @throws BadRequestException if the content is blank or too long.
+     */
+    public Post create(String authorId, String content) {
+        if (content == null || content.isBlank()) {
+            throw new BadRequestException("Post content must not be blank");
+        }
+        if (content.length() > maxContentLength) {
+            throw new BadRequestException("Post content must be at most " + maxContentLength + " characters");
+        }
+
+        // Millisecond precision, the same as MongoDB dates and the timeline scores.
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        Post post = postRepository.save(new Post(authorId, content, now));
+        timelineService.fanOut(post);
+        feedPushService.publish(post);
+        trendingService.recordPost(post);
+        return post;
+    }
+
+    /**
+     * Looks up a single post. Concurrent misses for the same id share one MongoDB query.
+     *
+     * @param postId The post id.
+     * @return The post.
+     * @throws ResourceNotFoundException if there is no such post.
+     */
+    @Cacheable(cacheNames = POSTS_CACHE, sync = true)
+    public Post get(String postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+    }
+}
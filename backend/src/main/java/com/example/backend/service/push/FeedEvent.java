@@ -0,0 +1,33 @@
+package com.example.backend.service.push;
+
+import com.example.backend.dto.response.PostResponse;
+
+/**
+ * An event pushed to a live feed connection.
+ *
+ * @param type The kind of event.
+ * @param post The new post for {@link Type#POST}, null otherwise.
+ */
+public record FeedEvent(Type type, PostResponse post) {
+
+    static final FeedEvent RESYNC = new FeedEvent(Type.RESYNC, null);
+    static final FeedEvent HEARTBEAT = new FeedEvent(Type.HEARTBEAT, null);
+
+    public enum Type {
+
+        /**
+         * A followed user (or the caller) published a post.
+         */
+        POST,
+
+        /**
+         * The client fell behind and events were dropped; it should refetch the first feed page.
+         */
+        RESYNC,
+
+        /**
+         * Keeps idle connections open through proxies; carries no data.
+         */
+        HEARTBEAT
+    }
+}
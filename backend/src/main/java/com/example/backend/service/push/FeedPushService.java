@@ -0,0 +1,180 @@
+package com.example.backend.service.push;
+
+import com.example.backend.dto.response.PostResponse;
+import com.example.backend.mapping.PostMapper;
+import com.example.backend.model.Follow;
+import com.example.backend.model.Post;
+import com.example.backend.repository.FollowRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pushes new posts to live feed connections (GraphQL subscriptions and SSE) on every node.
+ *
+ * A published post is sent once over the Redis channel {@value #CHANNEL}, already mapped to its
+ * API form, so receiving nodes do not query MongoDB. Each node indexes its local connections by
+ * the authors they follow, and hands the event to the matching {@link FeedSubscription}s, which
+ * buffer and write it on virtual threads.
+ *
+ * The followed authors are read once when a connection opens; follows made while connected take
+ * effect on the next connection, like the timeline itself.
+ */
+@Service
+public class FeedPushService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedPushService.class);
+
+    /**
+     * The Redis channel carrying new posts.
+     */
+    public static final String CHANNEL = "feed:posts";
+
+    private final StringRedisTemplate redisTemplate;
+    private final FollowRepository followRepository;
+    private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-push-", 0).factory());
+    private final ConcurrentMap<String, Set<FeedSubscription>> subscriptionsByAuthor = new ConcurrentHashMap<>();
+    private final Set<FeedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final Counter delivered;
+    private final Counter dropped;
+
+    public FeedPushService(StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            FollowRepository followRepository,
+            PostMapper postMapper,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.feed.push.buffer-size:64}") int bufferSize) {
+        this.redisTemplate = redisTemplate;
+        this.followRepository = followRepository;
+        this.postMapper = postMapper;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+
+        this.delivered = Counter.builder("feed.push.events").tag("result", "queued").register(meterRegistry);
+        this.dropped = Counter.builder("feed.push.events").tag("result", "dropped").register(meterRegistry);
+        Gauge.builder("feed.push.connections", subscriptions, Set::size).register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Announces a new post to all nodes. Failures are logged and otherwise ignored; clients that
+     * miss the event still see the post on their next feed read.
+     *
+     * @param post The saved post.
+     */
+    public void publish(Post post) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(postMapper.map(post)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not publish post {} to live feeds: {}", post.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a live feed for a user, receiving the posts of the users they follow and their own.
+     *
+     * @param userId The subscribing user.
+     * @param sink   Writes events to the client.
+     * @return The subscription, to be closed when the client disconnects.
+     */
+    public FeedSubscription subscribe(String userId, FeedSubscription.Sink sink) {
+        List<Follow> followees = followRepository.findFolloweesOf(userId);
+        Set<String> authorIds = HashSet.newHashSet(followees.size() + 1);
+        authorIds.add(userId);
+        for (Follow follow : followees) {
+            authorIds.add(follow.getFolloweeId());
+        }
+
+        FeedSubscription subscription =
+                new FeedSubscription(userId, Set.copyOf(authorIds), sink, bufferSize, executor, this::unregister);
+        subscriptions.add(subscription);
+        for (String authorId : subscription.authorIds()) {
+            subscriptionsByAuthor.compute(authorId, (_, set) -> {
+                Set<FeedSubscription> authorSubscriptions = set == null ? ConcurrentHashMap.newKeySet() : set;
+                authorSubscriptions.add(subscription);
+                return authorSubscriptions;
+            });
+        }
+        return subscription;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        PostResponse post;
+        try {
+            post = objectMapper.readValue(message.getBody(), PostResponse.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed live feed event: {}", e.getMessage());
+            return;
+        }
+        Set<FeedSubscription> recipients = subscriptionsByAuthor.get(post.authorId());
+        if (recipients == null) {
+            return;
+        }
+        FeedEvent event = new FeedEvent(FeedEvent.Type.POST, post);
+        for (FeedSubscription subscription : recipients) {
+            int discarded = subscription.offer(event);
+            if (discarded > 0) {
+                dropped.increment(discarded);
+            } else {
+                delivered.increment();
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat on idle connections so that proxies do not time them out.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.push.heartbeat-interval:25s}")
+    public void heartbeat() {
+        for (FeedSubscription subscription : subscriptions) {
+            subscription.heartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (FeedSubscription subscription : subscriptions) {
+            subscription.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void unregister(FeedSubscription subscription) {
+        subscriptions.remove(subscription);
+        for (String authorId : subscription.authorIds()) {
+            subscriptionsByAuthor.computeIfPresent(authorId, (_, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.backend.service.push;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * One live feed connection: a bounded buffer of events and the sink that writes them to the
+ * client.
+ *
+ * An idle subscription holds no thread. When events arrive a drain task is started on the push
+ * executor; it writes until the buffer is empty and then ends. A slow client only blocks its own
+ * drain task. If its buffer fills up in the meantime the queued events are discarded and
+ * coalesced into a single {@link FeedEvent.Type#RESYNC}, so memory per connection stays bounded
+ * and the client learns that it must refetch.
+ */
+public final class FeedSubscription implements AutoCloseable {
+
+    /**
+     * Writes an event to the client. Blocking is fine; an exception closes the subscription.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        void send(FeedEvent event) throws Exception;
+    }
+
+    private final String userId;
+    private final Set<String> authorIds;
+    private final Sink sink;
+    private final int capacity;
+    private final Executor executor;
+    private final Consumer<FeedSubscription> onClose;
+
+    private final ArrayDeque<FeedEvent> buffer;
+    private boolean overflowed;
+    private boolean draining;
+    private volatile boolean closed;
+
+    FeedSubscription(String userId,
+            Set<String> authorIds,
+            Sink sink,
+            int capacity,
+            Executor executor,
+            Consumer<FeedSubscription> onClose) {
+        this.userId = userId;
+        this.authorIds = authorIds;
+        this.sink = sink;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.onClose = onClose;
+        this.buffer = new ArrayDeque<>(Math.min(capacity, 16));
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    /**
+     * @return The authors whose posts this subscription receives, fixed when it was opened.
+     */
+    Set<String> authorIds() {
+        return authorIds;
+    }
+
+    /**
+     * Queues an event without blocking.
+     *
+     * @param event The event.
+     * @return The number of events discarded to make room, 0 if none.
+     */
+    int offer(FeedEvent event) {
+        int discarded = 0;
+        boolean startDrain = false;
+        synchronized (buffer) {
+            if (closed) {
+                return 0;
+            }
+            if (buffer.size() >= capacity) {
+                discarded = buffer.size() + 1;
+                buffer.clear();
+                overflowed = true;
+            } else {
+                buffer.add(event);
+            }
+            if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+        }
+        if (startDrain) {
+            executor.execute(this::drain);
+        }
+        return discarded;
+    }
+
+    /**
+     * Queues a heartbeat unless there is already something to send.
+     */
+    void heartbeat() {
+        synchronized (buffer) {
+            if (!buffer.isEmpty() || overflowed) {
+                return;
+            }
+        }
+        offer(FeedEvent.HEARTBEAT);
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                FeedEvent next;
+                synchronized (buffer) {
+                    if (overflowed) {
+                        overflowed = false;
+                        next = FeedEvent.RESYNC;
+                    } else {
+                        next = buffer.poll();
+                    }
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                sink.send(next);
+            }
+        } catch (Exception e) {
+            close();
+        }
+    }
+
+    /**
+     * Stops delivery and unregisters the subscription. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        synchronized (buffer) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+        }
+        onClose.accept(this);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.service.timeline;
+
+import java.util.Comparator;
+
+/**
+ * A post's position in a timeline. Timelines are ordered newest first by creation time, ties
+ * broken by descending post id; the same order is used in Redis and in MongoDB.
+ *
+ * @param postId          The post id.
+ * @param createdAtMillis The post's creation time in epoch milliseconds, its score in Redis.
+ */
+public record TimelineEntry(String postId, long createdAtMillis) {
+
+    /**
+     * Timeline order: newest first, then by descending post id.
+     */
+    public static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparingLong(TimelineEntry::createdAtMillis).reversed()
+            .thenComparing(TimelineEntry::postId, Comparator.reverseOrder());
+
+    /**
+     * Tells whether this entry comes after the given cursor in timeline order.
+     *
+     * @param cursor The last entry of the previous page, or null for the first page.
+     * @return true if this entry belongs to a page following the cursor.
+     */
+    public boolean isAfter(TimelineEntry cursor) {
+        return cursor == null || NEWEST_FIRST.compare(this, cursor) > 0;
+    }
+}
@@ -0,0 +1,470 @@
+package com.example.backend.service.timeline;
+
+import com.example.backend.concurrent.TaskScope;
+import com.example.backend.model.Follow;
+import com.example.backend.model.Post;
+import com.example.backend.pagination.Cursor;
+import com.example.backend.pagination.KeysetCriteria;
+import com.example.backend.repository.FollowRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Home timelines on Redis sorted sets, with MongoDB as the source of truth.
+ *
+ * Posts of regular authors are fanned out on write: their id is added to the timeline of every
+ * follower whose timeline is materialized in Redis, capped at app.timeline.max-size entries.
+ * Authors with at least app.timeline.celebrity-threshold followers are fanned out on read
+ * instead; their recent posts are kept in a per-author sorted set and merged into the timelines
+ * of their followers when those are read.
+ *
+ * A timeline that is not in Redis (never read, or expired after app.timeline.ttl of inactivity)
+ * is served straight from MongoDB and rebuilt in the background. Each materialized timeline holds
+ * a sentinel member with score 0 so that an empty timeline is distinguishable from a missing one.
+ * A rebuild first creates the key with a rebuild marker in place of the sentinel, so posts fanned
+ * out while MongoDB is read land in the key and are merged with what MongoDB returned.
+ *
+ * Fan-out runs one script per timeline, pipelined in batches, so that it works on Redis Cluster
+ * where followers' timelines live in different hash slots.
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    static final String TIMELINE_KEY_PREFIX = "timeline:user:";
+    static final String AUTHOR_KEY_PREFIX = "timeline:author:";
+    static final String CELEBRITIES_KEY = "timeline:celebrities";
+    static final String SENTINEL = "__sentinel__";
+    static final String REBUILD_MARKER = "__rebuilding__";
+
+    /** Extra entries fetched to skip those sharing the cursor's timestamp. */
+    private static final int TIE_SLACK = 16;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final FollowRepository followRepository;
+    private final TaskExecutor taskExecutor;
+    private final String fanoutScript;
+    private final RedisScript<Long> backfillScript;
+    private final RedisScript<Long> rebuildBeginScript;
+    private final RedisScript<Long> rebuildScript;
+    private final Set<String> backfillsInFlight = ConcurrentHashMap.newKeySet();
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final long celebrityThreshold;
+    private final int fanoutBatchSize;
+    private final long celebrityRefreshNanos;
+    private final Duration readTimeout;
+    private volatile CelebritySnapshot celebrities = new CelebritySnapshot(Set.of(), 0);
+
+    private final Timer fanoutLagTimer;
+    private final DistributionSummary fanoutRecipients;
+    private final DistributionSummary timelineSize;
+    private final Timer backfillTimer;
+    private final Counter redisReads;
+    private final Counter mongoReads;
+
+    public TimelineService(StringRedisTemplate redisTemplate,
+            MongoTemplate mongoTemplate,
+            FollowRepository followRepository,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.timeline.max-size:800}") int maxSize,
+            @Value("${app.timeline.ttl:7d}") Duration ttl,
+            @Value("${app.timeline.celebrity-threshold:10000}") long celebrityThreshold,
+            @Value("${app.timeline.fanout-batch-size:500}") int fanoutBatchSize,
+            @Value("${app.timeline.celebrity-refresh:30s}") Duration celebrityRefresh,
+            @Value("${app.timeline.read-timeout:2s}") Duration readTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.followRepository = followRepository;
+        this.taskExecutor = taskExecutor;
+        this.fanoutScript = RedisScript.of(new ClassPathResource("redis/timeline-fanout.lua")).getScriptAsString();
+        this.backfillScript = RedisScript.of(new ClassPathResource("redis/timeline-backfill.lua"), Long.class);
+        this.rebuildBeginScript = RedisScript.of(new ClassPathResource("redis/timeline-rebuild-begin.lua"), Long.class);
+        this.rebuildScript = RedisScript.of(new ClassPathResource("redis/timeline-rebuild.lua"), Long.class);
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.celebrityThreshold = celebrityThreshold;
+        this.fanoutBatchSize = fanoutBatchSize;
+        this.celebrityRefreshNanos = celebrityRefresh.toNanos();
+        this.readTimeout = readTimeout;
+
+        this.fanoutLagTimer = Timer.builder("timeline.fanout.lag")
+                .description("Time from a post's creation until it has been fanned out to all timelines")
+                .register(meterRegistry);
+        this.fanoutRecipients = DistributionSummary.builder("timeline.fanout.recipients")
+                .description("Materialized timelines a post was written to")
+                .register(meterRegistry);
+        this.timelineSize = DistributionSummary.builder("timeline.size")
+                .description("Entries in a timeline when it is read or rebuilt")
+                .register(meterRegistry);
+        this.backfillTimer = Timer.builder("timeline.backfill")
+                .description("Time spent rebuilding a timeline from MongoDB")
+                .register(meterRegistry);
+        this.redisReads = Counter.builder("timeline.reads").tag("source", "redis").register(meterRegistry);
+        this.mongoReads = Counter.builder("timeline.reads").tag("source", "mongo").register(meterRegistry);
+    }
+
+    // ----------------- Write path -----------------
+
+    /**
+     * Delivers a new post to the timelines of its author's followers, on the application task
+     * executor. Authors above the celebrity threshold are only recorded in their own author
+     * timeline and merged in on read.
+     *
+     * @param post The saved post.
+     */
+    @Async
+    public void fanOut(Post post) {
+        String authorId = post.getAuthorId();
+        long followers = followRepository.countByFolloweeId(authorId);
+        int recipients;
+
+        if (followers >= celebrityThreshold) {
+            redisTemplate.opsForSet().add(CELEBRITIES_KEY, authorId);
+            addToAuthorTimeline(authorId, List.of(toEntry(post)));
+            recipients = writeToTimelines(List.of(timelineKey(authorId)), post);
+        } else {
+            if (celebrities().contains(authorId)) {
+                redisTemplate.opsForSet().remove(CELEBRITIES_KEY, authorId);
+            }
+            recipients = 0;
+            List<String> batch = new ArrayList<>(fanoutBatchSize);
+            batch.add(timelineKey(authorId));
+            try (Stream<Follow> edges = followRepository.streamFollowersOf(authorId)) {
+                for (Follow edge : (Iterable<Follow>) edges::iterator) {
+                    batch.add(timelineKey(edge.getFollowerId()));
+                    if (batch.size() == fanoutBatchSize) {
+                        recipients += writeToTimelines(batch, post);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                recipients += writeToTimelines(batch, post);
+            }
+        }
+
+        fanoutRecipients.record(recipients);
+        if (post.getCreatedAt() != null) {
+            fanoutLagTimer.record(Duration.between(post.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    /**
+     * Drops a user's timeline, e.g. after they followed or unfollowed someone; it is rebuilt from
+     * MongoDB on the next read.
+     *
+     * @param userId The timeline owner.
+     */
+    public void invalidate(String userId) {
+        redisTemplate.delete(timelineKey(userId));
+    }
+
+    private int writeToTimelines(List<String> keys, Post post) {
+        String score = Long.toString(post.getCreatedAt().toEpochMilli());
+        String cap = Integer.toString(maxSize);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String key : keys) {
+                redis.eval(fanoutScript, ReturnType.INTEGER, 1, key, score, post.getId(), cap);
+            }
+            return null;
+        });
+        int updated = 0;
+        for (Object result : results) {
+            if (result instanceof Long written) {
+                updated += written.intValue();
+            }
+        }
+        return updated;
+    }
+
+    private long addToAuthorTimeline(String authorId, List<TimelineEntry> entries) {
+        return replaceInto(authorKey(authorId), entries);
+    }
+
+    private long replaceInto(String key, List<TimelineEntry> entries) {
+        List<String> args = new ArrayList<>(3 + entries.size() * 2);
+        args.add(Long.toString(ttl.toSeconds()));
+        args.add(Integer.toString(maxSize));
+        args.add(SENTINEL);
+        for (TimelineEntry entry : entries) {
+            args.add(Long.toString(entry.createdAtMillis()));
+            args.add(entry.postId());
+        }
+        Long size = redisTemplate.execute(backfillScript, List.of(key), args.toArray());
+        return size != null ? size : 0;
+    }
+
+    // ----------------- Read path -----------------
+
+    /**
+     * Reads a page of a user's home timeline. The user's own timeline and the posts of the
+     * celebrities they follow are read in parallel; when the timeline is not in Redis the
+     * celebrity lookup is cancelled, as the timeline served from MongoDB already includes them.
+     *
+     * @param userId The timeline owner.
+     * @param cursor The last entry of the previous page, or null for the first page.
+     * @param limit  The maximum number of entries.
+     * @return The entries, newest first.
+     */
+    public List<TimelineEntry> read(String userId, TimelineEntry cursor, int limit) {
+        String key = timelineKey(userId);
+        try (TaskScope scope = TaskScope.open(readTimeout)) {
+            TaskScope.Subtask<List<TimelineEntry>> celebrities =
+                    scope.fork(() -> readCelebrityPosts(userId, cursor, limit));
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.zRevRangeByScoreWithScores(key, 1, maxScore(cursor), 0, limit + TIE_SLACK);
+                redis.expire(key, ttl.toSeconds());
+                redis.zCard(key);
+                redis.zScore(key, SENTINEL);
+                return null;
+            });
+
+            // A sentinel means the timeline is materialized; without one the key is missing, or
+            // holds a rebuild marker and the posts fanned out since.
+            if (results.get(3) != null) {
+                redisReads.increment();
+                timelineSize.record(((Long) results.get(2)) - 1);
+                List<TimelineEntry> entries = toEntries(results.get(0), cursor);
+                scope.join();
+                entries.addAll(celebrities.get());
+                return newestFirst(entries, limit);
+            }
+        }
+
+        // Closing the scope has cancelled the celebrity lookup.
+        mongoReads.increment();
+        scheduleBackfill(userId);
+        return readFromMongo(userId, cursor, limit);
+    }
+
+    private List<TimelineEntry> readCelebrityPosts(String userId, TimelineEntry cursor, int limit) {
+        Set<String> celebrityIds = celebrities().ids();
+        if (celebrityIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> followed = followRepository.findFolloweesAmong(userId, celebrityIds).stream()
+                .map(Follow::getFolloweeId)
+                .toList();
+        if (followed.isEmpty()) {
+            return List.of();
+        }
+
+        // The range includes score 0, so an author timeline that exists returns at least its sentinel.
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String authorId : followed) {
+                redis.zRevRangeByScoreWithScores(authorKey(authorId), 0, maxScore(cursor), 0, limit + TIE_SLACK + 1);
+            }
+            return null;
+        });
+
+        List<TimelineEntry> entries = new ArrayList<>();
+        for (int i = 0; i < followed.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Set<TypedTuple<String>> tuples = (Set<TypedTuple<String>>) results.get(i);
+            if (tuples == null || tuples.isEmpty()) {
+                // Not in Redis: expired, or the author has only just crossed the threshold.
+                entries.addAll(loadAuthorTimeline(followed.get(i), cursor, limit));
+            } else {
+                entries.addAll(toEntries(tuples, cursor));
+            }
+        }
+        return entries;
+    }
+
+    private List<TimelineEntry> loadAuthorTimeline(String authorId, TimelineEntry cursor, int limit) {
+        List<TimelineEntry> recent = findPosts(List.of(authorId), null, maxSize);
+        addToAuthorTimeline(authorId, recent);
+        List<TimelineEntry> page = new ArrayList<>(limit);
+        for (TimelineEntry entry : recent) {
+            if (entry.isAfter(cursor)) {
+                page.add(entry);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    private List<TimelineEntry> readFromMongo(String userId, TimelineEntry cursor, int limit) {
+        Set<String> authors = new HashSet<>();
+        authors.add(userId);
+        for (Follow edge : followRepository.findFolloweesOf(userId)) {
+            authors.add(edge.getFolloweeId());
+        }
+        return findPosts(authors, cursor, limit);
+    }
+
+    // ----------------- Backfill -----------------
+
+    /**
+     * Rebuilds a timeline from MongoDB on the application task executor, unless a rebuild of the
+     * same timeline is already running on this node.
+     *
+     * @param userId The timeline owner.
+     */
+    public void scheduleBackfill(String userId) {
+        if (!backfillsInFlight.add(userId)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    backfillTimer.record(() -> backfill(userId));
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild the timeline of user {}: {}", userId, e.getMessage());
+                } finally {
+                    backfillsInFlight.remove(userId);
+                }
+            });
+        } catch (RuntimeException e) {
+            backfillsInFlight.remove(userId);
+            log.warn("Could not schedule the rebuild of the timeline of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void backfill(String userId) {
+        String key = timelineKey(userId);
+        Long started = redisTemplate.execute(rebuildBeginScript, List.of(key),
+                Long.toString(ttl.toSeconds()), SENTINEL, REBUILD_MARKER);
+        if (started == null || started == 0) {
+            return;
+        }
+        Set<String> celebrityIds = celebrities().ids();
+        Set<String> authors = new HashSet<>();
+        authors.add(userId);
+        for (Follow edge : followRepository.findFolloweesOf(userId)) {
+            if (!celebrityIds.contains(edge.getFolloweeId())) {
+                authors.add(edge.getFolloweeId());
+            }
+        }
+        List<TimelineEntry> entries = findPosts(authors, null, maxSize);
+        List<String> args = new ArrayList<>(4 + entries.size() * 2);
+        args.add(Long.toString(ttl.toSeconds()));
+        args.add(Integer.toString(maxSize));
+        args.add(SENTINEL);
+        args.add(REBUILD_MARKER);
+        for (TimelineEntry entry : entries) {
+            args.add(Long.toString(entry.createdAtMillis()));
+            args.add(entry.postId());
+        }
+        Long size = redisTemplate.execute(rebuildScript, List.of(key), args.toArray());
+        if (size != null && size >= 0) {
+            timelineSize.record(size);
+        }
+    }
+
+    // ----------------- Helpers -----------------
+
+    private List<TimelineEntry> findPosts(Collection<String> authorIds, TimelineEntry cursor, int limit) {
+        Cursor after = cursor == null ? null : new Cursor(cursor.createdAtMillis(), cursor.postId());
+        Query query = new Query(KeysetCriteria.after(Criteria.where("authorId").in(authorIds), after))
+                .with(KeysetCriteria.NEWEST_FIRST)
+                .limit(limit);
+        query.fields().include("_id", "createdAt");
+
+        List<TimelineEntry> entries = new ArrayList<>(limit);
+        for (Post post : mongoTemplate.find(query, Post.class)) {
+            entries.add(toEntry(post));
+        }
+        return entries;
+    }
+
+    private static List<TimelineEntry> toEntries(Object tuples, TimelineEntry cursor) {
+        @SuppressWarnings("unchecked")
+        Set<TypedTuple<String>> set = (Set<TypedTuple<String>>) tuples;
+        List<TimelineEntry> entries = new ArrayList<>(set == null ? 0 : set.size());
+        if (set != null) {
+            for (TypedTuple<String> tuple : set) {
+                if (SENTINEL.equals(tuple.getValue()) || tuple.getScore() == null) {
+                    continue;
+                }
+                TimelineEntry entry = new TimelineEntry(tuple.getValue(), tuple.getScore().longValue());
+                if (entry.isAfter(cursor)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static List<TimelineEntry> newestFirst(List<TimelineEntry> entries, int limit) {
+        entries.sort(TimelineEntry.NEWEST_FIRST);
+        Set<TimelineEntry> unique = new LinkedHashSet<>(entries);
+        return unique.stream().limit(limit).toList();
+    }
+
+    private static TimelineEntry toEntry(Post post) {
+        return new TimelineEntry(post.getId(), post.getCreatedAt().toEpochMilli());
+    }
+
+    private static double maxScore(TimelineEntry cursor) {
+        return cursor == null ? Double.POSITIVE_INFINITY : cursor.createdAtMillis();
+    }
+
+    private CelebritySnapshot celebrities() {
+        CelebritySnapshot snapshot = celebrities;
+        long now = System.nanoTime();
+        if (now - snapshot.loadedAtNanos() > celebrityRefreshNanos || snapshot.loadedAtNanos() == 0) {
+            Set<String> members = redisTemplate.opsForSet().members(CELEBRITIES_KEY);
+            snapshot = new CelebritySnapshot(members == null ? Set.of() : Set.copyOf(members), now);
+            celebrities = snapshot;
+        }
+        return snapshot;
+    }
+
+    static String timelineKey(String userId) {
+        return TIMELINE_KEY_PREFIX + userId;
+    }
+
+    static String authorKey(String authorId) {
+        return AUTHOR_KEY_PREFIX + authorId;
+    }
+
+    /**
+     * Locally cached copy of the celebrity set, refreshed every app.timeline.celebrity-refresh.
+     */
+    private record CelebritySnapshot(Set<String> ids, long loadedAtNanos) {
+
+        boolean contains(String authorId) {
+            return ids.contains(authorId);
+        }
+    }
+}
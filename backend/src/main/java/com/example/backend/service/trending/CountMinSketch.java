@@ -0,0 +1,147 @@
+package com.example.backend.service.trending;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over strings: estimates how often each item was added in a fixed amount of
+ * memory, whatever the number of distinct items.
+ *
+ * The sketch is depth rows of width counters. Adding an item increments one counter per row;
+ * its estimate is the smallest of those counters. Estimates never undercount, and overcount by
+ * at most e * total / width with probability 1 - e^-depth. Adding and estimating are lock-free.
+ *
+ * Each row hashes the item's UTF-8 bytes with 64-bit xxHash (XXH64) seeded with the row number.
+ * Rows must be hashed independently: with double hashing (h1 + row * h2) two items that collide
+ * in two rows collide in all of them, and a 32-bit String.hashCode would make items such as "Aa"
+ * and "BB" share all their counters.
+ */
+public final class CountMinSketch {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width Counters per row, rounded up to a power of two.
+     * @param depth The number of rows, i.e. of hash functions.
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(2, width) * 2 - 1);
+        this.depth = Math.max(1, depth);
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(this.width * this.depth);
+    }
+
+    /**
+     * Adds occurrences of an item.
+     *
+     * @param item  The item.
+     * @param count The occurrences, positive.
+     * @return The item's estimate after the add.
+     */
+    public long add(String item, long count) {
+        byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(bytes, row), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param item The item.
+     * @return The item's estimated occurrences, 0 if it was never added.
+     */
+    public long estimate(String item) {
+        byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(bytes, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return The size of the counters, in bytes.
+     */
+    public long memoryBytes() {
+        return (long) width * depth * Long.BYTES;
+    }
+
+    private int index(byte[] item, int row) {
+        return row * width + (int) (xxh64(item, row) & mask);
+    }
+
+    /**
+     * XXH64 of a byte array.
+     */
+    static long xxh64(byte[] input, long seed) {
+        int length = input.length;
+        int offset = 0;
+        long h;
+        if (length >= 32) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            for (int limit = length - 32; offset <= limit; offset += 32) {
+                v1 = round(v1, (long) LONGS.get(input, offset));
+                v2 = round(v2, (long) LONGS.get(input, offset + 8));
+                v3 = round(v3, (long) LONGS.get(input, offset + 16));
+                v4 = round(v4, (long) LONGS.get(input, offset + 24));
+            }
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = merge(h, v1);
+            h = merge(h, v2);
+            h = merge(h, v3);
+            h = merge(h, v4);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += length;
+
+        for (; offset + 8 <= length; offset += 8) {
+            h ^= round(0, (long) LONGS.get(input, offset));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (offset + 4 <= length) {
+            h ^= ((int) INTS.get(input, offset) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            offset += 4;
+        }
+        for (; offset < length; offset++) {
+            h ^= (input[offset] & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        return h ^ (h >>> 32);
+    }
+
+    private static long round(long acc, long lane) {
+        return Long.rotateLeft(acc + lane * PRIME2, 31) * PRIME1;
+    }
+
+    private static long merge(long h, long v) {
+        return (h ^ round(0, v)) * PRIME1 + PRIME4;
+    }
+}
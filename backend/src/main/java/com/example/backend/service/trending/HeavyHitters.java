@@ -0,0 +1,120 @@
+package com.example.backend.service.trending;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The most frequent items of a stream, in bounded memory: a {@link CountMinSketch} counts every
+ * item, and a set of at most capacity candidates remembers which items have the highest counts.
+ *
+ * An item that is not a candidate is admitted once its estimate exceeds that of the weakest
+ * candidate, which it replaces. Candidates carry no counts of their own; their counts are read
+ * from the sketch, so an item's history before admission is not lost.
+ *
+ * Adding takes no lock unless the item is admitted. Admissions scan the candidates, so the
+ * capacity is meant to be a few times the number of items reported, not thousands.
+ */
+public final class HeavyHitters {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private volatile long admissionThreshold;
+
+    /**
+     * @param capacity The maximum number of candidates.
+     * @param width    Counters per sketch row.
+     * @param depth    Sketch rows.
+     */
+    public HeavyHitters(int capacity, int width, int depth) {
+        this.sketch = new CountMinSketch(width, depth);
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Counts occurrences of an item.
+     *
+     * @param item  The item.
+     * @param count The occurrences, positive.
+     */
+    public void add(String item, long count) {
+        long estimate = sketch.add(item, count);
+        if (estimate > admissionThreshold && !candidates.contains(item)) {
+            admit(item, estimate);
+        }
+    }
+
+    /**
+     * @param item An item, candidate or not.
+     * @return Its estimated occurrences.
+     */
+    public long estimate(String item) {
+        return sketch.estimate(item);
+    }
+
+    /**
+     * @return The candidates with their estimated occurrences.
+     */
+    public Map<String, Long> counts() {
+        Map<String, Long> counts = HashMap.newHashMap(candidates.size());
+        for (String candidate : candidates) {
+            counts.put(candidate, sketch.estimate(candidate));
+        }
+        return counts;
+    }
+
+    /**
+     * @return The approximate memory taken by the sketch and the candidates, in bytes.
+     */
+    public long memoryBytes() {
+        // A set entry and a short string cost roughly 100 bytes.
+        return sketch.memoryBytes() + capacity * 100L;
+    }
+
+    private synchronized void admit(String item, long estimate) {
+        if (candidates.contains(item)) {
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.add(item);
+            if (candidates.size() == capacity) {
+                admissionThreshold = weakest().estimate();
+            }
+            return;
+        }
+
+        Weakest weakest = weakest();
+        if (estimate <= weakest.estimate()) {
+            admissionThreshold = weakest.estimate();
+            return;
+        }
+        candidates.remove(weakest.item());
+        candidates.add(item);
+        admissionThreshold = Math.min(weakest.runnerUp(), estimate);
+    }
+
+    /**
+     * Finds the candidate with the lowest estimate, and the second lowest estimate.
+     */
+    private Weakest weakest() {
+        String weakestItem = null;
+        long lowest = Long.MAX_VALUE;
+        long runnerUp = Long.MAX_VALUE;
+        for (String candidate : candidates) {
+            long estimate = sketch.estimate(candidate);
+            if (estimate < lowest) {
+                runnerUp = lowest;
+                lowest = estimate;
+                weakestItem = candidate;
+            } else if (estimate < runnerUp) {
+                runnerUp = estimate;
+            }
+        }
+        return new Weakest(weakestItem, lowest, runnerUp);
+    }
+
+    private record Weakest(String item, long estimate, long runnerUp) {
+    }
+}
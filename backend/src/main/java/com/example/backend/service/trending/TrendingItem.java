@@ -0,0 +1,10 @@
+package com.example.backend.service.trending;
+
+/**
+ * An item in a trending list.
+ *
+ * @param id    The hashtag, without '#', or the post id.
+ * @param score Its decayed, weighted occurrences over the trending window.
+ */
+public record TrendingItem(String id, double score) {
+}
@@ -0,0 +1,23 @@
+package com.example.backend.service.trending;
+
+/**
+ * The trending lists maintained by the {@link TrendingService}.
+ */
+public enum TrendingKind {
+
+    HASHTAGS("hashtags"),
+    POSTS("posts");
+
+    private final String key;
+
+    TrendingKind(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return The name used in Redis keys and metric tags.
+     */
+    public String key() {
+        return key;
+    }
+}
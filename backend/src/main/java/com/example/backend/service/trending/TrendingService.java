@@ -0,0 +1,280 @@
+package com.example.backend.service.trending;
+
+import com.example.backend.model.Post;
+import com.example.backend.service.engagement.EngagementType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * "Trending now": the hashtags used most in new posts and the posts with the most engagement,
+ * over a sliding window, without querying MongoDB.
+ *
+ * Each node counts the events it handles in a {@link TrendingWindow} per list: time buckets of
+ * Count-Min sketches and heavy hitter candidates, with bounded memory and exponential decay.
+ * Engagement is weighted by kind (app.trending.weights), so one share counts for several views.
+ *
+ * Every app.trending.refresh-interval each node publishes the candidates of the buckets that
+ * changed to Redis, as one sorted set per list, bucket and node, then merges the sets of all
+ * nodes seen within the window with a single ZUNION, weighting each bucket by its decay. The
+ * result is kept in memory and serves every read until the next refresh. While Redis is
+ * unavailable a node serves its own counts.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final String KEY_PREFIX = "trending:";
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_])#(\\p{L}[\\p{L}\\p{N}_]{0,63})");
+    private static final int MAX_HASHTAGS_PER_POST = 10;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock clock;
+    private final String nodeId;
+    private final int topK;
+    private final Map<TrendingKind, TrendingWindow> windows = new EnumMap<>(TrendingKind.class);
+    private final Map<EngagementType, Long> weights = new EnumMap<>(EngagementType.class);
+    private volatile Map<TrendingKind, List<TrendingItem>> snapshot = Map.of();
+
+    private final Map<TrendingKind, Counter> events = new EnumMap<>(TrendingKind.class);
+    private final Timer refreshTimer;
+    private final Counter mergedRefreshes;
+    private final Counter localRefreshes;
+
+    public TrendingService(StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.trending.window:1h}") Duration window,
+            @Value("${app.trending.bucket:5m}") Duration bucket,
+            @Value("${app.trending.half-life:20m}") Duration halfLife,
+            @Value("${app.trending.top-k:50}") int topK,
+            @Value("${app.trending.candidates:200}") int candidates,
+            @Value("${app.trending.sketch.width:2048}") int sketchWidth,
+            @Value("${app.trending.sketch.depth:4}") int sketchDepth,
+            @Value("${app.trending.weights.views:1}") long viewWeight,
+            @Value("${app.trending.weights.likes:3}") long likeWeight,
+            @Value("${app.trending.weights.shares:5}") long shareWeight) {
+        this.redisTemplate = redisTemplate;
+        this.clock = Clock.systemUTC();
+        this.nodeId = UUID.randomUUID().toString().substring(0, 8);
+        this.topK = topK;
+        for (TrendingKind kind : TrendingKind.values()) {
+            windows.put(kind, new TrendingWindow(window, bucket, halfLife, candidates, sketchWidth, sketchDepth));
+            events.put(kind, Counter.builder("trending.events")
+                    .description("Events counted towards a trending list")
+                    .tag("kind", kind.key())
+                    .register(meterRegistry));
+        }
+        weights.put(EngagementType.VIEWS, viewWeight);
+        weights.put(EngagementType.LIKES, likeWeight);
+        weights.put(EngagementType.SHARES, shareWeight);
+
+        this.refreshTimer = Timer.builder("trending.refresh")
+                .description("Time spent publishing and merging the trending summaries")
+                .register(meterRegistry);
+        this.mergedRefreshes = Counter.builder("trending.refreshes").tag("source", "redis").register(meterRegistry);
+        this.localRefreshes = Counter.builder("trending.refreshes").tag("source", "local").register(meterRegistry);
+        Gauge.builder("trending.memory", windows,
+                        w -> w.values().stream().mapToLong(TrendingWindow::memoryBytes).sum())
+                .description("Approximate memory held by the trending sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts the hashtags of a new post.
+     *
+     * @param post The post.
+     */
+    public void recordPost(Post post) {
+        Set<String> hashtags = hashtags(post.getContent());
+        if (hashtags.isEmpty()) {
+            return;
+        }
+        long now = clock.millis();
+        TrendingWindow window = windows.get(TrendingKind.HASHTAGS);
+        for (String hashtag : hashtags) {
+            window.add(hashtag, 1, now);
+        }
+        events.get(TrendingKind.HASHTAGS).increment(hashtags.size());
+    }
+
+    /**
+     * Counts engagement with a post. Negative amounts, which undo engagement, are ignored: the
+     * window forgets old engagement on its own.
+     *
+     * @param postId The post.
+     * @param type   The kind of engagement.
+     * @param amount The amount.
+     */
+    public void recordEngagement(String postId, EngagementType type, long amount) {
+        long weight = weights.get(type);
+        if (amount <= 0 || weight <= 0) {
+            return;
+        }
+        windows.get(TrendingKind.POSTS).add(postId, amount * weight, clock.millis());
+        events.get(TrendingKind.POSTS).increment(amount);
+    }
+
+    /**
+     * Returns a trending list as of the last refresh.
+     *
+     * @param kind  The list.
+     * @param limit The maximum number of items, at most app.trending.top-k.
+     * @return The items, highest score first.
+     */
+    public List<TrendingItem> trending(TrendingKind kind, int limit) {
+        List<TrendingItem> items = snapshot.getOrDefault(kind, List.of());
+        return items.subList(0, Math.min(Math.max(0, limit), items.size()));
+    }
+
+    /**
+     * @return The maximum number of items in a trending list.
+     */
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * Publishes this node's changed buckets and recomputes the trending lists from the summaries
+     * of all nodes, or from this node's alone if Redis cannot be reached.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:10s}")
+    public void refresh() {
+        refreshTimer.record(() -> {
+            long now = clock.millis();
+            Map<TrendingKind, List<TrendingItem>> next = new EnumMap<>(TrendingKind.class);
+            try {
+                publish(now);
+                for (TrendingKind kind : TrendingKind.values()) {
+                    next.put(kind, merge(kind, now));
+                }
+                mergedRefreshes.increment();
+            } catch (RuntimeException e) {
+                log.warn("Could not merge trending summaries through Redis, serving local counts: {}",
+                        e.getMessage());
+                for (TrendingKind kind : TrendingKind.values()) {
+                    next.put(kind, windows.get(kind).top(topK, now));
+                }
+                localRefreshes.increment();
+            }
+            snapshot = next;
+        });
+    }
+
+    private void publish(long now) {
+        Map<TrendingKind, List<TrendingWindow.BucketSummary>> changed = new EnumMap<>(TrendingKind.class);
+        windows.forEach((kind, window) -> changed.put(kind, window.drainChanged(now)));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                changed.forEach((kind, summaries) -> {
+                    TrendingWindow window = windows.get(kind);
+                    long ttlMillis = window.window().plus(window.bucket()).toMillis();
+                    for (TrendingWindow.BucketSummary summary : summaries) {
+                        if (summary.counts().isEmpty()) {
+                            continue;
+                        }
+                        String key = bucketKey(kind, summary.start(), nodeId);
+                        String staging = key + ":staging";
+                        redis.del(staging);
+                        summary.counts().forEach((item, count) -> redis.zAdd(staging, count, item));
+                        redis.pExpire(staging, ttlMillis);
+                        redis.rename(staging, key);
+                    }
+                    String nodes = nodesKey(kind);
+                    redis.zAdd(nodes, now, nodeId);
+                    redis.zRemRangeByScore(nodes, Double.NEGATIVE_INFINITY, now - window.window().toMillis());
+                    redis.pExpire(nodes, ttlMillis);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            windows.values().forEach(window -> window.markChanged(now));
+            throw e;
+        }
+    }
+
+    private List<TrendingItem> merge(TrendingKind kind, long now) {
+        TrendingWindow window = windows.get(kind);
+        Set<String> nodes = redisTemplate.opsForZSet()
+                .rangeByScore(nodesKey(kind), now - window.window().toMillis(), Double.POSITIVE_INFINITY);
+        if (nodes == null || nodes.isEmpty()) {
+            return window.top(topK, now);
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<Double> keyWeights = new ArrayList<>();
+        for (long start : window.bucketStarts(now)) {
+            double weight = window.weight(start, now);
+            for (String node : nodes) {
+                keys.add(bucketKey(kind, start, node));
+                keyWeights.add(weight);
+            }
+        }
+        Set<ZSetOperations.TypedTuple<String>> union = redisTemplate.opsForZSet().unionWithScores(
+                keys.getFirst(), keys.subList(1, keys.size()), Aggregate.SUM,
+                Weights.of(keyWeights.stream().mapToDouble(Double::doubleValue).toArray()));
+
+        List<TrendingItem> items = new ArrayList<>(union == null ? 0 : union.size());
+        if (union != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : union) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    items.add(new TrendingItem(tuple.getValue(), tuple.getScore()));
+                }
+            }
+        }
+        return TrendingWindow.rank(items, topK);
+    }
+
+    /**
+     * Extracts the distinct hashtags of a text, lowercased and without '#'.
+     */
+    static Set<String> hashtags(String content) {
+        if (content == null || content.indexOf('#') < 0) {
+            return Set.of();
+        }
+        Set<String> hashtags = new LinkedHashSet<>();
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find() && hashtags.size() < MAX_HASHTAGS_PER_POST) {
+            hashtags.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return hashtags;
+    }
+
+    /**
+     * The kind in braces is the Redis Cluster hash tag, keeping all keys of a list in one slot
+     * for ZUNION.
+     */
+    private static String bucketKey(TrendingKind kind, long bucketStart, String node) {
+        return KEY_PREFIX + "{" + kind.key() + "}:" + bucketStart + ":" + node;
+    }
+
+    private static String nodesKey(TrendingKind kind) {
+        return KEY_PREFIX + "{" + kind.key() + "}:nodes";
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.backend.service.trending;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Heavy hitters over a sliding time window with exponential decay.
+ *
+ * The window is split into buckets of a fixed duration, each with its own {@link HeavyHitters}.
+ * Events go to the bucket of their time; a bucket older than the window is replaced by a fresh
+ * one when its ring slot comes round again, so memory is bounded by the number of buckets.
+ *
+ * An item's score is the sum over the buckets in the window of its estimate in the bucket, times
+ * 0.5^(age / halfLife) where age is the time since the bucket ended. The candidates of any bucket
+ * are scored against the sketches of all buckets, so an item that was admitted late still gets
+ * credit for its earlier occurrences.
+ *
+ * Times are passed in as epoch milliseconds, so callers and benchmarks control the clock.
+ */
+public final class TrendingWindow {
+
+    /**
+     * The candidates of one bucket, for publishing.
+     *
+     * @param start  The bucket's start, in epoch milliseconds.
+     * @param counts The candidates and their estimated occurrences in the bucket.
+     */
+    public record BucketSummary(long start, Map<String, Long> counts) {
+    }
+
+    private final long bucketMillis;
+    private final long windowMillis;
+    private final double halfLifeMillis;
+    private final int capacity;
+    private final int width;
+    private final int depth;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    /**
+     * @param window   The window duration, rounded up to whole buckets.
+     * @param bucket   The bucket duration.
+     * @param halfLife The age at which a bucket counts half.
+     * @param capacity Heavy hitter candidates per bucket.
+     * @param width    Counters per sketch row.
+     * @param depth    Sketch rows.
+     */
+    public TrendingWindow(Duration window, Duration bucket, Duration halfLife, int capacity, int width, int depth) {
+        this.bucketMillis = Math.max(1, bucket.toMillis());
+        int buckets = (int) Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis);
+        this.windowMillis = buckets * bucketMillis;
+        this.halfLifeMillis = Math.max(1, halfLife.toMillis());
+        this.capacity = capacity;
+        this.width = width;
+        this.depth = depth;
+        // One extra slot, so the bucket leaving the window is not overwritten by the one entering it.
+        this.ring = new AtomicReferenceArray<>(buckets + 1);
+    }
+
+    /**
+     * Counts occurrences of an item.
+     *
+     * @param item       The item.
+     * @param count      The occurrences, positive.
+     * @param nowMillis  The event time.
+     */
+    public void add(String item, long count, long nowMillis) {
+        Bucket bucket = bucket(nowMillis);
+        bucket.hitters.add(item, count);
+        if (!bucket.dirty.get()) {
+            bucket.dirty.set(true);
+        }
+    }
+
+    /**
+     * Ranks the items of the window.
+     *
+     * @param limit     The maximum number of items.
+     * @param nowMillis The current time.
+     * @return The items with the highest scores, highest first.
+     */
+    public List<TrendingItem> top(int limit, long nowMillis) {
+        List<Bucket> live = live(nowMillis);
+        Set<String> candidates = new HashSet<>();
+        for (Bucket bucket : live) {
+            candidates.addAll(bucket.hitters.counts().keySet());
+        }
+        List<TrendingItem> items = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            double score = 0;
+            for (Bucket bucket : live) {
+                long estimate = bucket.hitters.estimate(candidate);
+                if (estimate > 0) {
+                    score += estimate * weight(bucket.start, nowMillis);
+                }
+            }
+            items.add(new TrendingItem(candidate, score));
+        }
+        return rank(items, limit);
+    }
+
+    /**
+     * Returns the buckets that received events since they were last returned, and marks them as
+     * published.
+     *
+     * @param nowMillis The current time.
+     * @return The summaries of those buckets.
+     */
+    public List<BucketSummary> drainChanged(long nowMillis) {
+        List<BucketSummary> changed = new ArrayList<>();
+        for (Bucket bucket : live(nowMillis)) {
+            if (bucket.dirty.compareAndSet(true, false)) {
+                changed.add(new BucketSummary(bucket.start, bucket.hitters.counts()));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Marks every bucket in the window as changed, so the next {@link #drainChanged} returns them
+     * all again, e.g. after publishing them failed.
+     *
+     * @param nowMillis The current time.
+     */
+    public void markChanged(long nowMillis) {
+        for (Bucket bucket : live(nowMillis)) {
+            bucket.dirty.set(true);
+        }
+    }
+
+    /**
+     * @param bucketStart A bucket's start, in epoch milliseconds.
+     * @param nowMillis   The current time.
+     * @return The weight of the bucket's counts in the scores; 0 once it has left the window.
+     */
+    public double weight(long bucketStart, long nowMillis) {
+        if (bucketStart <= nowMillis - windowMillis) {
+            return 0;
+        }
+        long age = Math.max(0, nowMillis - (bucketStart + bucketMillis));
+        return Math.pow(0.5, age / halfLifeMillis);
+    }
+
+    /**
+     * @param nowMillis The current time.
+     * @return The starts of the buckets in the window ending now, oldest first.
+     */
+    public List<Long> bucketStarts(long nowMillis) {
+        long newest = nowMillis - Math.floorMod(nowMillis, bucketMillis);
+        List<Long> starts = new ArrayList<>();
+        for (long start = newest - windowMillis + bucketMillis; start <= newest; start += bucketMillis) {
+            starts.add(start);
+        }
+        return starts;
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    public Duration bucket() {
+        return Duration.ofMillis(bucketMillis);
+    }
+
+    /**
+     * @return The approximate memory taken by the buckets allocated so far, in bytes.
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null) {
+                bytes += bucket.hitters.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Sorts items by descending score and keeps the first ones.
+     */
+    static List<TrendingItem> rank(List<TrendingItem> items, int limit) {
+        items.sort(Comparator.comparingDouble(TrendingItem::score).reversed().thenComparing(TrendingItem::id));
+        return List.copyOf(items.subList(0, Math.min(limit, items.size())));
+    }
+
+    private Bucket bucket(long nowMillis) {
+        long start = nowMillis - Math.floorMod(nowMillis, bucketMillis);
+        int slot = Math.floorMod(start / bucketMillis, ring.length());
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.start >= start) {
+                // A late event whose bucket has been recycled is counted in the newer bucket.
+                return bucket;
+            }
+            Bucket fresh = new Bucket(start, new HeavyHitters(capacity, width, depth));
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<Bucket> live(long nowMillis) {
+        List<Bucket> live = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null && bucket.start > nowMillis - windowMillis) {
+                live.add(bucket);
+            }
+        }
+        return live;
+    }
+
+    private static final class Bucket {
+
+        final long start;
+        final HeavyHitters hitters;
+        final AtomicBoolean dirty = new AtomicBoolean();
+
+        Bucket(long start, HeavyHitters hitters) {
+            this.start = start;
+            this.hitters = hitters;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.startup;
+
+import com.cloudinary.Cloudinary;
+import com.example.backend.repository.MongoIndexInitializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gets the clients the application needs off the startup path and into the readiness probe.
+ *
+ * Once the application has started, a virtual thread runs the warmup steps. Critical steps (the
+ * MongoDB indexes and a Redis round trip, which also open the first pooled connections) are
+ * retried every app.startup.warmup.retry-interval until they succeed; until then this indicator,
+ * part of the readiness health group, reports OUT_OF_SERVICE and the instance gets no traffic.
+ * Non-critical steps (creating lazy clients such as Cloudinary) run afterwards, once; a failure
+ * only means the client is created on first use instead.
+ *
+ * Each step is timed as "startup.warmup" with its name as the step tag.
+ */
+@Component
+public class StartupWarmup implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final Map<String, Runnable> criticalSteps = new LinkedHashMap<>();
+    private final Map<String, Runnable> backgroundSteps = new LinkedHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Duration retryInterval;
+    private final MeterRegistry meterRegistry;
+
+    public StartupWarmup(MongoIndexInitializer mongoIndexInitializer,
+            StringRedisTemplate redisTemplate,
+            ObjectProvider<Cloudinary> cloudinary,
+            MeterRegistry meterRegistry,
+            @Value("${app.startup.warmup.retry-interval:2s}") Duration retryInterval) {
+        this.meterRegistry = meterRegistry;
+        this.retryInterval = retryInterval;
+
+        criticalSteps.put("mongo", mongoIndexInitializer::ensureIndexes);
+        criticalSteps.put("redis", () -> redisTemplate.execute((RedisCallback<String>) RedisConnection::ping));
+        backgroundSteps.put("cloudinary", cloudinary::getObject);
+        pending.addAll(criticalSteps.keySet());
+    }
+
+    /**
+     * Starts the warmup once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("startup-warmup").start(this::run);
+    }
+
+    @Override
+    public Health health() {
+        if (pending.isEmpty()) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("pending", List.copyOf(pending)).build();
+    }
+
+    private void run() {
+        for (Map.Entry<String, Runnable> step : criticalSteps.entrySet()) {
+            while (!runStep(step.getKey(), step.getValue())) {
+                try {
+                    Thread.sleep(retryInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            pending.remove(step.getKey());
+        }
+        log.info("Critical clients are ready, accepting traffic");
+
+        backgroundSteps.forEach(this::runStep);
+    }
+
+    private boolean runStep(String name, Runnable step) {
+        Timer.Sample sample = Timer.start();
+        try {
+            step.run();
+            sample.stop(Timer.builder("startup.warmup").tag("step", name).register(meterRegistry));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Startup warmup step '{}' failed: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs slow and failed MongoDB commands together with the trace of the request that issued them.
+ *
+ * The synchronous driver notifies listeners on the calling thread, so the MDC (and with it the
+ * traceId/spanId) of the request is still in place when these events fire.
+ */
+public class MongoTraceCommandListener implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoTraceCommandListener.class);
+
+    private final long slowThresholdMs;
+
+    /**
+     * Creates the listener.
+     *
+     * @param slowThresholdMs Commands taking at least this long are logged.
+     */
+    public MongoTraceCommandListener(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        long elapsedMs = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (elapsedMs >= slowThresholdMs) {
+            log.warn("Slow MongoDB command {} on {} took {}ms",
+                    event.getCommandName(), event.getDatabaseName(), elapsedMs);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        log.warn("MongoDB command {} on {} failed after {}ms: {}",
+                event.getCommandName(),
+                event.getDatabaseName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS),
+                event.getThrowable().getMessage());
+    }
+}
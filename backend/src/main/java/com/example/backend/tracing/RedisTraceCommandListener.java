@@ -0,0 +1,74 @@
+package com.example.backend.tracing;
+
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs slow and failed Redis commands together with the trace of the request that issued them.
+ *
+ * Lettuce completes commands on its event loop threads, so the caller's context is captured into
+ * the command's event context when it is started and re-attached while logging its completion.
+ */
+public class RedisTraceCommandListener implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTraceCommandListener.class);
+
+    private static final String CONTEXT_KEY = TraceContext.class.getName();
+    private static final String STARTED_KEY = RedisTraceCommandListener.class.getName() + ".started";
+
+    private final long slowThresholdNanos;
+
+    /**
+     * Creates the listener.
+     *
+     * @param slowThresholdMs Commands taking at least this long are logged.
+     */
+    public RedisTraceCommandListener(long slowThresholdMs) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        TraceContext context = TraceContextHolder.current();
+        if (context != null) {
+            event.getContext().put(CONTEXT_KEY, context);
+        }
+        event.getContext().put(STARTED_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        long elapsedNanos = elapsedNanos(event.getContext().get(STARTED_KEY));
+        if (elapsedNanos >= slowThresholdNanos) {
+            TraceContext previous = TraceContextHolder.set((TraceContext) event.getContext().get(CONTEXT_KEY));
+            try {
+                log.warn("Slow Redis command {} took {}ms",
+                        event.getCommand().getType(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            } finally {
+                TraceContextHolder.restore(previous);
+            }
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        TraceContext previous = TraceContextHolder.set((TraceContext) event.getContext().get(CONTEXT_KEY));
+        try {
+            log.warn("Redis command {} failed after {}ms: {}",
+                    event.getCommand().getType(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos(event.getContext().get(STARTED_KEY))),
+                    event.getCause().getMessage());
+        } finally {
+            TraceContextHolder.restore(previous);
+        }
+    }
+
+    private static long elapsedNanos(Object startedAt) {
+        return startedAt instanceof Long started ? System.nanoTime() - started : 0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.backend.tracing;
+
+import java.util.Locale;
+
+/**
+ * The trace a unit of work belongs to, as carried by the W3C traceparent header.
+ *
+ * @param traceId      32 lowercase hex characters identifying the whole trace.
+ * @param spanId       16 lowercase hex characters identifying this service's span.
+ * @param parentSpanId The caller's span id, or null for a new trace.
+ * @param sampled      The sampled flag propagated from the caller.
+ */
+public record TraceContext(String traceId, String spanId, String parentSpanId, boolean sampled) {
+
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    /**
+     * Starts a new trace.
+     *
+     * @return A root context with fresh trace and span ids.
+     */
+    public static TraceContext newRoot() {
+        return new TraceContext(TraceIdGenerator.newTraceId(), TraceIdGenerator.newSpanId(), null, true);
+    }
+
+    /**
+     * Starts a new span in an existing trace identified by a legacy X-Trace-Id header.
+     *
+     * @param traceId A 32-hex-digit id or a UUID; anything else starts a new trace.
+     * @return The context.
+     */
+    public static TraceContext fromTraceId(String traceId) {
+        String normalized = normalizeTraceId(traceId);
+        if (normalized == null) {
+            return newRoot();
+        }
+        return new TraceContext(normalized, TraceIdGenerator.newSpanId(), null, true);
+    }
+
+    /**
+     * Parses a W3C traceparent header ("00-{trace-id}-{parent-id}-{flags}").
+     *
+     * @param traceparent The header value, may be null.
+     * @return The caller's context, or null if the header is absent or invalid.
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        // Future versions may append fields, version 00 must be exactly 55 characters.
+        if (traceparent.startsWith("00") ? traceparent.length() != TRACEPARENT_LENGTH
+                : traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-') {
+            return null;
+        }
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        if (!isHex(traceparent, 0, 2) || traceparent.startsWith("ff")
+                || !isHex(traceparent, 3, 35) || isZero(traceparent, 3, 35)
+                || !isHex(traceparent, 36, 52) || isZero(traceparent, 36, 52)
+                || !isHex(traceparent, 53, 55)) {
+            return null;
+        }
+
+        boolean sampled = (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+        return new TraceContext(traceparent.substring(3, 35), traceparent.substring(36, 52), null, sampled);
+    }
+
+    /**
+     * Creates the context for a new span inside this trace, e.g. for this service's handling of a
+     * request whose traceparent named the caller's span.
+     *
+     * @return A context with the same trace id and a fresh span id.
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, TraceIdGenerator.newSpanId(), spanId, sampled);
+    }
+
+    /**
+     * Formats this context as a W3C traceparent header value.
+     *
+     * @return The header value.
+     */
+    public String traceparent() {
+        return "00-" + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static String normalizeTraceId(String traceId) {
+        if (traceId == null) {
+            return null;
+        }
+        if (traceId.length() == 36 && traceId.charAt(8) == '-' && traceId.charAt(13) == '-'
+                && traceId.charAt(18) == '-' && traceId.charAt(23) == '-') {
+            traceId = traceId.substring(0, 8) + traceId.substring(9, 13) + traceId.substring(14, 18)
+                    + traceId.substring(19, 23) + traceId.substring(24);
+        }
+        if (traceId.length() != 32) {
+            return null;
+        }
+        String lowerCase = traceId.toLowerCase(Locale.ROOT);
+        return isHex(lowerCase, 0, 32) && !isZero(lowerCase, 0, 32) ? lowerCase : null;
+    }
+
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.backend.tracing;
+
+import java.util.concurrent.Callable;
+import org.slf4j.MDC;
+
+/**
+ * Binds the current {@link TraceContext} to the executing thread and mirrors it into the MDC
+ * ("traceId", "spanId") so every log line carries it.
+ *
+ * Work handed to other threads (executors, @Async methods, virtual threads) must be wrapped with
+ * {@link #wrap(Runnable)} or {@link #wrap(Callable)}; the application's task executors do this
+ * through {@link TraceContextTaskDecorator}.
+ */
+public final class TraceContextHolder {
+
+    /** MDC key of the trace id. */
+    public static final String TRACE_ID_KEY = "traceId";
+
+    /** MDC key of the span id. */
+    public static final String SPAN_ID_KEY = "spanId";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private TraceContextHolder() {
+        // This class should not be instantiated.
+    }
+
+    /**
+     * Returns the context bound to the current thread.
+     *
+     * @return The context, or null outside of a traced unit of work.
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a context to the current thread.
+     *
+     * @param context The context to bind, or null to clear.
+     * @return The previously bound context, to be passed to {@link #restore(TraceContext)}.
+     */
+    public static TraceContext set(TraceContext context) {
+        TraceContext previous = CURRENT.get();
+        apply(context);
+        return previous;
+    }
+
+    /**
+     * Restores the context that was bound before a call to {@link #set(TraceContext)}.
+     *
+     * @param previous The value returned by set.
+     */
+    public static void restore(TraceContext previous) {
+        apply(previous);
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's trace context.
+     *
+     * @param task The task.
+     * @return The wrapped task, or the task itself when there is no current context.
+     */
+    public static Runnable wrap(Runnable task) {
+        TraceContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            TraceContext previous = set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so it runs with the caller's trace context.
+     *
+     * @param task The task.
+     * @param <T>  The result type.
+     * @return The wrapped task, or the task itself when there is no current context.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TraceContext captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            TraceContext previous = set(captured);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void apply(TraceContext context) {
+        if (context == null) {
+            CURRENT.remove();
+            MDC.remove(TRACE_ID_KEY);
+            MDC.remove(SPAN_ID_KEY);
+        } else {
+            CURRENT.set(context);
+            MDC.put(TRACE_ID_KEY, context.traceId());
+            MDC.put(SPAN_ID_KEY, context.spanId());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.tracing;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propagates the submitting thread's trace context into tasks run by Spring-managed executors,
+ * including @Async methods and virtual-thread executors.
+ */
+public class TraceContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TraceContextHolder.wrap(runnable);
+    }
+}
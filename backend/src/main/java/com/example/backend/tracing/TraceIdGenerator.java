@@ -0,0 +1,55 @@
+package com.example.backend.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates W3C-compatible trace (128-bit) and span (64-bit) ids as lowercase hex.
+ *
+ * Ids only need to be unique, not unpredictable, so they come from {@link ThreadLocalRandom}
+ * instead of the SecureRandom behind UUID.randomUUID(), which contends under load.
+ */
+public final class TraceIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceIdGenerator() {
+        // This class should not be instantiated.
+    }
+
+    /**
+     * Creates a random, non-zero 128-bit trace id.
+     *
+     * @return 32 lowercase hex characters.
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * Creates a random, non-zero 64-bit span id.
+     *
+     * @return 16 lowercase hex characters.
+     */
+    public static String newSpanId() {
+        long id = ThreadLocalRandom.current().nextLong();
+        char[] chars = new char[16];
+        writeHex(id != 0 ? id : 1, chars, 0);
+        return new String(chars);
+    }
+
+    private static void writeHex(long value, char[] target, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.backend.tracing;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Wires trace propagation into the places where work leaves the request thread: Spring task
+ * executors, the MongoDB driver and the Lettuce Redis client.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${app.tracing.slow-command-threshold-ms:100}")
+    private long slowCommandThresholdMs;
+
+    /**
+     * Picked up by the auto-configured application task executor and scheduler, so @Async methods
+     * log with the traceId of the request that triggered them.
+     *
+     * @return The decorator.
+     */
+    @Bean
+    public TaskDecorator traceContextTaskDecorator() {
+        return new TraceContextTaskDecorator();
+    }
+
+    /**
+     * Registers the slow command listener with the MongoDB client.
+     *
+     * @return The customizer.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTraceCustomizer() {
+        MongoTraceCommandListener listener = new MongoTraceCommandListener(slowCommandThresholdMs);
+        return builder -> builder.addCommandListener(listener);
+    }
+
+    /**
+     * Registers the slow command listener with the Lettuce client once the connection factory has
+     * created it.
+     *
+     * @param connectionFactory The Redis connection factory, if Redis is configured.
+     * @return The initializer.
+     */
+    @Bean
+    public SmartInitializingSingleton redisTraceListenerRegistrar(
+            ObjectProvider<LettuceConnectionFactory> connectionFactory) {
+        return () -> connectionFactory.ifAvailable(factory -> {
+            RedisTraceCommandListener listener = new RedisTraceCommandListener(slowCommandThresholdMs);
+            AbstractRedisClient client = factory.getNativeClient();
+            if (client instanceof RedisClient redisClient) {
+                redisClient.addListener(listener);
+            } else if (client instanceof RedisClusterClient clusterClient) {
+                clusterClient.addListener(listener);
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+-- Applies counter deltas to a post's Redis mirror, but only if the mirror exists. A mirror is
+-- seeded from MongoDB on read; incrementing a missing one would create it with partial counts.
+-- KEYS[1] = counters hash
+-- ARGV = field, delta, field, delta, ...
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+for i = 1, #ARGV, 2 do
+    redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+return 1
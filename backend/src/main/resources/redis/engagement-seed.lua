@@ -0,0 +1,13 @@
+-- Seeds a post's Redis mirror with the counts read from MongoDB, unless another reader or the
+-- flush got there first. The TTL is not extended by increments, so a mirror that missed a flush
+-- while being seeded corrects itself when it expires.
+-- KEYS[1] = counters hash
+-- ARGV[1] = TTL in milliseconds, ARGV[2..] = field, value, field, value, ...
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+for i = 2, #ARGV, 2 do
+    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+redis.call('PEXPIRE', KEYS[1], ARGV[1])
+return 1
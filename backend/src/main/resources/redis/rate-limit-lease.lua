@@ -0,0 +1,29 @@
+-- Leases up to ARGV[3] tokens from a token bucket, refilling it for the time elapsed since the
+-- last call. Redis' clock is used so that all nodes agree on the refill.
+-- KEYS[1] = bucket hash (tokens, ts)
+-- ARGV[1] = capacity, ARGV[2] = refill per second, ARGV[3] = tokens requested
+-- Returns { tokens granted, milliseconds until the next token if none were granted }
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2]) / 1000
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1]) or capacity
+local ts = tonumber(bucket[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- A full bucket carries no state, so the key may expire once it would have refilled.
+redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)
+
+local retryAfter = 0
+if granted == 0 then
+    retryAfter = math.ceil((1 - tokens) / rate)
+end
+return { granted, retryAfter }
@@ -0,0 +1,19 @@
+-- Marks a refresh token as used, exactly once. A second use of the same token means it was copied,
+-- so its whole family is revoked. Used tokens are kept apart from the revoked identifiers: a
+-- replayed token must still reach this script for the reuse to be detected.
+-- KEYS[1] = rotation key of the token, KEYS[2] = revocation key of its family,
+-- KEYS[3] = index of revoked identifiers by expiry
+-- ARGV[1] = token expiry, ARGV[2] = family id, ARGV[3] = family expiry (epoch ms)
+-- Returns 0 if the token was rotated, 1 if it had been used before, 2 if its family is revoked
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return 2
+end
+local ttl = math.max(1, tonumber(ARGV[1]) - now)
+if redis.call('SET', KEYS[1], 'rotated', 'NX', 'PX', ttl) then
+    return 0
+end
+redis.call('SET', KEYS[2], 'reused', 'PX', math.max(1, tonumber(ARGV[3]) - now))
+redis.call('ZADD', KEYS[3], ARGV[3], ARGV[2])
+return 1
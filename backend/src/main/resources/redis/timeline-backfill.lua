@@ -0,0 +1,12 @@
+-- Merges posts into an author timeline, marks it materialized and sets its TTL. Home timelines
+-- are rebuilt with timeline-rebuild-begin.lua and timeline-rebuild.lua instead.
+-- ARGV[1] = ttl seconds, ARGV[2] = cap, ARGV[3] = sentinel member,
+-- ARGV[4..] = score, post id pairs
+local key = KEYS[1]
+redis.call('ZADD', key, 0, ARGV[3])
+for i = 4, #ARGV, 2 do
+    redis.call('ZADD', key, ARGV[i], ARGV[i + 1])
+end
+redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[2]) + 1))
+redis.call('EXPIRE', key, ARGV[1])
+return redis.call('ZCARD', key) - 1
@@ -0,0 +1,13 @@
+-- Adds a post to a timeline, if it exists, and trims it to the cap. Called once per follower
+-- in a pipeline rather than with all followers' keys, which would span hash slots on a cluster.
+-- A timeline that does not exist (never read or evicted) is skipped; it is backfilled from
+-- MongoDB on its next read. Rank 0 is the sentinel or the rebuild marker (score 0) and is never
+-- trimmed.
+-- ARGV[1] = score (createdAt millis), ARGV[2] = post id, ARGV[3] = cap
+local key = KEYS[1]
+if redis.call('EXISTS', key) == 0 then
+    return 0
+end
+redis.call('ZADD', key, ARGV[1], ARGV[2])
+redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[3]) + 1))
+return 1
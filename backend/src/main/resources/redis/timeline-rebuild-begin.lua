@@ -0,0 +1,11 @@
+-- Starts rebuilding a timeline that is not materialized: creates the key with a rebuild marker
+-- (score 0) so that fan-outs arriving while MongoDB is read are kept rather than skipped.
+-- Returns 0 if the timeline is materialized already and needs no rebuild.
+-- ARGV[1] = ttl seconds, ARGV[2] = sentinel member, ARGV[3] = rebuild marker member
+local key = KEYS[1]
+if redis.call('ZSCORE', key, ARGV[2]) then
+    return 0
+end
+redis.call('ZADD', key, 0, ARGV[3])
+redis.call('EXPIRE', key, ARGV[1])
+return 1
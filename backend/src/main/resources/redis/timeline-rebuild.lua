@@ -0,0 +1,18 @@
+-- Completes a rebuild started by timeline-rebuild-begin.lua: merges the posts loaded from
+-- MongoDB with those fanned out in the meantime, replaces the marker with the sentinel and sets
+-- the TTL. Returns -1 without writing if the marker is gone, i.e. the timeline was invalidated
+-- or another rebuild completed first, as the posts may then be stale.
+-- ARGV[1] = ttl seconds, ARGV[2] = cap, ARGV[3] = sentinel member, ARGV[4] = rebuild marker
+-- member, ARGV[5..] = score, post id pairs
+local key = KEYS[1]
+if not redis.call('ZSCORE', key, ARGV[4]) then
+    return -1
+end
+redis.call('ZREM', key, ARGV[4])
+redis.call('ZADD', key, 0, ARGV[3])
+for i = 5, #ARGV, 2 do
+    redis.call('ZADD', key, ARGV[i], ARGV[i + 1])
+end
+redis.call('ZREMRANGEBYRANK', key, 1, -(tonumber(ARGV[2]) + 1))
+redis.call('EXPIRE', key, ARGV[1])
+return redis.call('ZCARD', key) - 1
@@ -0,0 +1,12 @@
+-- Revokes a token identifier (a jti or a refresh token family) until it expires on its own.
+-- KEYS[1] = revocation key, KEYS[2] = index of revoked identifiers by expiry
+-- ARGV[1] = identifier, ARGV[2] = reason, ARGV[3] = expiry in epoch milliseconds
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local ttl = tonumber(ARGV[3]) - now
+if ttl <= 0 then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ttl)
+redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+return 1
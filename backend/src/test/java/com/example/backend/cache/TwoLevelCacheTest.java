@@ -0,0 +1,203 @@
+package com.example.backend.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.example.backend.model.Post;
+import com.example.backend.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+class TwoLevelCacheTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    private static final String CACHE = "posts";
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        TwoLevelCache cache = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> cache.get("hot", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "value";
+                })));
+            }
+            await().until(() -> loads.get() > 0);
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("value");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void l2HitsArePromotedIntoL1() {
+        TwoLevelCache writer = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoLevelCache reader = node(redis.connectionFactory(), meterRegistry).getCache(CACHE);
+        Post post = post("p1");
+        writer.put("p1", post);
+
+        Post read = reader.get("p1", () -> {
+            throw new AssertionError("Should have been read from Redis");
+        });
+
+        assertThat(read).usingRecursiveComparison().isEqualTo(post);
+        assertThat(meterRegistry.get("cache.l2.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+
+        redis.template().delete("cache:" + CACHE + ":p1");
+        assertThat(reader.get("p1", Post.class)).usingRecursiveComparison().isEqualTo(post);
+    }
+
+    @Test
+    void cachedNullsRoundTrip() {
+        TwoLevelCache writer = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        TwoLevelCache reader = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        writer.get("missing", () -> null);
+
+        assertThat(reader.get("missing")).isNotNull().extracting(ValueWrapper::get).isNull();
+    }
+
+    @Test
+    void batchLookupsReadWhatWasBackfilled() {
+        TwoLevelCache writer = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        TwoLevelCache reader = node(redis.connectionFactory(), new SimpleMeterRegistry()).getCache(CACHE);
+        writer.backfill(Map.of("p1", post("p1"), "p2", post("p2")), new SyncTaskExecutor());
+
+        assertThat(writer.getAllLocal(List.of("p1", "p2", "p3"))).containsOnlyKeys("p1", "p2");
+        assertThat(reader.getAllLocal(List.of("p1", "p2"))).isEmpty();
+        assertThat(reader.getAllRemote(List.of("p1", "p2", "p3"))).containsOnlyKeys("p1", "p2");
+        assertThat(reader.getAllLocal(List.of("p1", "p2"))).containsOnlyKeys("p1", "p2");
+    }
+
+    @Test
+    void fallsBackToTheLoaderWhenRedisIsDown() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        LettuceConnectionFactory unreachable =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        unreachable.afterPropertiesSet();
+        unreachable.start();
+        try {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            TwoLevelCache cache = node(unreachable, meterRegistry).getCache(CACHE);
+            AtomicInteger loads = new AtomicInteger();
+
+            assertThat(cache.get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+            assertThat(cache.get("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+            assertThat(cache.getAllRemote(List.of("other"))).isEmpty();
+            assertThat(meterRegistry.get("cache.l2.errors").counter().count()).isPositive();
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    @Test
+    void evictionsAndPutsReachTheL1OfOtherNodes() {
+        TwoLevelCache node1 = subscribedNode().getCache(CACHE);
+        TwoLevelCache node2 = subscribedNode().getCache(CACHE);
+        node1.put("k", "v1");
+        assertThat(node2.get("k", () -> "loaded")).isEqualTo("v1");
+
+        node1.put("k", "v2");
+        await().atMost(Duration.ofSeconds(5)).until(() -> "v2".equals(node2.get("k", () -> "loaded")));
+
+        node1.evict("k");
+        await().atMost(Duration.ofSeconds(5)).until(() -> "loaded".equals(node2.get("k", () -> "loaded")));
+
+        node1.clear();
+        await().atMost(Duration.ofSeconds(5)).until(() -> "reloaded".equals(node2.get("k", () -> "reloaded")));
+    }
+
+    private TwoLevelCacheManager subscribedNode() {
+        CacheInvalidationPublisher publisher =
+                new CacheInvalidationPublisher(stringTemplate(redis.connectionFactory()));
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redis.connectionFactory());
+        container.addMessageListener(publisher, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        containers.add(container);
+        await().atMost(Duration.ofSeconds(5)).until(container::isListening);
+        return node(redis.connectionFactory(), publisher, new SimpleMeterRegistry());
+    }
+
+    private static TwoLevelCacheManager node(RedisConnectionFactory connectionFactory,
+            SimpleMeterRegistry meterRegistry) {
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(stringTemplate(connectionFactory));
+        return node(connectionFactory, publisher, meterRegistry);
+    }
+
+    private static TwoLevelCacheManager node(RedisConnectionFactory connectionFactory,
+            CacheInvalidationPublisher publisher, SimpleMeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(bytesTemplate(connectionFactory), new SmileCacheSerializer(), publisher,
+                meterRegistry, 100, Duration.ofMinutes(10), Duration.ofMinutes(10));
+    }
+
+    private static RedisTemplate<String, byte[]> bytesTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setEnableDefaultSerializer(false);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static StringRedisTemplate stringTemplate(RedisConnectionFactory connectionFactory) {
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static Post post(String id) {
+        Post post = new Post("author", "content of " + id, Instant.parse("2026-01-01T00:00:00Z"));
+        post.setId(id);
+        return post;
+    }
+}
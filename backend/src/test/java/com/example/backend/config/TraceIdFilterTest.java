@@ -0,0 +1,76 @@
+package com.example.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.logging.SampledErrorLogger;
+import com.example.backend.tracing.TraceContext;
+import com.example.backend.tracing.TraceContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class TraceIdFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TraceIdFilter filter = new TraceIdFilter(
+            new SampledErrorLogger(10, 1000, Duration.ofSeconds(10), meterRegistry), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        TraceContextHolder.restore(null);
+        MDC.clear();
+    }
+
+    @Test
+    void bindsTheTraceForTheRequestOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader(TraceIdFilter.TRACE_ID_HEADER, TRACE_ID);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (_, _) -> seen.set(MDC.get(TraceContextHolder.TRACE_ID_KEY)));
+
+        assertThat(seen.get()).isEqualTo(TRACE_ID);
+        assertThat(response.getHeader(TraceIdFilter.TRACE_ID_HEADER)).isEqualTo(TRACE_ID);
+        assertThat(TraceContextHolder.current()).isNull();
+        assertThat(MDC.get(TraceContextHolder.TRACE_ID_KEY)).isNull();
+        assertThat(leaks("entry")).isZero();
+        assertThat(leaks("exit")).isZero();
+    }
+
+    @Test
+    void replacesLeftoverTraceStateAndKeepsOtherMdcEntries() throws Exception {
+        MDC.put(TraceContextHolder.TRACE_ID_KEY, "stale");
+        MDC.put("userId", "user-1");
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (_, _) -> seen.set(MDC.get(TraceContextHolder.TRACE_ID_KEY)));
+
+        assertThat(seen.get()).isNotEqualTo("stale");
+        assertThat(MDC.get(TraceContextHolder.TRACE_ID_KEY)).isNull();
+        assertThat(MDC.get("userId")).isEqualTo("user-1");
+        assertThat(leaks("entry")).isEqualTo(1);
+    }
+
+    @Test
+    void countsAContextTheChainDidNotRestore() throws Exception {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (_, _) -> TraceContextHolder.set(TraceContext.newRoot()));
+
+        assertThat(TraceContextHolder.current()).isNull();
+        assertThat(MDC.get(TraceContextHolder.SPAN_ID_KEY)).isNull();
+        assertThat(leaks("exit")).isEqualTo(1);
+    }
+
+    private double leaks(String phase) {
+        return meterRegistry.get("tracing.context.leaks").tag("phase", phase).counter().count();
+    }
+}
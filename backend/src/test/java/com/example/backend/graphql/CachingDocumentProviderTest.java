@@ -0,0 +1,136 @@
+package com.example.backend.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.support.EmbeddedRedis;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class CachingDocumentProviderTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    private static final String SCHEMA = "type Query { hello: String }";
+    private static final String QUERY = "{ hello }";
+
+    @Test
+    void registeredQueriesCanBeSentAsAHashToAnyNode() throws Exception {
+        Node node1 = new Node();
+        Node node2 = new Node();
+        String hash = sha256(QUERY);
+
+        assertThat(node1.execute(QUERY, hash).<Map<String, Object>>getData()).containsEntry("hello", "world");
+        assertThat(redis.template().opsForValue().get("graphql:apq:" + hash)).isEqualTo(QUERY);
+        assertThat(node1.count("registered")).isEqualTo(1);
+
+        assertThat(node2.execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash).getErrors()).isEmpty();
+        assertThat(node2.execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash).getErrors()).isEmpty();
+        assertThat(node2.count("redis")).isEqualTo(1);
+        assertThat(node2.count("local")).isEqualTo(1);
+    }
+
+    @Test
+    void unknownHashesAskTheClientForTheQuery() throws Exception {
+        Node node = new Node();
+
+        ExecutionResult result = node.execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, sha256(QUERY));
+
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryNotFound"));
+        assertThat(node.count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void queriesThatDoNotMatchTheirHashAreRefused() throws Exception {
+        Node node = new Node();
+        String hash = sha256("{ __typename }");
+
+        ExecutionResult result = node.execute(QUERY, hash);
+
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryIdInvalid"));
+        assertThat(redis.template().hasKey("graphql:apq:" + hash)).isFalse();
+        assertThat(node.persistedDocuments.estimatedSize()).isZero();
+
+        result = node.execute(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash);
+
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).isEqualTo("PersistedQueryNotFound"));
+    }
+
+    @Test
+    void invalidQueriesAreNotRegistered() throws Exception {
+        Node node = new Node();
+        String query = "{ goodbye }";
+        String hash = sha256(query);
+
+        assertThat(node.execute(query, hash).getErrors()).isNotEmpty();
+        assertThat(redis.template().hasKey("graphql:apq:" + hash)).isFalse();
+        assertThat(node.count("registered")).isZero();
+    }
+
+    @Test
+    void plainQueriesAreCachedByTextUnlessInvalid() {
+        Node node = new Node();
+
+        assertThat(node.graphQl.execute(QUERY).getErrors()).isEmpty();
+        assertThat(node.graphQl.execute(QUERY).getErrors()).isEmpty();
+        assertThat(node.graphQl.execute("{ goodbye }").getErrors()).isNotEmpty();
+
+        assertThat(node.documents.asMap()).containsOnlyKeys(QUERY);
+    }
+
+    private static String sha256(String query) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * A GraphQL engine with its own local caches, sharing the persisted queries through Redis.
+     */
+    private static final class Node {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final Cache<String, PreparsedDocumentEntry> persistedDocuments = Caffeine.newBuilder().build();
+        private final Cache<String, PreparsedDocumentEntry> documents = Caffeine.newBuilder().build();
+        private final GraphQL graphQl;
+
+        private Node() {
+            RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                    .type("Query", builder -> builder.dataFetcher("hello", _ -> "world"))
+                    .build();
+            RedisPersistedQueryCache persistedQueries = new RedisPersistedQueryCache(redis.template(),
+                    persistedDocuments, Duration.ofHours(1), meterRegistry);
+            graphQl = GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA),
+                            wiring))
+                    .preparsedDocumentProvider(new CachingDocumentProvider(persistedQueries, documents))
+                    .build();
+        }
+
+        private ExecutionResult execute(String query, String hash) {
+            return graphQl.execute(ExecutionInput.newExecutionInput(query)
+                    .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash))));
+        }
+
+        private double count(String result) {
+            return meterRegistry.get("graphql.apq").tag("result", result).counter().count();
+        }
+    }
+}
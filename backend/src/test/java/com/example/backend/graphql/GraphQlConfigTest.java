@@ -0,0 +1,127 @@
+package com.example.backend.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class GraphQlConfigTest {
+
+    private static final String FEED_QUERY = """
+            { feed(first: %d) { edges { node { author { postCount followerCount followingCount } } } } }""";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(GraphQlConfig.class)
+            .withBean(StringRedisTemplate.class, () -> mock(StringRedisTemplate.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues("app.cors.allowed-origins=http://localhost:3000",
+                    "app.graphql.max-depth=4", "app.graphql.max-complexity=500");
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    void acceptsQueriesWithinTheLimits() {
+        contextRunner.run(context -> {
+            GraphQL graphQl = graphQl(context.getBean(MaxQueryDepthInstrumentation.class),
+                    context.getBean(MaxQueryComplexityInstrumentation.class));
+
+            ExecutionResult result = graphQl.execute("{ post(id: \"1\") { id author { id } } }");
+
+            assertThat(result.getErrors()).isEmpty();
+            assertThat(fetches).hasValue(1);
+        });
+    }
+
+    @Test
+    void rejectsDeepQueriesBeforeExecution() {
+        contextRunner.run(context -> {
+            GraphQL graphQl = graphQl(context.getBean(MaxQueryDepthInstrumentation.class),
+                    context.getBean(MaxQueryComplexityInstrumentation.class));
+
+            ExecutionResult result = graphQl.execute("{ feed { edges { node { author { id } } } } }");
+
+            assertThat(result.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("depth"));
+            assertThat(fetches).hasValue(0);
+        });
+    }
+
+    @Test
+    void chargesListFieldsPerRequestedItem() {
+        contextRunner.withPropertyValues("app.graphql.max-depth=10").run(context -> {
+            GraphQL graphQl = graphQl(context.getBean(MaxQueryDepthInstrumentation.class),
+                    context.getBean(MaxQueryComplexityInstrumentation.class));
+
+            // Each feed item costs 6, so 10 items stay under the limit of 500 and 100 do not.
+            assertThat(graphQl.execute(FEED_QUERY.formatted(10)).getErrors())
+                    .noneMatch(error -> error.getMessage().contains("complexity"));
+            assertThat(fetches).hasValue(1);
+
+            ExecutionResult result = graphQl.execute(FEED_QUERY.formatted(100));
+
+            assertThat(result.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("complexity"));
+            assertThat(fetches).hasValue(1);
+        });
+    }
+
+    @Test
+    void chargesIdListsPerId() {
+        contextRunner.run(context -> {
+            GraphQL graphQl = graphQl(context.getBean(MaxQueryDepthInstrumentation.class),
+                    context.getBean(MaxQueryComplexityInstrumentation.class));
+            List<String> ids = IntStream.range(0, 200).mapToObj(i -> "\"" + i + "\"").toList();
+
+            ExecutionResult result = graphQl.execute("{ posts(ids: " + ids + ") { id content createdAt } }");
+
+            assertThat(result.getErrors()).singleElement()
+                    .satisfies(error -> assertThat(error.getMessage()).contains("complexity"));
+            assertThat(fetches).hasValue(0);
+        });
+    }
+
+    /**
+     * Builds an engine for the application schema whose query fields count their invocations and
+     * return nothing.
+     */
+    private GraphQL graphQl(MaxQueryDepthInstrumentation depth, MaxQueryComplexityInstrumentation complexity)
+            throws Exception {
+        DataFetcher<Object> counting = _ -> {
+            fetches.incrementAndGet();
+            return null;
+        };
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.defaultDataFetcher(counting))
+                .build();
+        try (Reader schema = new InputStreamReader(
+                new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            return GraphQL.newGraphQL(new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schema),
+                            wiring))
+                    .instrumentation(new ChainedInstrumentation(depth, complexity))
+                    .build();
+        }
+    }
+}
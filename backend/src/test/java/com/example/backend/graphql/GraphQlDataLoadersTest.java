@@ -0,0 +1,79 @@
+package com.example.backend.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.model.Post;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.repository.PostRepository;
+import graphql.GraphQLContext;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+
+class GraphQlDataLoadersTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final FollowRepository followRepository = mock(FollowRepository.class);
+    private final DataLoaderRegistry dataLoaders = new DataLoaderRegistry();
+
+    @BeforeEach
+    void setUp() {
+        DefaultBatchLoaderRegistry registry = new DefaultBatchLoaderRegistry();
+        new GraphQlDataLoaders(registry, postRepository, followRepository);
+        registry.registerDataLoaders(dataLoaders, GraphQLContext.newContext().build());
+    }
+
+    @Test
+    void postsAreLoadedWithOneQueryPerDispatch() {
+        when(postRepository.findAllById(any())).thenReturn(List.of(post("p1"), post("p2")));
+        DataLoader<String, Post> loader = dataLoaders.getDataLoader(GraphQlDataLoaders.POSTS);
+
+        CompletableFuture<Post> first = loader.load("p1");
+        CompletableFuture<Post> second = loader.load("p2");
+        CompletableFuture<Post> again = loader.load("p1");
+        CompletableFuture<Post> missing = loader.load("p3");
+        loader.dispatchAndJoin();
+
+        assertThat(first.join().getId()).isEqualTo("p1");
+        assertThat(second.join().getId()).isEqualTo("p2");
+        assertThat(again.join()).isSameAs(first.join());
+        assertThat(missing.join()).isNull();
+        verify(postRepository).findAllById(Set.of("p1", "p2", "p3"));
+    }
+
+    @Test
+    void countsDefaultToZeroForKeysTheAggregationSkipped() {
+        when(postRepository.countByAuthorIds(any())).thenReturn(Map.of("u1", 3L));
+        when(followRepository.countFollowersOf(any())).thenReturn(Map.of("u2", 5L));
+        when(followRepository.countFolloweesOf(any())).thenReturn(Map.of());
+        DataLoader<String, Long> postCounts = dataLoaders.getDataLoader(GraphQlDataLoaders.POST_COUNTS);
+        DataLoader<String, Long> followerCounts = dataLoaders.getDataLoader(GraphQlDataLoaders.FOLLOWER_COUNTS);
+        DataLoader<String, Long> followingCounts = dataLoaders.getDataLoader(GraphQlDataLoaders.FOLLOWING_COUNTS);
+
+        List<CompletableFuture<Long>> results = List.of(postCounts.load("u1"), postCounts.load("u2"),
+                followerCounts.load("u1"), followerCounts.load("u2"), followingCounts.load("u1"));
+        dataLoaders.dispatchAll();
+
+        assertThat(results).extracting(CompletableFuture::join).containsExactly(3L, 0L, 0L, 5L, 0L);
+        verify(postRepository).countByAuthorIds(Set.of("u1", "u2"));
+        verify(followRepository).countFollowersOf(Set.of("u1", "u2"));
+        verify(followRepository).countFolloweesOf(Set.of("u1"));
+    }
+
+    private static Post post(String id) {
+        Post post = new Post("author", "content", Instant.parse("2026-01-01T00:00:00Z"));
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeHandler;
+import org.springframework.web.socket.server.support.WebSocketHandlerMapping;
+import org.springframework.web.socket.server.support.WebSocketHttpRequestHandler;
+
+class WebSocketOriginPostProcessorTest {
+
+    private final HandshakeHandler handshakeHandler = mock(HandshakeHandler.class);
+    private WebSocketHttpRequestHandler requestHandler;
+
+    @BeforeEach
+    void setUp() {
+        requestHandler = new WebSocketHttpRequestHandler(mock(WebSocketHandler.class), handshakeHandler);
+        WebSocketHandlerMapping mapping = new WebSocketHandlerMapping();
+        mapping.setUrlMap(Map.of("/graphql-ws", requestHandler));
+
+        new WebSocketOriginPostProcessor(List.of("https://app.example.com"))
+                .postProcessAfterInitialization(mapping, "graphQlWebSocketMapping");
+    }
+
+    @Test
+    void rejectsHandshakesFromOtherOrigins() throws Exception {
+        MockHttpServletResponse response = handshake("https://evil.example.net");
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        verify(handshakeHandler, never()).doHandshake(any(), any(), any(), any());
+    }
+
+    @Test
+    void acceptsHandshakesFromAllowedOriginsAndNonBrowserClients() throws Exception {
+        handshake("https://app.example.com");
+        handshake(null);
+
+        verify(handshakeHandler, times(2)).doHandshake(any(), any(), any(), any());
+    }
+
+    private MockHttpServletResponse handshake(String origin) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/graphql-ws");
+        request.setServerName("api.example.com");
+        request.addHeader("Upgrade", "websocket");
+        request.addHeader("Connection", "Upgrade");
+        if (origin != null) {
+            request.addHeader("Origin", origin);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        requestHandler.handleRequest(request, response);
+        return response;
+    }
+}
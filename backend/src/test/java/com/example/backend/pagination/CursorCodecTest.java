@@ -0,0 +1,62 @@
+package com.example.backend.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.backend.exception.BadRequestException;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTest {
+
+    private static final String ID = "652f1c0e8b3e4a1d2c3b4a59";
+
+    private final CursorCodec codec = new CursorCodec("test-secret", 20, 100);
+
+    @Test
+    void roundTripsACursor() {
+        Cursor cursor = new Cursor(1_700_000_000_123L, ID);
+
+        String encoded = codec.encode(cursor);
+
+        assertThat(encoded).hasSize(48).matches("[A-Za-z0-9_-]+");
+        assertThat(codec.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void nullAndBlankMeanTheFirstPage() {
+        assertThat(codec.encode(null)).isNull();
+        assertThat(codec.decode(null)).isNull();
+        assertThat(codec.decode(" ")).isNull();
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        byte[] token = Base64.getUrlDecoder().decode(codec.encode(new Cursor(1000, ID)));
+        token[7] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+        assertThatThrownBy(() -> codec.decode(tampered)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsCursorsSignedWithAnotherSecret() {
+        String foreign = new CursorCodec("other-secret", 20, 100).encode(new Cursor(1000, ID));
+
+        assertThatThrownBy(() -> codec.decode(foreign)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsMalformedValues() {
+        assertThatThrownBy(() -> codec.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> codec.decode("c2hvcnQ")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void clampsTheLimit() {
+        assertThat(codec.limit(null)).isEqualTo(20);
+        assertThat(codec.limit(0)).isEqualTo(1);
+        assertThat(codec.limit(50)).isEqualTo(50);
+        assertThat(codec.limit(1000)).isEqualTo(100);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_NANOS = Duration.ofMillis(1).toNanos();
+    private static final long SLOW_NANOS = Duration.ofMillis(100).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsRequestsOverTheLimitUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(inflight()).isEqualTo(2);
+
+        limiter.release(System.nanoTime());
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, Duration.ZERO);
+
+        for (int round = 0; round < 3; round++) {
+            int limit = limiter.limit();
+            acquire(limiter, limit);
+            release(limiter, limit, FAST_NANOS);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+        assertThat(inflight()).isZero();
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAboveTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ZERO);
+        acquire(limiter, 20);
+        release(limiter, 1, FAST_NANOS);
+        int baseline = limiter.limit();
+
+        release(limiter, 19, SLOW_NANOS);
+
+        assertThat(limiter.limit()).isLessThan(baseline).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            acquire(limiter, 1);
+            release(limiter, 1, FAST_NANOS);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration window) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, 100, 1.0, 1.0, 100, window, 1, meterRegistry);
+    }
+
+    private double inflight() {
+        return meterRegistry.get("concurrency.inflight").gauge().value();
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, int count, long latencyNanos) {
+        for (int i = 0; i < count; i++) {
+            limiter.release(System.nanoTime() - latencyNanos);
+        }
+    }
+}
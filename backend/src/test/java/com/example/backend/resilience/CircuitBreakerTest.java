@@ -0,0 +1,135 @@
+package com.example.backend.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.resilience.CircuitBreaker.State;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long SLOW_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final List<State> transitions = new ArrayList<>();
+
+    @Test
+    void opensOnceTheFailureRateReachesTheThreshold() {
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30), 1);
+
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        succeed(breaker);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.retryAfterSeconds()).isBetween(29L, 30L);
+        assertThat(transitions).containsExactly(State.OPEN);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30), 1);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onResult(i < 2 ? SLOW_NANOS : 0, false);
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30), 1);
+
+        fail(breaker);
+        for (int i = 0; i < 5; i++) {
+            succeed(breaker);
+        }
+        fail(breaker);
+
+        // The window holds the last four calls, with a single failure.
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void closesWhenEveryTrialCallSucceeds() {
+        CircuitBreaker breaker = open(breaker(Duration.ZERO, 2));
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onResult(0, false);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        breaker.onResult(0, false);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+
+        // The window starts empty: three failures are below the minimum number of calls.
+        fail(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void aFailedOrSlowTrialReopens() {
+        CircuitBreaker breaker = open(breaker(Duration.ZERO, 2));
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(SLOW_NANOS, false);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(transitions).containsExactly(State.OPEN, State.HALF_OPEN, State.OPEN);
+    }
+
+    @Test
+    void anUnusedTrialPermitIsGivenBack() {
+        CircuitBreaker breaker = open(breaker(Duration.ZERO, 1));
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.release();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void outcomesOfCallsGrantedBeforeOpeningAreIgnored() {
+        CircuitBreaker breaker = open(breaker(Duration.ofSeconds(30), 1));
+
+        breaker.onResult(0, false);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    private CircuitBreaker breaker(Duration openDuration, int halfOpenCalls) {
+        return new CircuitBreaker(new CircuitBreakerPolicy(50, 50, 4, 4, openDuration, halfOpenCalls),
+                SLOW_NANOS, transitions::add);
+    }
+
+    private static CircuitBreaker open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(0, false);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onResult(0, true);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.backend.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(1, 1, 1, 1.0, 0.5, 10, Duration.ofMinutes(1), 10, meterRegistry);
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(limiter, exceptionResolver, meterRegistry);
+
+    @Test
+    void releasesASynchronousRequestWhenItReturns() throws Exception {
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), (_, _) -> { });
+
+        assertThat(inflight()).isZero();
+    }
+
+    @Test
+    void rejectsRequestsOverTheLimit() throws Exception {
+        MockHttpServletRequest async = request("/graphql");
+        filter.doFilter(async, new MockHttpServletResponse(), (req, _) -> req.startAsync());
+
+        filter.doFilter(request("/api/posts"), new MockHttpServletResponse(), (_, _) -> { });
+
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(ServiceUnavailableException.class));
+        assertThat(meterRegistry.get("concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsTheSlotOfAnAsyncRequestUntilItCompletes() throws Exception {
+        MockHttpServletRequest request = request("/graphql");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, _) -> req.startAsync());
+
+        assertThat(inflight()).isEqualTo(1);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(inflight()).isZero();
+    }
+
+    @Test
+    void releasesAnAsyncRequestOnlyOnce() throws Exception {
+        MockHttpServletRequest request = request("/graphql");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, _) -> req.startAsync());
+        MockAsyncContext context = (MockAsyncContext) request.getAsyncContext();
+
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+            listener.onError(new AsyncEvent(context));
+        }
+        context.complete();
+
+        assertThat(inflight()).isZero();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void pushEndpointsAreNotLimited() throws Exception {
+        filter.doFilter(request("/graphql"), new MockHttpServletResponse(), (req, _) -> req.startAsync());
+
+        filter.doFilter(request(SecurityConstants.FEED_STREAM_ENDPOINT), new MockHttpServletResponse(),
+                (req, _) -> req.startAsync());
+
+        verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+        assertThat(inflight()).isEqualTo(1);
+    }
+
+    private double inflight() {
+        return meterRegistry.get("concurrency.inflight").gauge().value();
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+class DependencyGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DependencyGuard guard = guard();
+
+    @Test
+    void connectionFailuresOpenTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.run(Dependency.MONGO, () -> {
+                throw new DataAccessResourceFailureException("down");
+            })).isInstanceOf(DataAccessResourceFailureException.class);
+        }
+
+        assertThatThrownBy(() -> guard.run(Dependency.MONGO, () -> { }))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(guard.call(Dependency.REDIS, () -> "ok")).isEqualTo("ok");
+        assertThat(rejected(Dependency.MONGO.key(), "circuit_open")).isEqualTo(1);
+        assertThat(meterRegistry.get("resilience.circuit.state").tag("dependency", Dependency.MONGO.key())
+                .gauge().value()).isEqualTo(CircuitBreaker.State.OPEN.code());
+    }
+
+    @Test
+    void clientErrorsDoNotCountAgainstTheCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.run(Dependency.MONGO, () -> {
+                throw new DuplicateKeyException("duplicate");
+            })).isInstanceOf(DuplicateKeyException.class);
+        }
+
+        assertThat(guard.call(Dependency.MONGO, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void aFullBulkheadRejects() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> guard.run(Dependency.SMTP, () -> {
+            entered.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        entered.await();
+
+        assertThatThrownBy(() -> guard.run(Dependency.SMTP, () -> { }))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(rejected(Dependency.SMTP.key(), "bulkhead_full")).isEqualTo(1);
+
+        done.countDown();
+        holder.join();
+        guard.run(Dependency.SMTP, () -> { });
+    }
+
+    private DependencyGuard guard() {
+        Map<Dependency, DependencyPolicy> policies = new EnumMap<>(Dependency.class);
+        for (Dependency dependency : Dependency.values()) {
+            policies.put(dependency, new DependencyPolicy(1, Duration.ZERO, Duration.ofSeconds(10)));
+        }
+        CircuitBreakerPolicy breakerPolicy = new CircuitBreakerPolicy(50, 100, 4, 4, Duration.ofSeconds(30), 1);
+        return new DependencyGuard(policies, breakerPolicy, new FaultInjector(), meterRegistry);
+    }
+
+    private double rejected(String dependency, String reason) {
+        return meterRegistry.get("resilience.rejected").tag("dependency", dependency).tag("reason", reason)
+                .counter().count();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.backend.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final Set<String> revokedJtis = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void secondDecodeIsServedFromTheCache() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofMinutes(5)), Duration.ofMinutes(10));
+
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+
+        decoder.decode("token-b");
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void revokedTokensAreRejectedOnCacheHits() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofMinutes(5)), Duration.ofMinutes(10));
+        decoder.decode("token-a");
+
+        revokedJtis.add("jti-token-a");
+
+        assertThatThrownBy(() -> decoder.decode("token-a")).isInstanceOf(BadJwtException.class);
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+
+        revokedJtis.clear();
+        decoder.decode("token-a");
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void expiredEntriesAreVerifiedAgain() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofMillis(300)), Duration.ofMinutes(10));
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+        assertThat(delegateCalls).hasValue(1);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            decoder.decode("token-a");
+            assertThat(delegateCalls).hasValue(2);
+        });
+    }
+
+    @Test
+    void tokensPastTheirExpiryAreNeverCached() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofSeconds(-1)), Duration.ofMinutes(10));
+
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void maximumTtlCapsLongLivedTokens() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofHours(1)), Duration.ofMillis(300));
+        decoder.decode("token-a");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            decoder.decode("token-a");
+            assertThat(delegateCalls).hasValue(2);
+        });
+    }
+
+    @Test
+    void removingAKeyFlushesTheCache() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofMinutes(5)), Duration.ofMinutes(10));
+        decoder.decode("token-a");
+
+        decoder.onKeyRingChanged(new JwtKeyRingChangedEvent(null, Set.of()));
+        decoder.decode("token-a");
+        assertThat(delegateCalls).hasValue(1);
+
+        decoder.onKeyRingChanged(new JwtKeyRingChangedEvent(null, Set.of("old")));
+        decoder.decode("token-a");
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void rejectsNullTokens() {
+        CachingJwtDecoder decoder = decoder(stub(Duration.ofMinutes(5)), Duration.ofMinutes(10));
+
+        assertThatThrownBy(() -> decoder.decode(null)).isInstanceOf(BadJwtException.class);
+        assertThat(delegateCalls).hasValue(0);
+    }
+
+    private CachingJwtDecoder decoder(JwtDecoder delegate, Duration maximumTtl) {
+        return new CachingJwtDecoder(delegate, 100, maximumTtl,
+                jwt -> revokedJtis.contains(jwt.getId()), meterRegistry);
+    }
+
+    private JwtDecoder stub(Duration lifetime) {
+        return token -> {
+            delegateCalls.incrementAndGet();
+            Instant expiresAt = Instant.now().plus(lifetime);
+            return Jwt.withTokenValue(token)
+                    .header("alg", "none")
+                    .subject("user-1")
+                    .jti("jti-" + token)
+                    .issuedAt(expiresAt.minus(Duration.ofHours(1)))
+                    .expiresAt(expiresAt)
+                    .build();
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CachingJwtDecoder.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.http.Cookie;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class CookieBearerTokenResolverTest {
+
+    private final CookieBearerTokenResolver resolver =
+            new CookieBearerTokenResolver("access_token", Set.of("/graphql-ws"));
+
+    @Test
+    void prefersTheAuthorizationHeader() {
+        MockHttpServletRequest request = request("GET", "/graphql-ws");
+        request.addHeader("Authorization", "Bearer from-header");
+
+        assertThat(resolver.resolve(request)).isEqualTo("from-header");
+    }
+
+    @Test
+    void acceptsTheCookieOnGetsToStreamingPaths() {
+        MockHttpServletRequest request = request("GET", "/graphql-ws");
+        request.setContextPath("/app");
+        request.setRequestURI("/app/graphql-ws");
+
+        assertThat(resolver.resolve(request)).isEqualTo("from-cookie");
+    }
+
+    @Test
+    void ignoresTheCookieElsewhere() {
+        assertThat(resolver.resolve(request("POST", "/graphql-ws"))).isNull();
+        assertThat(resolver.resolve(request("GET", "/graphql"))).isNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setCookies(new Cookie("other", "x"), new Cookie("access_token", "from-cookie"));
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+
+class JwtKeyRingTest {
+
+    private static final JwtClaimsSet CLAIMS = JwtClaimsSet.builder()
+            .subject("user-1")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+
+    @Test
+    void signsWithTheGreatestSigningKidByDefault() throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(List.of(ec("2024-01"), ed25519("2025-01"), verifyOnly(ec("2026-01"))), null);
+
+        assertThat(ring.activeKey().kid()).isEqualTo("2025-01");
+        assertThat(ring.publicJwkSet().getKeys()).hasSize(3)
+                .allSatisfy(jwk -> assertThat(jwk.isPrivate()).isFalse());
+    }
+
+    @Test
+    void rejectsInvalidRings() throws Exception {
+        JwtSigningKey key = ec("a");
+
+        assertThatThrownBy(() -> new JwtKeyRing(List.of(key, ec("a")), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JwtKeyRing(List.of(verifyOnly(key)), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JwtKeyRing(List.of(key), "missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encodedTokensDecodeWithEveryAlgorithm() throws Exception {
+        for (JwtSigningKey key : List.of(rsa("rsa"), ec("ec"), ed25519("ed"))) {
+            JwtKeyRing ring = new JwtKeyRing(List.of(key), null);
+
+            Jwt encoded = new KeyRingJwtEncoder(ring).encode(JwtEncoderParameters.from(CLAIMS));
+            Jwt decoded = KeyRingJwsVerification.decoder(ring).decode(encoded.getTokenValue());
+
+            assertThat(decoded.getSubject()).isEqualTo("user-1");
+            assertThat(decoded.getHeaders()).containsEntry("kid", key.kid())
+                    .containsEntry("alg", key.algorithm().getName());
+        }
+    }
+
+    @Test
+    void tokensOfARetiredKeyStayValidUntilTheKeyIsRemoved() throws Exception {
+        JwtSigningKey old = ec("2024-01");
+        JwtSigningKey next = ed25519("2025-01");
+        JwtKeyRing ring = new JwtKeyRing(List.of(old), null);
+        JwtDecoder decoder = KeyRingJwsVerification.decoder(ring);
+        String token = new KeyRingJwtEncoder(ring).encode(JwtEncoderParameters.from(CLAIMS)).getTokenValue();
+
+        ring.replace(List.of(verifyOnly(old), next), null);
+        assertThat(ring.activeKey().kid()).isEqualTo("2025-01");
+        assertThat(decoder.decode(token).getSubject()).isEqualTo("user-1");
+
+        assertThat(ring.replace(List.of(next), null)).containsExactly("2024-01");
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void rejectsAKidWithAnotherAlgorithm() throws Exception {
+        JwtKeyRing signing = new JwtKeyRing(List.of(ec("shared")), null);
+        JwtKeyRing verifying = new JwtKeyRing(List.of(ed25519("shared")), null);
+        String token = new KeyRingJwtEncoder(signing).encode(JwtEncoderParameters.from(CLAIMS)).getTokenValue();
+
+        assertThatThrownBy(() -> KeyRingJwsVerification.decoder(verifying).decode(token))
+                .isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void encoderHonoursARequestedKidOnlyIfItCanSign() throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(List.of(ec("a"), ec("b"), verifyOnly(ec("c"))), null);
+
+        JwsHeader header = JwsHeader.with(() -> "ES256").keyId("a").type("JWT").build();
+        Jwt jwt = new KeyRingJwtEncoder(ring).encode(JwtEncoderParameters.from(header, CLAIMS));
+        assertThat(jwt.getHeaders()).containsEntry("kid", "a").containsEntry("typ", "JWT");
+
+        assertThatThrownBy(() -> new KeyRingJwtEncoder(ring)
+                .encode(JwtEncoderParameters.from(JwsHeader.with(() -> "ES256").keyId("c").build(), CLAIMS)))
+                .isInstanceOf(JwtEncodingException.class);
+    }
+
+    @Test
+    void ecKeysSignWithTheAlgorithmOfTheirCurve() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp384r1"));
+        KeyPair pair = generator.generateKeyPair();
+
+        assertThat(JwtSigningKey.of("p384", pair.getPublic(), pair.getPrivate()).algorithm())
+                .isEqualTo(JWSAlgorithm.ES384);
+    }
+
+    private static JwtSigningKey rsa(String kid) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return of(kid, generator.generateKeyPair());
+    }
+
+    private static JwtSigningKey ec(String kid) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return of(kid, generator.generateKeyPair());
+    }
+
+    private static JwtSigningKey ed25519(String kid) throws Exception {
+        return of(kid, KeyPairGenerator.getInstance("Ed25519").generateKeyPair());
+    }
+
+    private static JwtSigningKey of(String kid, KeyPair pair) throws Exception {
+        return JwtSigningKey.of(kid, pair.getPublic(), pair.getPrivate());
+    }
+
+    private static JwtSigningKey verifyOnly(JwtSigningKey key) throws Exception {
+        return JwtSigningKey.of(key.kid(), key.verificationKey(), null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.example.backend.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ServerSocket;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class RateLimiterTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    private static final String KEY = "ratelimit:api:ip:10.0.0.1";
+
+    @Test
+    void leasesTokensInBatches() {
+        RateLimiter limiter = limiter(redis.template());
+        RateLimitPolicy policy = policy(100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+        }
+        assertThat(tokensInRedis()).isCloseTo(95, within(0.1));
+
+        assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+        assertThat(tokensInRedis()).isCloseTo(90, within(0.1));
+    }
+
+    @Test
+    void sharesTheBucketBetweenNodes() {
+        RateLimitPolicy policy = policy(3);
+        RateLimiter node1 = limiter(redis.template());
+        RateLimiter node2 = limiter(redis.template());
+
+        assertThat(node1.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+        assertThat(node2.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+        assertThat(node1.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+
+        assertThat(node2.tryAcquire(policy, "ip:10.0.0.1")).isPositive();
+        assertThat(redis.template().getExpire(KEY)).isPositive();
+    }
+
+    @Test
+    void remembersADenialWithoutAskingRedis() {
+        RateLimiter limiter = limiter(redis.template());
+        RateLimitPolicy policy = policy(1);
+        limiter.tryAcquire(policy, "ip:10.0.0.1");
+        assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isPositive();
+
+        redis.template().delete(KEY);
+
+        assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isPositive();
+        assertThat(redis.template().hasKey(KEY)).isFalse();
+    }
+
+    @Test
+    void fallsBackToLocalBucketsWhenRedisIsDown() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        LettuceConnectionFactory unreachable =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        unreachable.afterPropertiesSet();
+        unreachable.start();
+        try {
+            RateLimiter limiter = limiter(new StringRedisTemplate(unreachable));
+            RateLimitPolicy policy = policy(2);
+
+            assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+            assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isZero();
+            assertThat(limiter.tryAcquire(policy, "ip:10.0.0.1")).isPositive();
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private static RateLimiter limiter(StringRedisTemplate template) {
+        return new RateLimiter(template, 5, Duration.ofSeconds(10), Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    /**
+     * A policy refilling one token every 1000 seconds, so no token comes back during a test.
+     */
+    private static RateLimitPolicy policy(long capacity) {
+        return new RateLimitPolicy("api", _ -> true, false, capacity, 0.001);
+    }
+
+    private static double tokensInRedis() {
+        return Double.parseDouble((String) redis.template().opsForHash().get(KEY, "tokens"));
+    }
+}
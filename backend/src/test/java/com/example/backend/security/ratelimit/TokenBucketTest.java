@@ -0,0 +1,27 @@
+package com.example.backend.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void startsFullAndReportsTheWaitForTheNextToken() {
+        TokenBucket bucket = new TokenBucket(2, 1);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isBetween(1L, 1000L);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 100);
+        bucket.tryAcquire();
+
+        Thread.sleep(30);
+
+        assertThat(bucket.tryAcquire()).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.example.backend.config.SecurityConstants;
+import com.example.backend.exception.UnauthorizedException;
+import com.example.backend.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+class TokenRevocationServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    private static final long REFRESH_LIFETIME_MS = 7 * 24 * 3600 * 1000L;
+
+    @Test
+    void revokedTokenIsRejectedUntilItExpires() {
+        TokenRevocationService service = service();
+        service.resync();
+        Jwt token = token("a", null);
+
+        service.revoke(token);
+
+        assertThat(service.isRevoked(token)).isTrue();
+        assertThat(service.isRevoked(token("b", null))).isFalse();
+        assertThat(redis.template().getExpire(TokenRevocationService.KEY_PREFIX + "a")).isBetween(1L, 60L);
+    }
+
+    @Test
+    void expiredTokensAreNotStored() {
+        TokenRevocationService service = service();
+
+        service.revoke(Jwt.withTokenValue("t").header("alg", "none").jti("old")
+                .issuedAt(Instant.now().minusSeconds(120)).expiresAt(Instant.now().minusSeconds(60)).build());
+
+        assertThat(redis.template().hasKey(TokenRevocationService.KEY_PREFIX + "old")).isFalse();
+        assertThat(redis.template().opsForZSet().size(TokenRevocationService.INDEX_KEY)).isZero();
+    }
+
+    @Test
+    void otherNodesLearnRevocationsFromMessagesAndResyncs() {
+        TokenRevocationService node1 = service();
+        TokenRevocationService node2 = service();
+        node2.resync();
+        Jwt first = token("a", null);
+        Jwt second = token("b", null);
+
+        node1.revoke(first);
+        node2.onMessage(new DefaultMessage(TokenRevocationService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                (System.currentTimeMillis() + "|a").getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(node2.isRevoked(first)).isTrue();
+
+        // The message for this one was lost; the filter says clear until the next resync.
+        node1.revoke(second);
+        assertThat(node2.isRevoked(second)).isFalse();
+        node2.resync();
+        assertThat(node2.isRevoked(second)).isTrue();
+    }
+
+    @Test
+    void unsyncedNodeAsksRedis() {
+        TokenRevocationService node1 = service();
+        TokenRevocationService node2 = service();
+        Jwt token = token("a", null);
+
+        node1.revoke(token);
+
+        assertThat(node2.isRevoked(token)).isTrue();
+        assertThat(node2.isRevoked(token("b", null))).isFalse();
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesItsFamily() {
+        TokenRevocationService service = service();
+        service.resync();
+        Jwt refresh = token("r1", null);
+        Jwt accessOfFamily = token("a1", "r1");
+
+        String family = service.rotate(refresh);
+        assertThat(family).isEqualTo("r1");
+        assertThat(service.isRevoked(accessOfFamily)).isFalse();
+
+        assertThatThrownBy(() -> service.rotate(refresh)).isInstanceOf(UnauthorizedException.class);
+        assertThat(service.isRevoked(accessOfFamily)).isTrue();
+        assertThatThrownBy(() -> service.rotate(token("r2", "r1"))).isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void replayedRotatedTokenPassesTheRevocationCheckAndRevokesItsFamily() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenRevocationService service = service(meterRegistry);
+        service.resync();
+        Jwt refresh = token("r2", "r1");
+
+        service.rotate(refresh);
+        service.resync();
+
+        // The decoder checks revocation before the refresh endpoint gets to rotate the token.
+        assertThat(service.isRevoked(refresh)).isFalse();
+        assertThatThrownBy(() -> service.rotate(refresh)).isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("already been used");
+        assertThat(service.isRevoked(refresh)).isTrue();
+        assertThat(service.isRevoked(token("a2", "r1"))).isTrue();
+        assertThat(meterRegistry.get("auth.refresh.reuse").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tokensWithoutIdentifiersAreNeverRevoked() {
+        TokenRevocationService service = service();
+
+        assertThat(service.isRevoked(Jwt.withTokenValue("t").header("alg", "none").subject("user").build()))
+                .isFalse();
+    }
+
+    private static TokenRevocationService service() {
+        return service(new SimpleMeterRegistry());
+    }
+
+    private static TokenRevocationService service(SimpleMeterRegistry meterRegistry) {
+        return new TokenRevocationService(redis.template(), mock(RedisMessageListenerContainer.class),
+                meterRegistry, 1000, 0.001, REFRESH_LIFETIME_MS);
+    }
+
+    private static Jwt token(String jti, String familyId) {
+        Jwt.Builder builder = Jwt.withTokenValue("t")
+                .header("alg", "none")
+                .jti(jti)
+                .subject("user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60));
+        if (familyId != null) {
+            builder.claim(SecurityConstants.FAMILY_CLAIM, familyId);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.service.engagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.model.PostCounters;
+import com.example.backend.service.trending.TrendingService;
+import com.example.backend.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class EngagementCounterServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    @TempDir
+    Path journalDir;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = redis.template();
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, PostCounters.COLLECTION)).thenReturn(bulk);
+        when(mongoTemplate.find(any(Query.class), eq(PostCounters.class))).thenReturn(List.of(counters("p1", 5, 50, 1)));
+    }
+
+    @Test
+    void seedsTheMirrorFromMongoOnceAndReadsItFromRedis() throws IOException {
+        EngagementCounterService service = service();
+
+        Map<String, EngagementCounts> first = service.getAll(List.of("p1", "p2", "p1"));
+        Map<String, EngagementCounts> second = service.getAll(List.of("p1", "p2"));
+
+        assertThat(first).containsEntry("p1", new EngagementCounts(5, 50, 1))
+                .containsEntry("p2", EngagementCounts.ZERO);
+        assertThat(second).isEqualTo(first);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(PostCounters.class));
+        assertThat(redisTemplate.getExpire(EngagementCounterService.KEY_PREFIX + "p1")).isBetween(1L, 600L);
+    }
+
+    @Test
+    void seedingDoesNotOverwriteAnExistingMirror() throws IOException {
+        redisTemplate.opsForHash().put(EngagementCounterService.KEY_PREFIX + "p1", "likes", "7");
+        EngagementCounterService service = service();
+
+        service.get("p1");
+
+        // The partial hash was a miss, but the seed leaves it to whoever created it.
+        assertThat(redisTemplate.opsForHash().get(EngagementCounterService.KEY_PREFIX + "p1", "likes"))
+                .isEqualTo("7");
+    }
+
+    @Test
+    void flushCoalescesIncrementsIntoOneUpsertPerPostAndMirrorsThem() throws IOException {
+        EngagementCounterService service = service();
+        service.get("p1");
+
+        service.increment("p1", EngagementType.LIKES);
+        service.increment("p1", EngagementType.LIKES);
+        service.add("p1", EngagementType.VIEWS, 10);
+        service.increment("p2", EngagementType.SHARES);
+        service.flush();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), updates.capture());
+        assertThat(updates.getAllValues().getFirst().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("likes", 2L).containsEntry("views", 10L);
+        verify(bulk).execute();
+
+        assertThat(service.get("p1")).isEqualTo(new EngagementCounts(7, 60, 1));
+        // Not mirrored: an increment would create the hash with partial counts.
+        assertThat(redisTemplate.hasKey(EngagementCounterService.KEY_PREFIX + "p2")).isFalse();
+    }
+
+    @Test
+    void failedFlushIsRetriedByTheNextOne() throws IOException {
+        EngagementCounterService service = service();
+        service.increment("p1", EngagementType.LIKES);
+        doThrow(new DataAccessResourceFailureException("down")).doReturn(null).when(bulk).execute();
+
+        service.flush();
+        service.flush();
+        service.flush();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), updates.capture());
+        assertThat(updates.getAllValues().getLast().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("likes", 1L);
+    }
+
+    @Test
+    void unflushedIncrementsAreReplayedAfterARestart() throws IOException {
+        EngagementCounterService crashed = service();
+        crashed.add("p1", EngagementType.VIEWS, 3);
+        crashed.syncJournal();
+
+        EngagementCounterService restarted = service();
+        restarted.flush();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).upsert(any(Query.class), update.capture());
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("views", 3L);
+        restarted.flush();
+        verify(bulk, times(1)).execute();
+    }
+
+    @Test
+    void flushWithoutIncrementsWritesNothing() throws IOException {
+        service().flush();
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), any(String.class));
+    }
+
+    private EngagementCounterService service() throws IOException {
+        return new EngagementCounterService(mongoTemplate, redisTemplate, mock(TrendingService.class),
+                new SimpleMeterRegistry(), journalDir, Duration.ofMinutes(10));
+    }
+
+    private static PostCounters counters(String postId, long likes, long views, long shares) {
+        PostCounters counters = new PostCounters();
+        counters.setId(postId);
+        counters.setLikes(likes);
+        counters.setViews(views);
+        counters.setShares(shares);
+        return counters;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.service.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.cache.TwoLevelCache;
+import com.example.backend.cache.TwoLevelCacheManager;
+import com.example.backend.model.Post;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.service.post.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+class FeedHydrationServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final TwoLevelCache postsCache = mock(TwoLevelCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FeedHydrationService hydrationService;
+
+    @BeforeEach
+    void setUp() {
+        TwoLevelCacheManager cacheManager = mock(TwoLevelCacheManager.class);
+        when(cacheManager.getCache(PostService.POSTS_CACHE)).thenReturn(postsCache);
+        hydrationService = new FeedHydrationService(postRepository, cacheManager, new SyncTaskExecutor(),
+                meterRegistry);
+    }
+
+    @Test
+    void keepsTheOrderOfTheIdsAndDropsDuplicates() {
+        when(postsCache.getAllLocal(anyCollection())).thenReturn(Map.of("p1", post("p1")));
+        when(postsCache.getAllRemote(anyCollection())).thenReturn(Map.of("p3", post("p3")));
+        when(postRepository.findAllById(any())).thenReturn(List.of(post("p4"), post("p2")));
+
+        List<Post> posts = hydrationService.hydrate(List.of("p3", "p1", "p2", "p3", "missing", "p4", "p1"));
+
+        assertThat(posts).extracting(Post::getId).containsExactly("p3", "p1", "p2", "p4");
+        verify(postsCache).getAllLocal(Set.of("p3", "p1", "p2", "missing", "p4"));
+        verify(postsCache).getAllRemote(List.of("p3", "p2", "missing", "p4"));
+        verify(postRepository).findAllById(List.of("p2", "missing", "p4"));
+        verify(postsCache).backfill(eq(Map.of("p2", posts.get(2), "p4", posts.get(3))), any());
+        assertThat(meterRegistry.get("feed.hydration.roundtrips").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void postsInMemoryCostNoRoundTrip() {
+        when(postsCache.getAllLocal(anyCollection())).thenReturn(Map.of("p1", post("p1"), "p2", post("p2")));
+
+        List<Post> posts = hydrationService.hydrate(List.of("p2", "p1", "p2"));
+
+        assertThat(posts).extracting(Post::getId).containsExactly("p2", "p1");
+        verify(postsCache, never()).getAllRemote(anyCollection());
+        verify(postsCache, never()).backfill(anyMap(), any());
+        verifyNoInteractions(postRepository);
+        assertThat(meterRegistry.get("feed.hydration.roundtrips").summary().totalAmount()).isZero();
+    }
+
+    @Test
+    void emptyPageLooksNothingUp() {
+        assertThat(hydrationService.hydrate(List.of())).isEmpty();
+
+        verifyNoInteractions(postsCache, postRepository);
+    }
+
+    private static Post post(String id) {
+        Post post = new Post("author", "content " + id, Instant.EPOCH);
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.backend.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.model.OutboxMail;
+import com.example.backend.repository.OutboxMailRepository;
+import com.example.backend.support.DependencyGuards;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+class MailOutboxWorkerTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    private MailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        // As configured by Spring Boot's MailProperties.
+        mailSender.setProtocol("smtp");
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        worker = new MailOutboxWorker(mongoTemplate, mock(OutboxMailRepository.class), mailSender,
+                DependencyGuards.create(), new SimpleMeterRegistry(),
+                1, 50, 3, Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofSeconds(60),
+                "no-reply@example.com", "Example");
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.destroy();
+    }
+
+    @Test
+    void deliversTheClaimedBatch() throws Exception {
+        claim(mail("1", "alice@example.com"), mail("2", "bob@example.com"));
+
+        worker.poll();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 2);
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Subject 1");
+        assertThat(((InternetAddress) received.getFrom()[0]).getPersonal()).isEqualTo("Example");
+        Update sent = awaitUpdateMulti(2);
+        assertThat(sent.getUpdateObject().get("$set", Document.class).get("status"))
+                .isEqualTo(OutboxMail.Status.SENT);
+    }
+
+    @Test
+    void malformedAddressIsDeadLetteredWithoutBreakingTheBatch() {
+        claim(mail("1", "broken<@example.com"), mail("2", "bob@example.com"));
+
+        worker.poll();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> greenMail.getReceivedMessages().length == 1);
+        Update failed = awaitUpdateFirst();
+        assertThat(failed.getUpdateObject().get("$set", Document.class).get("status"))
+                .isEqualTo(OutboxMail.Status.DEAD);
+        awaitUpdateMulti(2);
+    }
+
+    @Test
+    void unreachableServerPutsTheBatchBackForRetry() {
+        greenMail.stop();
+        claim(mail("1", "alice@example.com"));
+
+        worker.poll();
+
+        Update failed = awaitUpdateFirst();
+        Map<?, ?> set = failed.getUpdateObject().get("$set", Document.class);
+        assertThat(set.get("status")).isEqualTo(OutboxMail.Status.PENDING);
+        assertThat(set.get("attempts")).isEqualTo(1);
+        assertThat((Instant) set.get("nextAttemptAt")).isAfter(Instant.now());
+    }
+
+    /**
+     * Makes the next claim return the given mails: the query for due ids, then the query for the
+     * mails claimed with the token, then nothing.
+     */
+    private void claim(OutboxMail... mails) {
+        List<OutboxMail> batch = List.of(mails);
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMail.class))).thenReturn(batch, batch, List.of());
+    }
+
+    private Update awaitUpdateFirst() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, timeout(10_000)).updateFirst(any(Query.class), update.capture(), eq(OutboxMail.class));
+        return update.getValue();
+    }
+
+    /**
+     * Waits for the given number of updateMulti calls, the claim and then marking the batch as sent.
+     */
+    private Update awaitUpdateMulti(int calls) {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, timeout(10_000).times(calls))
+                .updateMulti(any(Query.class), update.capture(), eq(OutboxMail.class));
+        return update.getAllValues().getLast();
+    }
+
+    private static OutboxMail mail(String id, String to) {
+        OutboxMail mail = new OutboxMail(to, "Subject " + id, "Body " + id, null, Instant.now());
+        mail.setId(id);
+        mail.setClaimToken("token");
+        return mail;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.backend.service.media;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A stand-in for Cloudinary's upload API, for tests.
+ *
+ * Accepts POST /v1_1/{cloud}/{resourceType}/upload, streams the request body to a file in the
+ * storage directory and answers with an upload response of the same shape as Cloudinary's.
+ * Point the SDK at it by setting its upload_prefix to {@link #baseUrl()}. Signatures are not
+ * checked.
+ */
+public class LocalCloudinaryServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCloudinaryServer.class);
+
+    private static final Pattern UPLOAD_PATH = Pattern.compile("/v1_1/([^/]+)/([^/]+)/upload");
+    private static final Pattern PUBLIC_ID_FIELD =
+            Pattern.compile("name=\"public_id\"\r\n(?:[^\r\n]+\r\n)*\r\n([^\r\n]*)\r\n");
+
+    /** Bytes at each end of the body searched for form fields; the file part is in between. */
+    private static final int FIELD_SCAN_BYTES = 64 * 1024;
+
+    private final HttpServer server;
+    private final Path storageDir;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LocalCloudinaryServer(HttpServer server, Path storageDir) {
+        this.server = server;
+        this.storageDir = storageDir;
+    }
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param port       The port, 0 for any free port.
+     * @param storageDir Directory receiving the uploaded bodies.
+     * @return The running server.
+     * @throws IOException if the port cannot be bound or the directory created.
+     */
+    public static LocalCloudinaryServer start(int port, Path storageDir) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        LocalCloudinaryServer stub = new LocalCloudinaryServer(server, Files.createDirectories(storageDir));
+        server.createContext("/v1_1/", stub::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        log.info("Local Cloudinary stub listening on {}, storing uploads in {}", stub.baseUrl(), storageDir);
+        return stub;
+    }
+
+    /**
+     * @return The URL to use as the SDK's upload_prefix.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Matcher matcher = UPLOAD_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!"POST".equals(exchange.getRequestMethod()) || !matcher.matches()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            Path body = storageDir.resolve(UUID.randomUUID() + ".upload");
+            long bytes;
+            try (InputStream in = exchange.getRequestBody()) {
+                bytes = Files.copy(in, body);
+            }
+
+            String publicId = findPublicId(body, bytes);
+            if (publicId == null) {
+                publicId = UUID.randomUUID().toString();
+            }
+            String resourceType = matcher.group(2);
+            long version = System.currentTimeMillis() / 1000;
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("public_id", publicId);
+            response.put("version", version);
+            response.put("resource_type", resourceType);
+            response.put("type", "upload");
+            response.put("bytes", bytes);
+            response.put("secure_url", baseUrl() + "/" + matcher.group(1) + "/" + resourceType
+                    + "/upload/v" + version + "/" + publicId);
+
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    /**
+     * Finds the public_id form field near either end of a stored multipart body, without reading
+     * the file part.
+     */
+    private static String findPublicId(Path body, long bytes) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(body.toFile(), "r")) {
+            String head = read(file, 0, (int) Math.min(bytes, FIELD_SCAN_BYTES));
+            Matcher matcher = PUBLIC_ID_FIELD.matcher(head);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            long tailStart = Math.max(0, bytes - FIELD_SCAN_BYTES);
+            matcher = PUBLIC_ID_FIELD.matcher(read(file, tailStart, (int) (bytes - tailStart)));
+            return matcher.find() ? matcher.group(1) : null;
+        }
+    }
+
+    private static String read(RandomAccessFile file, long offset, int length) throws IOException {
+        byte[] buffer = new byte[length];
+        file.seek(offset);
+        file.readFully(buffer);
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.backend.service.media;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.backend.exception.TooManyRequestsException;
+import com.example.backend.model.MediaAsset;
+import com.example.backend.repository.MediaAssetRepository;
+import com.example.backend.support.DependencyGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+class MediaServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final MediaAssetRepository repository = mock(MediaAssetRepository.class);
+    private final Map<String, MediaAsset> completed = new ConcurrentHashMap<>();
+    private LocalCloudinaryServer server;
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = LocalCloudinaryServer.start(0, dir.resolve("cloudinary"));
+        tempDir = dir.resolve("uploads");
+        when(repository.save(any(MediaAsset.class))).thenAnswer(invocation -> {
+            MediaAsset asset = invocation.getArgument(0);
+            if (asset.getId() == null) {
+                asset.setId(UUID.randomUUID().toString());
+            }
+            if (asset.getCompletedAt() != null) {
+                completed.put(asset.getId(), asset);
+            }
+            return asset;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void uploadsTheFileAndMarksTheAssetReady() throws IOException {
+        MediaService service = service(server.baseUrl(), 4, 4, DataSize.ofMegabytes(100));
+
+        MediaAsset asset = service.upload("owner", image(2048));
+
+        assertThat(asset.getStatus()).isEqualTo(MediaAsset.Status.PENDING);
+        MediaAsset done = awaitCompletion(asset);
+        assertThat(done.getStatus()).isEqualTo(MediaAsset.Status.READY);
+        assertThat(done.getBytes()).isEqualTo(2048);
+        assertThat(done.getUrl()).startsWith(server.baseUrl()).endsWith(asset.getPublicId());
+        assertThat(tempFiles()).isEmpty();
+        service.destroy();
+    }
+
+    @Test
+    void sendsLargeFilesInChunks() throws IOException {
+        MediaService service = service(server.baseUrl(), 4, 4, DataSize.ofKilobytes(1));
+
+        MediaAsset done = awaitCompletion(service.upload("owner", image(8 * 1024 * 1024)));
+
+        assertThat(done.getStatus()).isEqualTo(MediaAsset.Status.READY);
+        assertThat(done.getBytes()).isEqualTo(8 * 1024 * 1024);
+        service.destroy();
+    }
+
+    @Test
+    void marksTheAssetFailedWhenCloudinaryIsUnreachable() throws IOException {
+        String baseUrl = server.baseUrl();
+        server.close();
+        MediaService service = service(baseUrl, 4, 4, DataSize.ofMegabytes(100));
+
+        MediaAsset done = awaitCompletion(service.upload("owner", image(16)));
+
+        assertThat(done.getStatus()).isEqualTo(MediaAsset.Status.FAILED);
+        assertThat(tempFiles()).isEmpty();
+        service.destroy();
+    }
+
+    @Test
+    void deletesTheTemporaryFileWhenTheAssetCannotBeSaved() throws IOException {
+        MediaService service = service(server.baseUrl(), 4, 4, DataSize.ofMegabytes(100));
+        when(repository.save(any(MediaAsset.class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThatThrownBy(() -> service.upload("owner", image(16)))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(tempFiles()).isEmpty();
+        service.destroy();
+    }
+
+    @Test
+    void shedsUploadsBeyondTheQueue() throws Exception {
+        MediaService service = service(server.baseUrl(), 1, 1, DataSize.ofMegabytes(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.save(any(MediaAsset.class))).thenAnswer(invocation -> {
+            MediaAsset asset = invocation.getArgument(0);
+            if (asset.getCompletedAt() != null) {
+                // Holds the only upload thread until the test is done.
+                release.await(10, TimeUnit.SECONDS);
+            }
+            asset.setId(UUID.randomUUID().toString());
+            return asset;
+        });
+
+        service.upload("owner", image(16));
+        await().atMost(Duration.ofSeconds(10)).until(() -> tempFiles().isEmpty());
+        service.upload("owner", image(16));
+
+        assertThatThrownBy(() -> service.upload("owner", image(16)))
+                .isInstanceOf(TooManyRequestsException.class);
+        verify(repository).delete(any(MediaAsset.class));
+        assertThat(tempFiles()).hasSize(1);
+
+        release.countDown();
+        service.destroy();
+    }
+
+    private MediaService service(String uploadPrefix, int threads, int queueCapacity, DataSize largeFileThreshold)
+            throws IOException {
+        Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", "test",
+                "api_key", "key",
+                "api_secret", "secret",
+                "upload_prefix", uploadPrefix));
+        return new MediaService(
+                new StaticListableBeanFactory(Map.of("cloudinary", cloudinary)).getBeanProvider(Cloudinary.class),
+                repository,
+                DependencyGuards.create(),
+                new SimpleMeterRegistry(),
+                threads,
+                queueCapacity,
+                largeFileThreshold,
+                tempDir,
+                "media");
+    }
+
+    private MediaAsset awaitCompletion(MediaAsset asset) {
+        await().atMost(Duration.ofSeconds(30)).until(() -> completed.containsKey(asset.getId()));
+        return completed.get(asset.getId());
+    }
+
+    private List<Path> tempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    private static MockMultipartFile image(int size) {
+        return new MockMultipartFile("file", "image.png", "image/png", new byte[size]);
+    }
+}
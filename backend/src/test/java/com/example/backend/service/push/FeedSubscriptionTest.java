@@ -0,0 +1,86 @@
+package com.example.backend.service.push;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class FeedSubscriptionTest {
+
+    private static final FeedEvent POST = new FeedEvent(FeedEvent.Type.POST, null);
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final List<FeedEvent> sent = new ArrayList<>();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void startsOneDrainTaskAndSendsEventsInOrder() {
+        FeedSubscription subscription = subscription(sent::add);
+
+        subscription.offer(POST);
+        subscription.offer(FeedEvent.HEARTBEAT);
+        assertThat(tasks).hasSize(1);
+        runTasks();
+
+        assertThat(sent).containsExactly(POST, FeedEvent.HEARTBEAT);
+        subscription.offer(POST);
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    void overflowIsCoalescedIntoOneResync() {
+        FeedSubscription subscription = subscription(sent::add);
+
+        assertThat(subscription.offer(POST)).isZero();
+        assertThat(subscription.offer(POST)).isZero();
+        assertThat(subscription.offer(POST)).isEqualTo(3);
+        subscription.heartbeat();
+        runTasks();
+
+        assertThat(sent).containsExactly(FeedEvent.RESYNC);
+    }
+
+    @Test
+    void heartbeatIsOnlySentOnIdleConnections() {
+        FeedSubscription subscription = subscription(sent::add);
+
+        subscription.offer(POST);
+        subscription.heartbeat();
+        runTasks();
+        subscription.heartbeat();
+        runTasks();
+
+        assertThat(sent).containsExactly(POST, FeedEvent.HEARTBEAT);
+    }
+
+    @Test
+    void failingSinkClosesTheSubscriptionOnce() {
+        FeedSubscription subscription = subscription(_ -> {
+            throw new IllegalStateException("client gone");
+        });
+
+        subscription.offer(POST);
+        runTasks();
+        subscription.close();
+
+        assertThat(closed).hasValue(1);
+        assertThat(subscription.offer(POST)).isZero();
+        assertThat(tasks).isEmpty();
+    }
+
+    private FeedSubscription subscription(FeedSubscription.Sink sink) {
+        return new FeedSubscription("user", Set.of("author"), sink, 2, tasks::add, _ -> closed.incrementAndGet());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
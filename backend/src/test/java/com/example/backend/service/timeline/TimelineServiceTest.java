@@ -0,0 +1,199 @@
+package com.example.backend.service.timeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.backend.model.Follow;
+import com.example.backend.model.Post;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class TimelineServiceTest {
+
+    @RegisterExtension
+    static final EmbeddedRedis redis = new EmbeddedRedis();
+
+    private static final int MAX_SIZE = 3;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final FollowRepository followRepository = mock(FollowRepository.class);
+    private StringRedisTemplate redisTemplate;
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = redis.template();
+        timelineService = new TimelineService(redisTemplate, mongoTemplate, followRepository,
+                new SyncTaskExecutor(), new SimpleMeterRegistry(),
+                MAX_SIZE, Duration.ofDays(7), 10_000, 2, Duration.ofSeconds(30), Duration.ofSeconds(2));
+        when(followRepository.findFolloweesOf(anyString())).thenReturn(List.of());
+    }
+
+    @Test
+    void fanOutWritesToMaterializedTimelinesOnlyAndTrimsToTheCap() {
+        materialize("reader");
+        when(followRepository.countByFolloweeId("author")).thenReturn(3L);
+        when(followRepository.streamFollowersOf("author"))
+                .thenAnswer(_ -> Stream.of(follower("reader"), follower("absent"), follower("other")));
+        materialize("other");
+
+        for (int i = 1; i <= 5; i++) {
+            timelineService.fanOut(post("p" + i, "author", i * 1000L));
+        }
+
+        assertThat(posts("reader")).containsExactly("p5", "p4", "p3");
+        assertThat(posts("other")).containsExactly("p5", "p4", "p3");
+        assertThat(redisTemplate.hasKey(TimelineService.timelineKey("absent"))).isFalse();
+        assertThat(redisTemplate.opsForZSet().score(TimelineService.timelineKey("reader"), TimelineService.SENTINEL))
+                .isEqualTo(0.0);
+    }
+
+    @Test
+    void readOfMissingTimelineFallsBackToMongoAndRebuildsIt() {
+        when(mongoTemplate.find(any(Query.class), eq(Post.class)))
+                .thenReturn(List.of(post("p2", "author", 2000), post("p1", "author", 1000)));
+
+        List<TimelineEntry> entries = timelineService.read("reader", null, 10);
+
+        assertThat(entries).extracting(TimelineEntry::postId).containsExactly("p2", "p1");
+        assertThat(posts("reader")).containsExactly("p2", "p1");
+        assertThat(timelineService.read("reader", null, 1)).extracting(TimelineEntry::postId).containsExactly("p2");
+    }
+
+    @Test
+    void celebrityPostsAreMergedIntoATimelineReadFromRedis() {
+        materialize("reader");
+        redisTemplate.opsForZSet().add(TimelineService.timelineKey("reader"), "p1", 1000);
+        redisTemplate.opsForSet().add(TimelineService.CELEBRITIES_KEY, "celebrity");
+        redisTemplate.opsForZSet().add(TimelineService.authorKey("celebrity"), TimelineService.SENTINEL, 0);
+        redisTemplate.opsForZSet().add(TimelineService.authorKey("celebrity"), "c1", 2000);
+        when(followRepository.findFolloweesAmong(eq("reader"), any())).thenReturn(List.of(followee("celebrity")));
+
+        List<TimelineEntry> entries = timelineService.read("reader", null, 10);
+
+        assertThat(entries).extracting(TimelineEntry::postId).containsExactly("c1", "p1");
+    }
+
+    @Test
+    void celebrityLookupIsCancelledForATimelineReadFromMongo() throws Exception {
+        redisTemplate.opsForSet().add(TimelineService.CELEBRITIES_KEY, "celebrity");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(followRepository.findFolloweesAmong(eq("reader"), any())).thenAnswer(_ -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of(followee("celebrity"));
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Post.class))).thenReturn(List.of(post("p1", "author", 1000)));
+
+        List<TimelineEntry> entries = timelineService.read("reader", null, 10);
+
+        assertThat(entries).extracting(TimelineEntry::postId).containsExactly("p1");
+        if (started.await(100, TimeUnit.MILLISECONDS)) {
+            assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void postFannedOutDuringRebuildIsKept() {
+        when(followRepository.countByFolloweeId("author")).thenReturn(1L);
+        when(followRepository.streamFollowersOf("author")).thenAnswer(_ -> Stream.of(follower("reader")));
+        when(mongoTemplate.find(any(Query.class), eq(Post.class))).thenAnswer(_ -> {
+            // The new post is published after MongoDB was read, before the rebuild is written.
+            timelineService.fanOut(post("p3", "author", 3000));
+            return List.of(post("p2", "author", 2000), post("p1", "author", 1000));
+        });
+
+        timelineService.scheduleBackfill("reader");
+
+        assertThat(posts("reader")).containsExactly("p3", "p2", "p1");
+        assertThat(redisTemplate.opsForZSet().score(TimelineService.timelineKey("reader"),
+                TimelineService.REBUILD_MARKER)).isNull();
+    }
+
+    @Test
+    void timelineBeingRebuiltIsNotServedFromRedis() {
+        String key = TimelineService.timelineKey("reader");
+        redisTemplate.opsForZSet().add(key, TimelineService.REBUILD_MARKER, 0);
+        redisTemplate.opsForZSet().add(key, "p3", 3000);
+        when(mongoTemplate.find(any(Query.class), eq(Post.class)))
+                .thenReturn(List.of(post("p2", "author", 2000)));
+
+        List<TimelineEntry> entries = timelineService.read("reader", null, 10);
+
+        assertThat(entries).extracting(TimelineEntry::postId).containsExactly("p2");
+        assertThat(posts("reader")).containsExactly("p3", "p2");
+    }
+
+    @Test
+    void rebuildIsDroppedWhenTheTimelineIsInvalidatedMeanwhile() {
+        when(mongoTemplate.find(any(Query.class), eq(Post.class))).thenAnswer(_ -> {
+            timelineService.invalidate("reader");
+            return List.of(post("p1", "author", 1000));
+        });
+
+        timelineService.scheduleBackfill("reader");
+
+        assertThat(redisTemplate.hasKey(TimelineService.timelineKey("reader"))).isFalse();
+    }
+
+    @Test
+    void rebuildOfMaterializedTimelineIsSkipped() {
+        materialize("reader");
+
+        timelineService.scheduleBackfill("reader");
+
+        assertThat(posts("reader")).isEmpty();
+    }
+
+    private void materialize(String userId) {
+        redisTemplate.opsForZSet().add(TimelineService.timelineKey(userId), TimelineService.SENTINEL, 0);
+    }
+
+    private List<String> posts(String userId) {
+        Set<String> members = redisTemplate.opsForZSet()
+                .reverseRangeByScore(TimelineService.timelineKey(userId), 1, Double.POSITIVE_INFINITY);
+        return members == null ? List.of() : List.copyOf(members);
+    }
+
+    private static Follow follower(String followerId) {
+        Follow follow = new Follow();
+        follow.setFollowerId(followerId);
+        return follow;
+    }
+
+    private static Follow followee(String followeeId) {
+        Follow follow = new Follow();
+        follow.setFolloweeId(followeeId);
+        return follow;
+    }
+
+    private static Post post(String id, String authorId, long createdAtMillis) {
+        Post post = new Post(authorId, "content", Instant.ofEpochMilli(createdAtMillis));
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.service.trending;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    @Test
+    void hashesWithXxh64() {
+        assertThat(CountMinSketch.xxh64(new byte[0], 0)).isEqualTo(0xEF46DB3751D8E999L);
+        assertThat(CountMinSketch.xxh64("abc".getBytes(UTF_8), 0)).isEqualTo(0x44BC2CF5AD770999L);
+        assertThat(CountMinSketch.xxh64("Nobody inspects the spammish repetition".getBytes(UTF_8), 0))
+                .isEqualTo(0xFBCEA83C8A378BF1L);
+    }
+
+    @Test
+    void itemsWithEqualStringHashCodesAreCountedApart() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+
+        sketch.add("Aa", 5);
+
+        assertThat(sketch.estimate("Aa")).isEqualTo(5);
+        assertThat(sketch.estimate("BB")).isZero();
+    }
+
+    @Test
+    void estimatesNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sketch.add("item-" + i, i % 7 + 1)).isGreaterThanOrEqualTo(i % 7 + 1);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sketch.estimate("item-" + i)).isGreaterThanOrEqualTo(i % 7 + 1);
+        }
+    }
+
+    @Test
+    void addReturnsTheNewEstimate() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+
+        sketch.add("#java", 2);
+
+        assertThat(sketch.add("#java", 3)).isEqualTo(5);
+        assertThat(sketch.estimate("#java")).isEqualTo(5);
+    }
+
+    @Test
+    void widthIsRoundedUpToAPowerOfTwo() {
+        assertThat(new CountMinSketch(1000, 3).memoryBytes()).isEqualTo(1024L * 3 * Long.BYTES);
+        assertThat(new CountMinSketch(1024, 3).memoryBytes()).isEqualTo(1024L * 3 * Long.BYTES);
+    }
+}
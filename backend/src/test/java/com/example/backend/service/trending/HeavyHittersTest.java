@@ -0,0 +1,50 @@
+package com.example.backend.service.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HeavyHittersTest {
+
+    @Test
+    void keepsTheMostFrequentItems() {
+        HeavyHitters hitters = new HeavyHitters(3, 1024, 4);
+
+        for (int i = 0; i < 50; i++) {
+            hitters.add("noise-" + i, 1);
+        }
+        hitters.add("#a", 30);
+        hitters.add("#b", 20);
+        hitters.add("#c", 10);
+
+        assertThat(hitters.counts()).containsOnlyKeys("#a", "#b", "#c")
+                .containsEntry("#a", 30L)
+                .containsEntry("#b", 20L);
+    }
+
+    @Test
+    void aLateItemIsAdmittedWithItsWholeHistory() {
+        HeavyHitters hitters = new HeavyHitters(2, 1024, 4);
+        hitters.add("#a", 5);
+        hitters.add("#b", 4);
+
+        for (int i = 0; i < 6; i++) {
+            hitters.add("#late", 1);
+        }
+
+        assertThat(hitters.counts()).containsOnlyKeys("#late", "#a")
+                .containsEntry("#late", 6L);
+    }
+
+    @Test
+    void itemsBelowTheWeakestCandidateAreNotAdmitted() {
+        HeavyHitters hitters = new HeavyHitters(2, 1024, 4);
+        hitters.add("#a", 10);
+        hitters.add("#b", 10);
+
+        hitters.add("#c", 9);
+
+        assertThat(hitters.counts()).containsOnlyKeys("#a", "#b");
+        assertThat(hitters.estimate("#c")).isEqualTo(9);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.service.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TrendingWindowTest {
+
+    private static final long MINUTE = 60_000;
+
+    // Five one-minute buckets, counting half after one minute.
+    private final TrendingWindow window = new TrendingWindow(Duration.ofMinutes(5), Duration.ofMinutes(1),
+            Duration.ofMinutes(1), 10, 1024, 4);
+
+    @Test
+    void ranksByDecayedScore() {
+        window.add("#old", 8, 0);
+        window.add("#new", 3, 2 * MINUTE);
+
+        List<TrendingItem> top = window.top(10, 3 * MINUTE);
+
+        // #old's bucket ended two minutes ago and counts a quarter, #new's has just ended.
+        assertThat(top).extracting(TrendingItem::id).containsExactly("#new", "#old");
+        assertThat(top.get(0).score()).isCloseTo(3.0, within(1e-9));
+        assertThat(top.get(1).score()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void sumsAnItemOverTheBuckets() {
+        window.add("#a", 2, 0);
+        window.add("#a", 2, MINUTE);
+
+        assertThat(window.top(1, 2 * MINUTE).getFirst().score()).isCloseTo(2 * 0.5 + 2, within(1e-9));
+    }
+
+    @Test
+    void bucketsLeaveTheWindow() {
+        window.add("#a", 5, 0);
+
+        assertThat(window.top(10, 4 * MINUTE)).extracting(TrendingItem::id).containsExactly("#a");
+        assertThat(window.top(10, 5 * MINUTE)).isEmpty();
+        assertThat(window.weight(0, 5 * MINUTE)).isZero();
+    }
+
+    @Test
+    void recycledSlotsStartEmpty() {
+        window.add("#a", 5, 0);
+
+        // Six slots: the bucket at 6 minutes reuses the slot of the one at 0.
+        window.add("#b", 1, 6 * MINUTE);
+
+        assertThat(window.top(10, 6 * MINUTE)).extracting(TrendingItem::id).containsExactly("#b");
+    }
+
+    @Test
+    void drainsEachChangedBucketOnce() {
+        window.add("#a", 1, 0);
+        window.add("#b", 1, MINUTE);
+
+        assertThat(window.drainChanged(MINUTE)).extracting(TrendingWindow.BucketSummary::start)
+                .containsExactlyInAnyOrder(0L, MINUTE);
+        assertThat(window.drainChanged(MINUTE)).isEmpty();
+
+        window.add("#a", 1, MINUTE + 1);
+        assertThat(window.drainChanged(MINUTE)).singleElement()
+                .satisfies(summary -> assertThat(summary.counts()).containsEntry("#a", 1L).containsEntry("#b", 1L));
+
+        window.markChanged(MINUTE);
+        assertThat(window.drainChanged(MINUTE)).hasSize(2);
+    }
+
+    @Test
+    void listsTheBucketStartsOfTheWindow() {
+        assertThat(window.bucketStarts(5 * MINUTE + 30_000))
+                .containsExactly(MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE, 5 * MINUTE);
+        assertThat(window.window()).isEqualTo(Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.support;
+
+import com.example.backend.resilience.CircuitBreakerPolicy;
+import com.example.backend.resilience.Dependency;
+import com.example.backend.resilience.DependencyGuard;
+import com.example.backend.resilience.DependencyPolicy;
+import com.example.backend.resilience.FaultInjector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Creates {@link DependencyGuard}s for tests of code calling downstream services.
+ */
+public final class DependencyGuards {
+
+    private DependencyGuards() {
+    }
+
+    /**
+     * @param faultInjector Faults to inject, e.g. to make every SMTP call fail.
+     * @return A guard with roomy bulkheads, whose circuits open after 10 calls failing at 50%.
+     */
+    public static DependencyGuard create(FaultInjector faultInjector) {
+        Map<Dependency, DependencyPolicy> policies = new EnumMap<>(Dependency.class);
+        for (Dependency dependency : Dependency.values()) {
+            policies.put(dependency, new DependencyPolicy(16, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        }
+        CircuitBreakerPolicy breakerPolicy = new CircuitBreakerPolicy(50, 100, 20, 10, Duration.ofSeconds(30), 1);
+        return new DependencyGuard(policies, breakerPolicy, faultInjector, new SimpleMeterRegistry());
+    }
+
+    public static DependencyGuard create() {
+        return create(new FaultInjector());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.support;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+/**
+ * A real Redis server for the tests of code that runs Lua scripts, started from the binary
+ * bundled with embedded-redis so the tests need neither Docker nor a local installation.
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * static final EmbeddedRedis redis = new EmbeddedRedis();
+ * </pre>
+ *
+ * One server per test class, on a free port; the database is flushed before each test.
+ */
+public final class EmbeddedRedis implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback {
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = RedisServer.newRedisServer().port(port).bind("127.0.0.1").setting("save \"\"").build();
+        server.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        template.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    public LettuceConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public StringRedisTemplate template() {
+        return template;
+    }
+}